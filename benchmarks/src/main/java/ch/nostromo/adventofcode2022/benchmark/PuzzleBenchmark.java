@@ -0,0 +1,97 @@
+package ch.nostromo.adventofcode2022.benchmark;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.generator.InputGenerators;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse, solve and end-to-end throughput for every registered puzzle, parameterized by day and size of the generated
+ * input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PuzzleBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12"})
+    int day;
+
+    @Param({"10K", "1M"})
+    String size;
+
+    private Puzzle<Object> puzzle;
+    private byte[] bytes;
+    private Object parsed;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        for (Puzzle<?> candidate : ServiceLoader.load(Puzzle.class)) {
+            if (candidate.getDay() == day) {
+                puzzle = (Puzzle<Object>) candidate;
+            }
+        }
+        if (puzzle == null) {
+            throw new IllegalArgumentException("Unknown day: " + day);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputGenerators.generate(day, InputGenerators.parseSize(size), 2022, out);
+        bytes = out.toByteArray();
+        parsed = puzzle.parse(PuzzleInput.of(bytes));
+    }
+
+    @Benchmark
+    public Object parse() {
+        return puzzle.parse(PuzzleInput.of(bytes));
+    }
+
+    @Benchmark
+    public Object solvePart1() {
+        return puzzle.solvePart1(parsed);
+    }
+
+    @Benchmark
+    public Object solvePart2() {
+        return puzzle.solvePart2(parsed);
+    }
+
+    @Benchmark
+    public Object solveBoth() {
+        return puzzle.solveBoth(parsed);
+    }
+
+    @Benchmark
+    public Object endToEndFused() {
+        return puzzle.solveBoth(puzzle.parse(PuzzleInput.of(bytes)));
+    }
+
+    @Benchmark
+    public void endToEnd(Blackhole blackhole) {
+        Object input = puzzle.parse(PuzzleInput.of(bytes));
+        blackhole.consume(puzzle.solvePart1(input));
+        blackhole.consume(puzzle.solvePart2(input));
+    }
+
+}
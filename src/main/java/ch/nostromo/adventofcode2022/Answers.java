@@ -0,0 +1,13 @@
+package ch.nostromo.adventofcode2022;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class Answers {
+
+    Object part1;
+    Object part2;
+
+}
@@ -0,0 +1,61 @@
+package ch.nostromo.adventofcode2022;
+
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+
+/**
+ * One day of the calendar. The input is parsed once and then handed to both parts, so solvers must not modify the
+ * parsed representation.
+ * <p>
+ * Implementations are registered in META-INF/services and discovered through {@link java.util.ServiceLoader}.
+ *
+ * @param <T> parsed representation of the puzzle input
+ */
+public interface Puzzle<T> {
+
+    int getDay();
+
+    default String getResource() {
+        return String.format("%02d01/input.txt", getDay());
+    }
+
+    T parse(PuzzleInput input);
+
+    /**
+     * Binary form of the parsed input for the parsed input cache, null if the day is not cached.
+     */
+    default ParsedCodec<T> getCodec() {
+        return null;
+    }
+
+    Object solvePart1(T input);
+
+    Object solvePart2(T input);
+
+    /**
+     * Both answers from one parsed input. Days whose parts walk the same data override this to compute both answers
+     * in a single scan.
+     */
+    default Answers solveBoth(T input) {
+        return new Answers(solvePart1(input), solvePart2(input));
+    }
+
+    /**
+     * New solver computing both answers in one streaming pass with bounded memory, null if the day needs the complete
+     * input.
+     */
+    default StreamingSolver streamingSolver() {
+        return null;
+    }
+
+    /**
+     * Solver computing both answers from chunks of the input processed in parallel, null if the day can only be solved
+     * front to back.
+     */
+    default ChunkedSolver<?> chunkedSolver() {
+        return null;
+    }
+
+}
@@ -0,0 +1,60 @@
+package ch.nostromo.adventofcode2022.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One input of a batch, either a file on disk or an entry of a mapped tar archive.
+ */
+@Data
+@AllArgsConstructor
+public class BatchInput {
+
+    String name;
+
+    // Null for archive entries
+    Path path;
+
+    // Content of archive entries, null for files
+    ByteBuffer content;
+
+    public static BatchInput ofFile(Path path) {
+        return new BatchInput(path.getFileName().toString(), path, null);
+    }
+
+    public static BatchInput ofEntry(String name, ByteBuffer content) {
+        return new BatchInput(name, null, content);
+    }
+
+    /**
+     * Content of the input. Files are read into the given scratch buffer, which is grown if too small, so the result
+     * is only valid until the scratch buffer is used again.
+     */
+    ByteBuffer read(ScratchBuffer scratch) throws IOException {
+        if (content != null) {
+            return content.duplicate();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Input too large for batch mode: " + path);
+            }
+
+            ByteBuffer buffer = scratch.get((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            return buffer.flip();
+        }
+    }
+
+}
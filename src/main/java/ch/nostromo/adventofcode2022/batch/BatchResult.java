@@ -0,0 +1,21 @@
+package ch.nostromo.adventofcode2022.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchResult {
+
+    String name;
+
+    Object part1;
+    Object part2;
+
+    // Read, parse and solve
+    long nanos;
+
+    // Null if the input was solved
+    String error;
+
+}
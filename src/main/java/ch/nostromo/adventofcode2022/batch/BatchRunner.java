@@ -0,0 +1,188 @@
+package ch.nostromo.adventofcode2022.batch;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.metrics.MetricsRegistry;
+import ch.nostromo.adventofcode2022.runner.AdventRunner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Solves many independent inputs of the same day, e.g. one per user. Inputs are split recursively on a work-stealing
+ * pool, so pending work per worker stays bounded by the split depth and idle workers steal halves from busy ones. Each
+ * worker reads its inputs into its own reusable scratch buffer.
+ * <p>
+ * Usage: BatchRunner day directory|archive.tar [results file] [threads]
+ * <p>
+ * The results file is tab separated with one line per input: name, part 1, part 2, latency in ms, error. Line breaks
+ * inside answers are written as \n.
+ */
+public class BatchRunner {
+
+    private final ForkJoinPool pool;
+    private final ThreadLocal<ScratchBuffer> scratch = ThreadLocal.withInitial(ScratchBuffer::new);
+
+    public BatchRunner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BatchRunner day directory|archive.tar [results file] [threads]");
+        }
+
+        int day = Integer.parseInt(args[0]);
+        Path source = Paths.get(args[1]);
+        Path resultsFile = Paths.get(args.length > 2 ? args[2] : "results-day" + day + ".tsv");
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        List<Puzzle<?>> puzzles = AdventRunner.loadPuzzles(Collections.singletonList(day));
+        if (puzzles.isEmpty()) {
+            throw new IllegalArgumentException("Unknown day: " + day);
+        }
+
+        List<BatchInput> inputs = listInputs(source);
+        MetricsRegistry.global().startLoggingIfConfigured();
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        List<BatchResult> results = new BatchRunner(pool).run(puzzles.get(0), inputs);
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+
+        long outputStart = System.nanoTime();
+        writeResults(resultsFile, results);
+        MetricsRegistry.global().histogram(MetricsRegistry.phase(day, "output")).record(System.nanoTime() - outputStart);
+        System.out.println(summary(results, elapsed, threads));
+    }
+
+    /**
+     * Regular files of a directory sorted by name, the entries of a .tar archive or a single file.
+     */
+    public static List<BatchInput> listInputs(Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                return files.filter(Files::isRegularFile).sorted().map(BatchInput::ofFile).collect(Collectors.toList());
+            }
+        }
+        if (source.getFileName().toString().endsWith(".tar")) {
+            return TarArchive.read(source);
+        }
+        return Collections.singletonList(BatchInput.ofFile(source));
+    }
+
+    /**
+     * Results in the order of the inputs. A failing input is reported in its result, it does not stop the batch.
+     */
+    public <T> List<BatchResult> run(Puzzle<T> puzzle, List<BatchInput> inputs) {
+        BatchResult[] results = new BatchResult[inputs.size()];
+        pool.invoke(new SolveTask<>(puzzle, inputs, results, 0, inputs.size()));
+        return Arrays.asList(results);
+    }
+
+    private <T> BatchResult solve(Puzzle<T> puzzle, BatchInput input) {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        long start = System.nanoTime();
+        try {
+            T parsed = puzzle.parse(PuzzleInput.of(input.read(scratch.get())));
+            long solveStart = System.nanoTime();
+            Answers answers = puzzle.solveBoth(parsed);
+            long end = System.nanoTime();
+
+            metrics.histogram(MetricsRegistry.phase(puzzle.getDay(), "parse")).record(solveStart - start);
+            metrics.histogram(MetricsRegistry.phase(puzzle.getDay(), "solve")).record(end - solveStart);
+            return new BatchResult(input.getName(), answers.getPart1(), answers.getPart2(), end - start, null);
+        } catch (IOException | RuntimeException e) {
+            metrics.counter(MetricsRegistry.phase(puzzle.getDay(), "failed")).increment();
+            return new BatchResult(input.getName(), null, null, System.nanoTime() - start, e.toString());
+        }
+    }
+
+    public static void writeResults(Path file, List<BatchResult> results) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("input\tpart1\tpart2\tmillis\terror");
+            writer.newLine();
+
+            for (BatchResult result : results) {
+                writer.write(result.getName());
+                writer.write('\t');
+                writer.write(escape(result.getPart1()));
+                writer.write('\t');
+                writer.write(escape(result.getPart2()));
+                writer.write('\t');
+                writer.write(String.format("%.3f", result.getNanos() / 1_000_000d));
+                writer.write('\t');
+                writer.write(escape(result.getError()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        return value.toString().replace("\r", "").replace("\n", "\\n").replace("\t", " ");
+    }
+
+    static String summary(List<BatchResult> results, long elapsedNanos, int threads) {
+        long[] latencies = results.stream().mapToLong(BatchResult::getNanos).sorted().toArray();
+        long failed = results.stream().filter(result -> result.getError() != null).count();
+
+        double seconds = elapsedNanos / 1_000_000_000d;
+        return String.format("%d inputs (%d failed) in %.3f s on %d threads: %.1f inputs/s, latency p50 %.3f ms, p99 %.3f ms",
+                results.size(), failed, seconds, threads, results.size() / seconds,
+                percentile(latencies, 0.5) / 1_000_000d, percentile(latencies, 0.99) / 1_000_000d);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private class SolveTask<T> extends RecursiveAction {
+
+        private final Puzzle<T> puzzle;
+        private final List<BatchInput> inputs;
+        private final BatchResult[] results;
+        private final int from;
+        private final int to;
+
+        SolveTask(Puzzle<T> puzzle, List<BatchInput> inputs, BatchResult[] results, int from, int to) {
+            this.puzzle = puzzle;
+            this.inputs = inputs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    results[i] = solve(puzzle, inputs.get(i));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new SolveTask<>(puzzle, inputs, results, from, middle), new SolveTask<>(puzzle, inputs, results, middle, to));
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+package ch.nostromo.adventofcode2022.batch;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read buffer owned by one worker thread and reused for every input it processes. Only grows, never shrinks.
+ */
+class ScratchBuffer {
+
+    private static final int INITIAL_SIZE = 64 << 10;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_SIZE);
+
+    /**
+     * Cleared buffer with a limit of exactly the given size.
+     */
+    ByteBuffer get(int size) {
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() * 2));
+        }
+        buffer.clear().limit(size);
+        return buffer;
+    }
+
+}
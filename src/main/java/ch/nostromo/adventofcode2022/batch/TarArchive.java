@@ -0,0 +1,96 @@
+package ch.nostromo.adventofcode2022.batch;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal reader for uncompressed (ustar / GNU) tar archives. The archive is memory mapped and every regular file
+ * becomes a {@link BatchInput} over a slice of the mapping, nothing is copied.
+ */
+public final class TarArchive {
+
+    private static final int BLOCK_SIZE = 512;
+
+    private static final byte TYPE_FILE = '0';
+    private static final byte TYPE_FILE_OLD = 0;
+    private static final byte TYPE_GNU_LONG_NAME = 'L';
+
+    private TarArchive() {
+    }
+
+    public static List<BatchInput> read(Path archive) throws IOException {
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Archives larger than 2 GB are not supported: " + archive);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return entries(mapped);
+        }
+    }
+
+    private static List<BatchInput> entries(ByteBuffer tar) {
+        List<BatchInput> inputs = new ArrayList<>();
+
+        String longName = null;
+        int position = 0;
+        while (position + BLOCK_SIZE <= tar.limit() && tar.get(position) != 0) {
+            String name = readString(tar, position, 100);
+            String prefix = readString(tar, position + 345, 155);
+            long size = readOctal(tar, position + 124, 12);
+            byte type = tar.get(position + 156);
+
+            int dataStart = position + BLOCK_SIZE;
+            if (dataStart + size > tar.limit()) {
+                throw new IllegalArgumentException("Truncated archive entry: " + name);
+            }
+
+            if (type == TYPE_GNU_LONG_NAME) {
+                longName = readString(tar, dataStart, (int) size);
+            } else {
+                if (type == TYPE_FILE || type == TYPE_FILE_OLD) {
+                    String fullName = longName != null ? longName : prefix.isEmpty() ? name : prefix + "/" + name;
+                    inputs.add(BatchInput.ofEntry(fullName, tar.duplicate().position(dataStart).limit(dataStart + (int) size).slice()));
+                }
+                longName = null;
+            }
+
+            position = dataStart + (int) ((size + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE);
+        }
+
+        return inputs;
+    }
+
+    private static String readString(ByteBuffer tar, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && tar.get(end) != 0) {
+            end++;
+        }
+        byte[] bytes = new byte[end - offset];
+        tar.duplicate().position(offset).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readOctal(ByteBuffer tar, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = tar.get(i);
+            if (b >= '0' && b <= '7') {
+                value = value * 8 + (b - '0');
+            } else if (b != ' ' || value != 0) {
+                if (b == 0 || b == ' ') {
+                    break;
+                }
+                throw new IllegalArgumentException("Invalid octal field at " + offset);
+            }
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,48 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import ch.nostromo.adventofcode2022.grid.ByteGrid;
+import ch.nostromo.adventofcode2022.grid.GridStorage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Height, width and one byte per cell, row by row. Padding is not stored. Grids are read into the configured
+ * {@link GridStorage}.
+ */
+public class ByteGridCodec implements ParsedCodec<ByteGrid> {
+
+    @Override
+    public long size(ByteGrid value) {
+        return 2 * Integer.BYTES + (long) value.getWidth() * value.getHeight();
+    }
+
+    @Override
+    public void write(ByteGrid value, ByteBuffer out) {
+        out.putInt(value.getHeight());
+        out.putInt(value.getWidth());
+
+        byte[] row = new byte[value.getWidth()];
+        for (int y = 0; y < value.getHeight(); y++) {
+            value.copyRow(y, row, 0);
+            out.put(row);
+        }
+    }
+
+    @Override
+    public ByteGrid read(ByteBuffer in) {
+        int height = in.getInt();
+        int width = ParsedCodec.readLength(in, 1);
+        if (height < 0 || (long) height * width > in.remaining()) {
+            throw new IllegalArgumentException("Invalid grid " + width + "x" + height + " with " + in.remaining() + " bytes left");
+        }
+
+        ByteGrid value = ByteGrid.allocate(width, height, 0, 0, GridStorage.configured());
+        byte[] row = new byte[width];
+        for (int y = 0; y < height; y++) {
+            in.get(row);
+            value.putRow(y, row, 0);
+        }
+        return value;
+    }
+
+}
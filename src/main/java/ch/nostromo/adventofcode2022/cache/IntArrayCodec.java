@@ -0,0 +1,30 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Length followed by the values.
+ */
+public class IntArrayCodec implements ParsedCodec<int[]> {
+
+    @Override
+    public long size(int[] value) {
+        return Integer.BYTES + (long) value.length * Integer.BYTES;
+    }
+
+    @Override
+    public void write(int[] value, ByteBuffer out) {
+        out.putInt(value.length);
+        out.asIntBuffer().put(value);
+        out.position(out.position() + value.length * Integer.BYTES);
+    }
+
+    @Override
+    public int[] read(ByteBuffer in) {
+        int[] value = new int[ParsedCodec.readLength(in, Integer.BYTES)];
+        in.asIntBuffer().get(value);
+        in.position(in.position() + value.length * Integer.BYTES);
+        return value;
+    }
+
+}
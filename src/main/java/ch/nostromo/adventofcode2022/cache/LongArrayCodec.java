@@ -0,0 +1,30 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Length followed by the values.
+ */
+public class LongArrayCodec implements ParsedCodec<long[]> {
+
+    @Override
+    public long size(long[] value) {
+        return Integer.BYTES + (long) value.length * Long.BYTES;
+    }
+
+    @Override
+    public void write(long[] value, ByteBuffer out) {
+        out.putInt(value.length);
+        out.asLongBuffer().put(value);
+        out.position(out.position() + value.length * Long.BYTES);
+    }
+
+    @Override
+    public long[] read(ByteBuffer in) {
+        long[] value = new long[ParsedCodec.readLength(in, Long.BYTES)];
+        in.asLongBuffer().get(value);
+        in.position(in.position() + value.length * Long.BYTES);
+        return value;
+    }
+
+}
@@ -0,0 +1,80 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import ch.nostromo.adventofcode2022.puzzle1101.Puzzle1101.MonkeySpec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monkey table: count, then per monkey the title, items, operation and the throw targets.
+ */
+public class MonkeySpecCodec implements ParsedCodec<List<MonkeySpec>> {
+
+    @Override
+    public long size(List<MonkeySpec> value) {
+        long size = Integer.BYTES;
+        for (MonkeySpec spec : value) {
+            size += Integer.BYTES + spec.getMonkeyTitle().length();
+            size += Integer.BYTES + (long) spec.getItems().length * Long.BYTES;
+            size += 2 + 4 * Integer.BYTES;
+        }
+        return size;
+    }
+
+    @Override
+    public void write(List<MonkeySpec> value, ByteBuffer out) {
+        out.putInt(value.size());
+        for (MonkeySpec spec : value) {
+            byte[] title = spec.getMonkeyTitle().getBytes(StandardCharsets.ISO_8859_1);
+            out.putInt(title.length);
+            out.put(title);
+
+            out.putInt(spec.getItems().length);
+            for (long item : spec.getItems()) {
+                out.putLong(item);
+            }
+
+            out.put((byte) spec.getOperation().charAt(0));
+            out.put((byte) (spec.isOperationOnOld() ? 1 : 0));
+            out.putInt(spec.getOperationValue());
+            out.putInt(spec.getDivisor());
+            out.putInt(spec.getDivisableMonkey());
+            out.putInt(spec.getNonDivisableMonkey());
+        }
+    }
+
+    @Override
+    public List<MonkeySpec> read(ByteBuffer in) {
+        int count = ParsedCodec.readLength(in, 2 + 6 * Integer.BYTES);
+        List<MonkeySpec> specs = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            MonkeySpec spec = new MonkeySpec();
+
+            byte[] title = new byte[ParsedCodec.readLength(in, 1)];
+            in.get(title);
+            spec.setMonkeyTitle(new String(title, StandardCharsets.ISO_8859_1));
+
+            long[] items = new long[ParsedCodec.readLength(in, Long.BYTES)];
+            for (int n = 0; n < items.length; n++) {
+                items[n] = in.getLong();
+            }
+            spec.setItems(items);
+
+            spec.setOperation(Tokenizer.symbol(in.get()));
+            spec.setOperationOnOld(in.get() == 1);
+            spec.setOperationValue(in.getInt());
+            spec.setDivisor(in.getInt());
+            spec.setDivisableMonkey(in.getInt());
+            spec.setNonDivisableMonkey(in.getInt());
+
+            specs.add(spec);
+        }
+
+        return specs;
+    }
+
+}
@@ -0,0 +1,32 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary form of a parsed puzzle input, used by {@link ParsedInputCache}. Codecs write into and read from a buffer of
+ * exactly {@link #size(Object)} bytes, which may be memory mapped. Sizes are computed in long, values too large for one
+ * buffer are not cached.
+ *
+ * @param <T> parsed representation of the puzzle input
+ */
+public interface ParsedCodec<T> {
+
+    long size(T value);
+
+    void write(T value, ByteBuffer out);
+
+    T read(ByteBuffer in);
+
+    /**
+     * Element count read from the buffer, checked against the bytes left for elements of the given size. A corrupt
+     * snapshot fails with an IllegalArgumentException, which the cache treats as a miss.
+     */
+    static int readLength(ByteBuffer in, int elementSize) {
+        int length = in.getInt();
+        if (length < 0 || (long) length * elementSize > in.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length + " with " + in.remaining() + " bytes left");
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,197 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Disk cache for parsed puzzle inputs, keyed by day and SHA-256 of the raw input. Snapshots are written in the
+ * binary format of the day's {@link ParsedCodec} and memory mapped when read back, so a rerun on an unchanged input
+ * skips text parsing.
+ * <p>
+ * The least recently used snapshots are deleted once the directory exceeds the disk budget. A hit refreshes the
+ * modification time of its snapshot. Parsed inputs larger than one mapped buffer (2 GB) are not stored.
+ */
+public class ParsedInputCache {
+
+    public static final long DEFAULT_BUDGET = 256L << 20;
+
+    // "AOCP"
+    private static final int MAGIC = 0x414F4350;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final long MAX_SNAPSHOT_SIZE = Integer.MAX_VALUE;
+
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+    private final long budget;
+
+    public ParsedInputCache(Path directory, long budget) {
+        this.directory = directory;
+        this.budget = budget;
+    }
+
+    /**
+     * Cache in the directory given by the system property aoc.cache.dir, ~/.cache/adventofcode2022 otherwise. The
+     * budget can be set in bytes with aoc.cache.budget.
+     */
+    public static ParsedInputCache ofDefault() {
+        return new ParsedInputCache(defaultDirectory(), Long.getLong("aoc.cache.budget", DEFAULT_BUDGET));
+    }
+
+    static Path defaultDirectory() {
+        String directory = System.getProperty("aoc.cache.dir");
+        return directory != null ? Paths.get(directory) : Paths.get(System.getProperty("user.home"), ".cache", "adventofcode2022");
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Parsed input from the cache, or parsed from the text and stored if missing. Days without a codec are always
+     * parsed.
+     */
+    public <T> T parse(Puzzle<T> puzzle, PuzzleInput input) throws IOException {
+        ParsedCodec<T> codec = puzzle.getCodec();
+        if (codec == null) {
+            return puzzle.parse(input);
+        }
+
+        Path file = directory.resolve(String.format("%02d-%s%s", puzzle.getDay(), toHex(input.digest()), SUFFIX));
+
+        T cached = read(file, puzzle.getDay(), codec);
+        if (cached != null) {
+            touch(file);
+            return cached;
+        }
+
+        T parsed = puzzle.parse(input);
+        long size = HEADER_SIZE + codec.size(parsed);
+        if (size <= MAX_SNAPSHOT_SIZE) {
+            write(file, puzzle.getDay(), codec, parsed, size);
+            evict(file);
+        }
+        return parsed;
+    }
+
+    private <T> T read(Path file, int day, ParsedCodec<T> codec) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getInt() != day) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            return codec.read(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // Truncated or corrupt snapshot, parse again
+            Files.deleteIfExists(file);
+            return null;
+        } catch (NoSuchFileException e) {
+            // Evicted by another run in between
+            return null;
+        }
+    }
+
+    private <T> void write(Path file, int day, ParsedCodec<T> codec, T value, long size) throws IOException {
+        Files.createDirectories(directory);
+
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC);
+                buffer.putInt(FORMAT_VERSION);
+                buffer.putInt(day);
+                codec.write(value, buffer);
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Days running in parallel evict concurrently, snapshots may vanish at any point
+    private void evict(Path keep) throws IOException {
+        Map<Path, Long> sizes = new HashMap<>();
+        long total = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path snapshot : stream) {
+                long size = sizeOf(snapshot);
+                if (size >= 0) {
+                    sizes.put(snapshot, size);
+                    total += size;
+                }
+            }
+        }
+
+        List<Path> snapshots = new ArrayList<>(sizes.keySet());
+        snapshots.sort(Comparator.comparing(ParsedInputCache::lastModified));
+        for (Path snapshot : snapshots) {
+            if (total <= budget) {
+                break;
+            }
+            if (!snapshot.equals(keep)) {
+                total -= sizes.get(snapshot);
+                Files.deleteIfExists(snapshot);
+            }
+        }
+    }
+
+    private static void touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            // Evicted by another run, the parsed value is still valid
+        }
+    }
+
+    // -1 if the snapshot was deleted in the meantime
+    private static long sizeOf(Path snapshot) throws IOException {
+        try {
+            return Files.size(snapshot);
+        } catch (NoSuchFileException e) {
+            return -1;
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+}
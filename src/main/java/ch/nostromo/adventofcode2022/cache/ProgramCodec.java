@@ -0,0 +1,30 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import ch.nostromo.adventofcode2022.puzzle1001.Puzzle1001.Program;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Instruction lengths and strengths as two int arrays.
+ */
+public class ProgramCodec implements ParsedCodec<Program> {
+
+    private final IntArrayCodec ints = new IntArrayCodec();
+
+    @Override
+    public long size(Program value) {
+        return ints.size(value.getLengths()) + ints.size(value.getStrengths());
+    }
+
+    @Override
+    public void write(Program value, ByteBuffer out) {
+        ints.write(value.getLengths(), out);
+        ints.write(value.getStrengths(), out);
+    }
+
+    @Override
+    public Program read(ByteBuffer in) {
+        return new Program(ints.read(in), ints.read(in));
+    }
+
+}
@@ -0,0 +1,221 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import ch.nostromo.adventofcode2022.metrics.MetricsRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Answers of earlier runs, keyed by day, part and SHA-256 of the raw input. Holds the most recently used answers up to
+ * the capacity in memory. With a log file every new answer is appended to it and the log is replayed on open, so
+ * answers survive restarts. A log grown to twice the capacity is compacted on open. A capacity of 0 caches nothing and
+ * leaves the log untouched.
+ * <p>
+ * Several processes may share a log, e.g. the runner and the daemon with their default log. Opening, compacting and
+ * every append hold an exclusive lock on the file next to the log with the suffix .lock, and each append opens the log
+ * anew, so it never goes to a log another process has just replaced by its compacted copy. Answers appended by other
+ * processes are seen on the next open. Within one JVM a log is only shared by one cache at a time.
+ * <p>
+ * Answers are kept and returned as their text, {@link #get} never returns the typed answer given to {@link #put}. Hits and misses are counted per day as dayNN.results.hit and dayNN.results.miss.
+ */
+public class ResultCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    // "AOCR"
+    private static final int MAGIC = 0x414F4352;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int DIGEST_SIZE = 32;
+
+    private final int capacity;
+    private final Path log;
+    private final Map<String, String> answers;
+
+    // Channel of the lock file, null without log
+    private FileChannel lock;
+
+    public ResultCache(int capacity, Path log) throws IOException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.log = log;
+        this.answers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > ResultCache.this.capacity;
+            }
+        };
+
+        if (log != null && capacity > 0) {
+            Files.createDirectories(log.toAbsolutePath().getParent());
+            lock = FileChannel.open(lockFile(log), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try (FileLock ignored = lock.lock()) {
+                open();
+            } catch (IOException | RuntimeException e) {
+                lock.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Cache with the capacity given by the system property aoc.results.capacity, logged to the file given by
+     * aoc.results.log, results.log in the parsed input cache directory otherwise. An empty aoc.results.log keeps the
+     * answers in memory only.
+     */
+    public static ResultCache ofDefault() throws IOException {
+        String log = System.getProperty("aoc.results.log");
+        Path path = log == null ? ParsedInputCache.defaultDirectory().resolve("results.log") : log.isEmpty() ? null : Paths.get(log);
+        return new ResultCache(defaultCapacity(), path);
+    }
+
+    /**
+     * Capacity given by the system property aoc.results.capacity, 0 turns memoization off.
+     */
+    public static int defaultCapacity() {
+        return Integer.getInteger("aoc.results.capacity", DEFAULT_CAPACITY);
+    }
+
+    public Path getLog() {
+        return log;
+    }
+
+    /**
+     * Answer of the part for this input, null if it is not cached.
+     */
+    public synchronized String get(int day, int part, byte[] digest) {
+        String answer = answers.get(key(day, part, digest));
+        MetricsRegistry.global().counter(MetricsRegistry.phase(day, answer != null ? "results.hit" : "results.miss")).increment();
+        return answer;
+    }
+
+    public synchronized void put(int day, int part, byte[] digest, Object answer) {
+        if (digest.length != DIGEST_SIZE) {
+            throw new IllegalArgumentException("Invalid digest length: " + digest.length);
+        }
+
+        String text = String.valueOf(answer);
+        if (text.equals(answers.put(key(day, part, digest), text)) || lock == null) {
+            return;
+        }
+
+        try (FileLock ignored = lock.lock();
+             FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(record(day, part, digest, text)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to append to " + log, e);
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        if (lock != null) {
+            lock.close();
+            lock = null;
+        }
+    }
+
+    static Path lockFile(Path log) {
+        return log.resolveSibling(log.getFileName() + ".lock");
+    }
+
+    // Appends hold the lock too, so a torn record at the end can only be left by a process which died while writing
+    private void open() throws IOException {
+        int records = 0;
+        long valid = 0;
+        if (Files.exists(log)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(log));
+            if (buffer.remaining() >= HEADER_SIZE && buffer.getInt() == MAGIC && buffer.getInt() == FORMAT_VERSION) {
+                valid = HEADER_SIZE;
+                try {
+                    while (buffer.hasRemaining()) {
+                        readRecord(buffer);
+                        valid = buffer.position();
+                        records++;
+                    }
+                } catch (BufferUnderflowException | IllegalArgumentException e) {
+                    // Torn write at the end of the log, the valid records are kept
+                }
+            }
+        }
+
+        if (valid == 0 || records > 2 * capacity) {
+            compact();
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(valid);
+        }
+    }
+
+    private void readRecord(ByteBuffer buffer) {
+        int day = buffer.getInt();
+        int part = buffer.getInt();
+        byte[] digest = new byte[DIGEST_SIZE];
+        buffer.get(digest);
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid answer length: " + length);
+        }
+        byte[] text = new byte[length];
+        buffer.get(text);
+        answers.put(key(day, part, digest), new String(text, StandardCharsets.UTF_8));
+    }
+
+    // Rewrites the log with the answers in memory, least recently used first
+    private void compact() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        for (Map.Entry<String, String> entry : answers.entrySet()) {
+            String[] key = entry.getKey().split("\\.");
+            out.write(record(Integer.parseInt(key[0]), Integer.parseInt(key[1]), fromHex(key[2]), entry.getValue()));
+        }
+
+        Path temp = Files.createTempFile(log.toAbsolutePath().getParent(), log.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static byte[] record(int day, int part, byte[] digest, String answer) {
+        byte[] text = answer.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Integer.BYTES + DIGEST_SIZE + text.length);
+        buffer.putInt(day).putInt(part).put(digest).putInt(text.length).put(text);
+        return buffer.array();
+    }
+
+    private static String key(int day, int part, byte[] digest) {
+        return day + "." + part + "." + ParsedInputCache.toHex(digest);
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+}
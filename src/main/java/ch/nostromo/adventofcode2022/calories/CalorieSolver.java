@@ -0,0 +1,224 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import ch.nostromo.adventofcode2022.puzzle0102.TopK;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Day 1 on calorie lists of any size: the mapped input is cut into chunks at arbitrary line starts, each chunk is
+ * summed by a digit parser running directly on the mapped bytes, and the top k elves of all chunks are merged. Totals
+ * are longs.
+ * <p>
+ * A chunk usually starts and ends inside an elf. Its lines before the first blank line belong to the elf cut at the
+ * left edge, they are kept apart and added to the open elf of the left neighbour when both are combined. Elves are
+ * numbered relative to their chunk and shifted by the elf count of the chunks before on combine.
+ * <p>
+ * With statistics, every elf total is also recorded in {@link CalorieStats} during the same pass.
+ * <p>
+ * Usage: CalorieSolver input [k]
+ */
+public class CalorieSolver implements ChunkedSolver<CalorieSolver.Chunk> {
+
+    private static final int WINDOW_SIZE = 64 << 10;
+
+    // One window per worker, reused by every chunk it parses
+    private static final ThreadLocal<byte[]> WINDOW = ThreadLocal.withInitial(() -> new byte[WINDOW_SIZE]);
+
+    private final int k;
+    private final boolean statistics;
+
+    public CalorieSolver(int k) {
+        this(k, false);
+    }
+
+    public CalorieSolver(int k, boolean statistics) {
+        this.k = k;
+        this.statistics = statistics;
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: CalorieSolver input [k]");
+        }
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        long start = System.nanoTime();
+        PuzzleInput input = PuzzleInput.open(args[0]);
+        CalorieSolver solver = new CalorieSolver(k);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        TopK top = solver.rank(ChunkedSolver.reduce(input, pool, solver, ChunkedSolver.chunkCount(input, pool)));
+        long nanos = System.nanoTime() - start;
+
+        int rank = 1;
+        for (TopK.RankedElf elf : top.ranked()) {
+            System.out.println(rank++ + ". Elf " + elf.getElf() + ": " + elf.getCalories());
+        }
+        System.out.printf("Solution: %d | %d, %d MB in %.1f ms, %.2f GB/s%n", top.ranked().get(0).getCalories(), top.sum(),
+                input.size() >> 20, nanos / 1e6, input.size() / (double) nanos);
+    }
+
+    /**
+     * Calories of the elves of a run of chunks. Without a blank line all lines belong to one elf, kept as trailing.
+     */
+    public static class Chunk {
+
+        // Lines before the first blank line, part of an elf begun in the chunk before
+        private long leading;
+        private boolean separated;
+
+        // Elves between the first and the last blank line, numbered from 1
+        private long elves;
+        private final TopK top;
+
+        // Totals of the same elves, null without statistics
+        private final CalorieStats stats;
+
+        // Lines after the last blank line, continued in the chunk after
+        private long trailing;
+
+        Chunk(int k, CalorieStats stats) {
+            this.top = new TopK(k);
+            this.stats = stats;
+        }
+
+        void add(long calories) {
+            trailing += calories;
+        }
+
+        void blankLine() {
+            if (separated) {
+                top.offer(++elves, trailing);
+                if (stats != null) {
+                    stats.add(trailing);
+                }
+            } else {
+                leading = trailing;
+                separated = true;
+            }
+            trailing = 0;
+        }
+
+    }
+
+    @Override
+    public Chunk newPartial() {
+        return new Chunk(k, statistics ? new CalorieStats() : null);
+    }
+
+    @Override
+    public void accept(Chunk partial, InputLine line) {
+        if (line.isEmpty()) {
+            partial.blankLine();
+        } else {
+            partial.add(Tokenizer.parseLong(line));
+        }
+    }
+
+    @Override
+    public void acceptChunk(Chunk partial, PuzzleInput input, long start, long end) {
+        input.forEachSegment(start, end, (segment, from, to) -> parse(partial, segment, from, to));
+    }
+
+    // Lines are summed as they are parsed, a line without digits is a blank line. The mapped bytes are copied to a
+    // small heap window first, array loops compile to tighter code than ByteBuffer.get.
+    static void parse(Chunk partial, ByteBuffer segment, int from, int to) {
+        byte[] window = WINDOW.get();
+        long calories = 0;
+        long value = 0;
+        boolean digits = false;
+        for (int position = from; position < to; position += WINDOW_SIZE) {
+            int length = Math.min(WINDOW_SIZE, to - position);
+            segment.get(position, window, 0, length);
+            for (int i = 0; i < length; i++) {
+                byte b = window[i];
+                if (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    digits = true;
+                } else if (b == '\n') {
+                    if (digits) {
+                        calories += value;
+                        value = 0;
+                        digits = false;
+                    } else {
+                        partial.add(calories);
+                        partial.blankLine();
+                        calories = 0;
+                    }
+                } else if (b != '\r') {
+                    throw new IllegalArgumentException("Not a number at position " + (position + i) + ": " + (char) b);
+                }
+            }
+        }
+        partial.add(calories + value);
+    }
+
+    @Override
+    public Chunk combine(Chunk left, Chunk right) {
+        if (!right.separated) {
+            left.trailing += right.trailing;
+            return left;
+        }
+        if (!left.separated) {
+            right.leading += left.trailing;
+            return right;
+        }
+
+        long straddling = left.elves + 1;
+        left.top.offer(straddling, left.trailing + right.leading);
+        left.top.merge(right.top, straddling);
+        if (statistics) {
+            left.stats.add(left.trailing + right.leading);
+            left.stats.merge(right.stats);
+        }
+        left.elves = straddling + right.elves;
+        left.trailing = right.trailing;
+        return left;
+    }
+
+    @Override
+    public Answers finish(Chunk partial) {
+        TopK top = rank(partial);
+        return new Answers(top.ranked().get(0).getCalories(), top.sum());
+    }
+
+    /**
+     * Top k elves of the whole input, numbered from 1 in input order.
+     */
+    public TopK rank(Chunk partial) {
+        TopK top = new TopK(k);
+        if (!partial.separated) {
+            top.offer(1, partial.trailing);
+            return top;
+        }
+
+        top.offer(1, partial.leading);
+        top.merge(partial.top, 1);
+        top.offer(partial.elves + 2, partial.trailing);
+        return top;
+    }
+
+    /**
+     * Statistics of all elves of the input, the partial is left unchanged.
+     */
+    public CalorieStats statistics(Chunk partial) {
+        if (!statistics) {
+            throw new IllegalStateException("Solver without statistics");
+        }
+
+        CalorieStats stats = new CalorieStats();
+        stats.merge(partial.stats);
+        if (partial.separated) {
+            stats.add(partial.leading);
+        }
+        stats.add(partial.trailing);
+        return stats;
+    }
+
+}
@@ -0,0 +1,172 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Distribution of the elf totals of one or more calorie lists: exact count, sum, minimum and maximum, plus a
+ * {@link KllSketch} for percentiles and histograms. Filled by {@link CalorieSolver} in the same pass as the top k, and
+ * mergeable across chunks and files.
+ * <p>
+ * Usage: CalorieStats file...
+ */
+public class CalorieStats {
+
+    @Data
+    @AllArgsConstructor
+    public static class Bucket {
+        // Totals from (inclusive) to (exclusive)
+        long from;
+        long to;
+
+        // Estimated from the sketch
+        long count;
+    }
+
+    private final KllSketch sketch;
+
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public CalorieStats() {
+        this(KllSketch.DEFAULT_K);
+    }
+
+    public CalorieStats(int sketchK) {
+        this.sketch = new KllSketch(sketchK);
+    }
+
+    /**
+     * Statistics of all elves of the given inputs, each solved in chunks on the pool.
+     */
+    public static CalorieStats of(ForkJoinPool pool, List<PuzzleInput> inputs) {
+        CalorieStats stats = new CalorieStats();
+        for (PuzzleInput input : inputs) {
+            CalorieSolver solver = new CalorieSolver(1, true);
+            stats.merge(solver.statistics(ChunkedSolver.reduce(input, pool, solver, ChunkedSolver.chunkCount(input, pool))));
+        }
+        return stats;
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: CalorieStats file...");
+        }
+
+        List<PuzzleInput> inputs = new ArrayList<>();
+        for (String arg : args) {
+            inputs.add(PuzzleInput.open(arg));
+        }
+        CalorieStats stats = of(ForkJoinPool.commonPool(), inputs);
+
+        System.out.printf(Locale.ROOT, "Elves %d  calories %d  min %d  mean %.1f  max %d%n", stats.getCount(), stats.getSum(),
+                stats.getMin(), stats.getMean(), stats.getMax());
+        System.out.printf("p10 %d  p50 %d  p90 %d  p99 %d  p99.9 %d%n", stats.percentile(10), stats.percentile(50),
+                stats.percentile(90), stats.percentile(99), stats.percentile(99.9));
+        for (Bucket bucket : stats.histogram(10)) {
+            System.out.printf("%9d - %9d %12d%n", bucket.getFrom(), bucket.getTo(), bucket.getCount());
+        }
+    }
+
+    public void add(long total) {
+        sketch.add(total);
+        count++;
+        sum += total;
+        min = Math.min(min, total);
+        max = Math.max(max, total);
+    }
+
+    /**
+     * Adds all elves of the other statistics, which are left unchanged.
+     */
+    public void merge(CalorieStats other) {
+        sketch.merge(other.sketch);
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Estimated total at the given percentile (0 - 100), exact at 0 and 100.
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            throw new IllegalStateException("No elves");
+        }
+        if (percentile <= 0) {
+            return min;
+        }
+        if (percentile >= 100) {
+            return max;
+        }
+        return Math.max(min, Math.min(max, sketch.quantile(percentile / 100)));
+    }
+
+    /**
+     * Estimated share of the elves carrying at most the given total.
+     */
+    public double rank(long total) {
+        if (total < min) {
+            return 0;
+        }
+        if (total >= max) {
+            return 1;
+        }
+        return sketch.rank(total);
+    }
+
+    /**
+     * Elf counts of equally wide buckets from the minimum to the maximum total.
+     */
+    public List<Bucket> histogram(int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("Invalid bucket count: " + buckets);
+        }
+        List<Bucket> histogram = new ArrayList<>();
+        if (count == 0) {
+            return histogram;
+        }
+
+        long width = Math.max(1, (max - min) / buckets + 1);
+        long below = 0;
+        for (long from = min; from <= max; from += width) {
+            long to = from + width;
+            long atOrBelow = to > max ? count : Math.round(rank(to - 1) * count);
+            histogram.add(new Bucket(from, to, atOrBelow - below));
+            below = atOrBelow;
+        }
+        return histogram;
+    }
+
+}
@@ -0,0 +1,168 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import ch.nostromo.adventofcode2022.puzzle0102.TopK;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Top k elves of a calorie list which is still being appended to. Every {@link #poll()} parses only the complete lines
+ * written since the last one, starting at the tracked file position, so each byte is read once. The elf of the last
+ * lines stays open across appends and is ranked with what it carries so far.
+ * <p>
+ * A file shorter than the tracked position was truncated, it is read again from the start.
+ * <p>
+ * Usage: CalorieTail file [k] [poll interval millis]
+ */
+public class CalorieTail implements Closeable {
+
+    // Longest line accepted, a line still without a line break past this length fails the poll
+    static final int MAX_LINE_LENGTH = 1 << 20;
+
+    private final Path file;
+    private final CalorieSolver solver;
+    private final FileChannel channel;
+
+    // Room for the longest line and its \r\n
+    private final ByteBuffer buffer = ByteBuffer.allocate(MAX_LINE_LENGTH + 2);
+    private CalorieSolver.Chunk elves;
+    private long position;
+    private List<TopK.RankedElf> leaderboard = Collections.emptyList();
+
+    public CalorieTail(Path file, int k) throws IOException {
+        this.file = file;
+        this.solver = new CalorieSolver(k);
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.elves = solver.newPartial();
+    }
+
+    public static void main(String... args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: CalorieTail file [k] [poll interval millis]");
+        }
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long interval = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+
+        try (CalorieTail tail = new CalorieTail(Paths.get(args[0]), k)) {
+            tail.follow(interval, leaderboard -> {
+                System.out.println(LocalTime.now().truncatedTo(ChronoUnit.SECONDS) + "  " + tail.getPosition() + " bytes read");
+                int rank = 1;
+                for (TopK.RankedElf elf : leaderboard) {
+                    System.out.println(rank++ + ". Elf " + elf.getElf() + ": " + elf.getCalories());
+                }
+            });
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Current ranking, the highest total first.
+     */
+    public List<TopK.RankedElf> getLeaderboard() {
+        return leaderboard;
+    }
+
+    /**
+     * Parses the complete lines appended since the last call, a line still being written is left for the next one.
+     * Returns true if the leaderboard changed.
+     */
+    public boolean poll() throws IOException {
+        boolean parsed = false;
+        if (channel.size() < position) {
+            elves = solver.newPartial();
+            position = 0;
+            parsed = true;
+        }
+
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+
+            int length = lastLineBreak(buffer, read) + 1;
+            if (length == 0) {
+                if (read == buffer.capacity()) {
+                    throw new IllegalArgumentException("Line longer than " + MAX_LINE_LENGTH + " bytes at position " + position);
+                }
+                break;
+            }
+
+            CalorieSolver.parse(elves, buffer, 0, length);
+            position += length;
+            parsed = true;
+        }
+
+        if (!parsed) {
+            return false;
+        }
+
+        List<TopK.RankedElf> ranked = position == 0 ? Collections.emptyList() : solver.rank(elves).ranked();
+        if (ranked.equals(leaderboard)) {
+            return false;
+        }
+        leaderboard = ranked;
+        return true;
+    }
+
+    /**
+     * Polls whenever the directory of the file reports a change, at least once per interval for file systems without
+     * notifications, and hands every new leaderboard to the listener. Runs until the thread is interrupted.
+     */
+    public void follow(long intervalMillis, Consumer<List<TopK.RankedElf>> listener) throws IOException, InterruptedException {
+        Path directory = file.toAbsolutePath().getParent();
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                if (poll()) {
+                    listener.accept(leaderboard);
+                }
+
+                WatchKey key = watcher.poll(intervalMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int lastLineBreak(ByteBuffer buffer, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
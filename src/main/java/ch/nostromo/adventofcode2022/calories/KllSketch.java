@@ -0,0 +1,206 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import java.util.Arrays;
+
+/**
+ * KLL quantile sketch (Karnin, Lang, Liberty) of long values. Values are kept in levels, an item on level h stands
+ * for 2^h values. A full level is sorted and every second item, starting at a random offset, is promoted to the level
+ * above, so memory stays O(k log(n / k)) while the rank error is about 1.7 / k of the count.
+ * <p>
+ * Sketches of separate inputs can be merged in any order. Not thread-safe.
+ */
+public class KllSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 8;
+
+    private final int k;
+
+    private long[][] levels = new long[1][];
+    private int[] sizes = new int[1];
+    private int[] capacities;
+    private int size;
+    private int maxSize;
+    private long count;
+
+    // xorshift state, only decides the compaction offsets
+    private long random = 0x9E3779B97F4A7C15L;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    public KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+        this.k = k;
+        this.capacities = new int[]{capacity(0, 1)};
+        this.levels[0] = new long[capacities[0]];
+        this.maxSize = capacities[0];
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void add(long value) {
+        append(0, value);
+        size++;
+        count++;
+        if (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Adds all values of the other sketch, which is left unchanged.
+     */
+    public void merge(KllSketch other) {
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        size += other.size;
+        count += other.count;
+        while (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Estimated fraction of the values at or below the given one.
+     */
+    public double rank(long value) {
+        if (count == 0) {
+            return 0;
+        }
+        long weight = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                if (levels[h][i] <= value) {
+                    weight += 1L << h;
+                }
+            }
+        }
+        return (double) weight / count;
+    }
+
+    /**
+     * Estimated value at the given fraction (0 - 1) of the sorted values.
+     */
+    public long quantile(double fraction) {
+        if (count == 0) {
+            throw new IllegalStateException("Empty sketch");
+        }
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Invalid fraction: " + fraction);
+        }
+
+        // Every level sorted on its own, then merged in value order
+        long[][] sorted = new long[levels.length][];
+        for (int h = 0; h < levels.length; h++) {
+            sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(sorted[h]);
+        }
+        int[] next = new int[levels.length];
+
+        long target = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        long value = 0;
+        while (true) {
+            int lowest = -1;
+            for (int h = 0; h < sorted.length; h++) {
+                if (next[h] < sorted[h].length && (lowest < 0 || sorted[h][next[h]] < sorted[lowest][next[lowest]])) {
+                    lowest = h;
+                }
+            }
+            if (lowest < 0) {
+                return value;
+            }
+
+            value = sorted[lowest][next[lowest]++];
+            seen += 1L << lowest;
+            if (seen >= target) {
+                return value;
+            }
+        }
+    }
+
+    private void append(int level, long value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(8, levels[level].length * 2));
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    // Compacts the lowest full level, the sketch grows a level when the top one is full
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacities[h]) {
+                if (h + 1 >= levels.length) {
+                    grow();
+                }
+                compact(h);
+                return;
+            }
+        }
+    }
+
+    private void compact(int level) {
+        long[] items = levels[level];
+        int length = sizes[level];
+        Arrays.sort(items, 0, length);
+
+        // An odd item out stays behind, the rest is halved into the level above
+        int start = length % 2;
+        int offset = nextBit();
+        for (int i = start + offset; i < length; i += 2) {
+            append(level + 1, items[i]);
+        }
+        sizes[level] = start;
+        size -= (length - start) / 2;
+    }
+
+    private void grow() {
+        int height = levels.length + 1;
+        levels = Arrays.copyOf(levels, height);
+        sizes = Arrays.copyOf(sizes, height);
+        levels[height - 1] = new long[8];
+
+        capacities = new int[height];
+        maxSize = 0;
+        for (int h = 0; h < height; h++) {
+            capacities[h] = capacity(h, height);
+            maxSize += capacities[h];
+        }
+    }
+
+    // The top level holds k items, each level below about two thirds of the one above. New values are buffered in a
+    // level 0 of k items, so a sort is amortized over k / 2 adds.
+    private int capacity(int level, int height) {
+        if (level == 0) {
+            return k;
+        }
+        int depth = height - level - 1;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)) + 1);
+    }
+
+    private int nextBit() {
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        return (int) (random >>> 63);
+    }
+
+}
@@ -0,0 +1,34 @@
+package ch.nostromo.adventofcode2022.daemon;
+
+/**
+ * Wire format between {@link SolverDaemon} and {@link SolverClient}, written with DataOutputStream.
+ * <p>
+ * Request: int day, int part (1, 2 or 0 for both), int length, input bytes. A connection may carry any number of
+ * requests.
+ * <p>
+ * Response: a stream of frames, each starting with a tag byte. Answers are sent as soon as they are solved.
+ * <ul>
+ * <li>PARSED: long parse nanos</li>
+ * <li>ANSWER: int part, long solve nanos, UTF answer</li>
+ * <li>ERROR: UTF message, ends the response</li>
+ * <li>DONE: ends the response</li>
+ * </ul>
+ */
+final class Protocol {
+
+    static final int DEFAULT_PORT = 7022;
+
+    static final int BOTH_PARTS = 0;
+
+    static final byte PARSED = 'P';
+    static final byte ANSWER = 'A';
+    static final byte ERROR = 'E';
+    static final byte DONE = 'D';
+
+    // Upper bound for a single input, protects the daemon from garbage on the socket
+    static final int MAX_INPUT_SIZE = 256 << 20;
+
+    private Protocol() {
+    }
+
+}
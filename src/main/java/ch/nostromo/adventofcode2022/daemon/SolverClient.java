@@ -0,0 +1,126 @@
+package ch.nostromo.adventofcode2022.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Client of the {@link SolverDaemon}. Prints the answers like the puzzle main methods do, timings go to stderr.
+ * <p>
+ * Usage: SolverClient [--port port] day part|both [input file|-]
+ * <p>
+ * Without an input file the bundled input of the day is sent, - reads the input from stdin.
+ */
+public class SolverClient implements AutoCloseable {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    public SolverClient(int port) throws IOException {
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static void main(String... args) throws IOException {
+        int port = Protocol.DEFAULT_PORT;
+        int argIdx = 0;
+        if (args.length > 1 && "--port".equals(args[0])) {
+            port = Integer.parseInt(args[1]);
+            argIdx = 2;
+        }
+        if (args.length - argIdx < 2) {
+            throw new IllegalArgumentException("Usage: SolverClient [--port port] day part|both [input file|-]");
+        }
+
+        int day = Integer.parseInt(args[argIdx]);
+        int part = "both".equals(args[argIdx + 1]) ? Protocol.BOTH_PARTS : Integer.parseInt(args[argIdx + 1]);
+        byte[] input = readInput(day, args.length > argIdx + 2 ? args[argIdx + 2] : null);
+
+        try (SolverClient client = new SolverClient(port)) {
+            client.solve(day, part, input, new Listener() {
+                @Override
+                public void parsed(long nanos) {
+                    System.err.printf("Day %02d parse %9.3f ms%n", day, nanos / 1_000_000d);
+                }
+
+                @Override
+                public void answer(int part, String answer, long nanos) {
+                    System.err.printf("Day %02d part %d %9.3f ms%n", day, part, nanos / 1_000_000d);
+                    System.out.println("Solution: " + answer);
+                }
+            });
+        }
+    }
+
+    private static byte[] readInput(int day, String source) throws IOException {
+        if (source == null) {
+            String resource = String.format("%02d01/input.txt", day);
+            try (InputStream stream = SolverClient.class.getClassLoader().getResourceAsStream(resource)) {
+                if (stream == null) {
+                    throw new IllegalArgumentException("Unknown resource: " + resource);
+                }
+                return stream.readAllBytes();
+            }
+        }
+        if ("-".equals(source)) {
+            return System.in.readAllBytes();
+        }
+        return Files.readAllBytes(Paths.get(source));
+    }
+
+    /**
+     * Sends one request and reports the frames of the response as they arrive. Errors reported by the daemon are
+     * thrown as IllegalArgumentException.
+     */
+    public void solve(int day, int part, byte[] input, Listener listener) throws IOException {
+        out.writeInt(day);
+        out.writeInt(part);
+        out.writeInt(input.length);
+        out.write(input);
+        out.flush();
+
+        while (true) {
+            byte tag = in.readByte();
+            switch (tag) {
+                case Protocol.PARSED:
+                    listener.parsed(in.readLong());
+                    break;
+                case Protocol.ANSWER:
+                    int answerPart = in.readInt();
+                    long nanos = in.readLong();
+                    listener.answer(answerPart, in.readUTF(), nanos);
+                    break;
+                case Protocol.ERROR:
+                    throw new IllegalArgumentException("Daemon error: " + in.readUTF());
+                case Protocol.DONE:
+                    return;
+                default:
+                    throw new IOException("Unknown frame: " + tag);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    public interface Listener {
+
+        default void parsed(long nanos) {
+        }
+
+        void answer(int part, String answer, long nanos);
+
+    }
+
+}
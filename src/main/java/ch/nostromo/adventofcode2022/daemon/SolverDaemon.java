@@ -0,0 +1,259 @@
+package ch.nostromo.adventofcode2022.daemon;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.ResultCache;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.metrics.MetricsRegistry;
+import ch.nostromo.adventofcode2022.runner.AdventRunner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps all puzzles loaded and warm and solves inputs sent over a local socket, see {@link Protocol}. Only the loopback
+ * interface is bound. Connections are served by a fixed pool of -Daoc.daemon.threads threads (one per core by
+ * default), further connections wait for a free thread. The input bytes of all requests being solved are bounded by
+ * -Daoc.daemon.inflight (twice {@link Protocol#MAX_INPUT_SIZE} by default), a request beyond the free budget waits
+ * before its input is read.
+ * <p>
+ * Answers are memoized in a {@link ResultCache} by day, part and input digest. Parts found there are answered without
+ * parsing, with 0 nanos. -Daoc.results.capacity=0 turns memoization off.
+ * <p>
+ * Usage: SolverDaemon [port] [warmup rounds]
+ */
+public class SolverDaemon {
+
+    private final Map<Integer, Puzzle<?>> puzzles = new HashMap<>();
+    private final ResultCache results;
+    private final ExecutorService connections;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final ServerSocket serverSocket;
+
+    public SolverDaemon(int port) throws IOException {
+        this(port, ResultCache.defaultCapacity() > 0 ? ResultCache.ofDefault() : null,
+                Integer.getInteger("aoc.daemon.threads", Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger("aoc.daemon.inflight", 2 * Protocol.MAX_INPUT_SIZE));
+    }
+
+    /**
+     * Daemon with an explicit result cache, null to solve every request, and explicit limits.
+     */
+    SolverDaemon(int port, ResultCache results, int threads, int maxInFlight) throws IOException {
+        if (threads < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Invalid limits: " + threads + " threads, " + maxInFlight + " bytes in flight");
+        }
+        for (Puzzle<?> puzzle : AdventRunner.loadPuzzles(Collections.emptyList())) {
+            puzzles.put(puzzle.getDay(), puzzle);
+        }
+
+        this.results = results;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.connections = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "solver-connection-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+    }
+
+    public static void main(String... args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Protocol.DEFAULT_PORT;
+        int warmupRounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        MetricsRegistry.global().startLoggingIfConfigured();
+
+        SolverDaemon daemon = new SolverDaemon(port);
+        daemon.warmup(warmupRounds);
+
+        System.out.println("Solver daemon listening on " + daemon.getPort());
+        daemon.serve();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Solves the bundled inputs of all days a few times, so the first client request does not run interpreted.
+     */
+    public void warmup(int rounds) throws IOException {
+        for (int i = 0; i < rounds; i++) {
+            for (Puzzle<?> puzzle : puzzles.values()) {
+                warmup(puzzle);
+            }
+        }
+    }
+
+    private static <T> void warmup(Puzzle<T> puzzle) throws IOException {
+        T input = puzzle.parse(PuzzleInput.ofResource(puzzle.getResource()));
+        puzzle.solvePart1(input);
+        puzzle.solvePart2(input);
+    }
+
+    /**
+     * Accepts connections until {@link #close()} is called.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                if (!serverSocket.isClosed()) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+        if (results != null) {
+            results.close();
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            while (true) {
+                int day;
+                try {
+                    day = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                int part = in.readInt();
+                int length = in.readInt();
+                if (length < 0 || length > Protocol.MAX_INPUT_SIZE || length > maxInFlight) {
+                    writeError(out, "Invalid input length: " + length);
+                    return;
+                }
+
+                inFlight.acquire(length);
+                try {
+                    byte[] input = in.readNBytes(length);
+
+                    Puzzle<?> puzzle = puzzles.get(day);
+                    if (puzzle == null) {
+                        writeError(out, "Unknown day: " + day);
+                    } else if (part < Protocol.BOTH_PARTS || part > 2) {
+                        writeError(out, "Unknown part: " + part);
+                    } else {
+                        solve(puzzle, part, input, out);
+                    }
+                } finally {
+                    inFlight.release(length);
+                }
+            }
+        } catch (IOException e) {
+            // Client went away, nothing to answer
+        } catch (InterruptedException e) {
+            // Daemon closed while waiting for input budget
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> void solve(Puzzle<T> puzzle, int part, byte[] bytes, DataOutputStream out) throws IOException {
+        try {
+            PuzzleInput source = PuzzleInput.of(bytes);
+            byte[] digest = results != null ? source.digest() : null;
+            String cached1 = part != 2 ? lookup(puzzle, 1, digest) : null;
+            String cached2 = part != 1 ? lookup(puzzle, 2, digest) : null;
+            boolean solve1 = part != 2 && cached1 == null;
+            boolean solve2 = part != 1 && cached2 == null;
+
+            T input = null;
+            long parseNanos = 0;
+            if (solve1 || solve2) {
+                long start = System.nanoTime();
+                input = puzzle.parse(source);
+                parseNanos = System.nanoTime() - start;
+                record(puzzle, "parse", parseNanos);
+            }
+            out.writeByte(Protocol.PARSED);
+            out.writeLong(parseNanos);
+            out.flush();
+
+            if (cached1 != null) {
+                writeAnswer(puzzle, out, 1, cached1, 0);
+            } else if (solve1) {
+                long start = System.nanoTime();
+                Object answer = puzzle.solvePart1(input);
+                long nanos = System.nanoTime() - start;
+                record(puzzle, "part1", nanos);
+                memoize(puzzle, 1, digest, answer);
+                writeAnswer(puzzle, out, 1, answer, nanos);
+            }
+            if (cached2 != null) {
+                writeAnswer(puzzle, out, 2, cached2, 0);
+            } else if (solve2) {
+                long start = System.nanoTime();
+                Object answer = puzzle.solvePart2(input);
+                long nanos = System.nanoTime() - start;
+                record(puzzle, "part2", nanos);
+                memoize(puzzle, 2, digest, answer);
+                writeAnswer(puzzle, out, 2, answer, nanos);
+            }
+
+            out.writeByte(Protocol.DONE);
+            out.flush();
+        } catch (RuntimeException e) {
+            // Invalid input, the connection stays usable
+            writeError(out, e.toString());
+        }
+    }
+
+    private String lookup(Puzzle<?> puzzle, int part, byte[] digest) {
+        return results != null ? results.get(puzzle.getDay(), part, digest) : null;
+    }
+
+    private void memoize(Puzzle<?> puzzle, int part, byte[] digest, Object answer) {
+        if (results != null) {
+            results.put(puzzle.getDay(), part, digest, answer);
+        }
+    }
+
+    private static void writeAnswer(Puzzle<?> puzzle, DataOutputStream out, int part, Object answer, long nanos) throws IOException {
+        long start = System.nanoTime();
+        out.writeByte(Protocol.ANSWER);
+        out.writeInt(part);
+        out.writeLong(nanos);
+        out.writeUTF(String.valueOf(answer));
+        out.flush();
+        record(puzzle, "output", System.nanoTime() - start);
+    }
+
+    private static void record(Puzzle<?> puzzle, String phase, long nanos) {
+        MetricsRegistry.global().histogram(MetricsRegistry.phase(puzzle.getDay(), phase)).record(nanos);
+    }
+
+    private static void writeError(DataOutputStream out, String message) throws IOException {
+        out.writeByte(Protocol.ERROR);
+        out.writeUTF(message);
+        out.flush();
+    }
+
+}
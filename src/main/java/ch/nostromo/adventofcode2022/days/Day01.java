@@ -0,0 +1,122 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.LongArrayCodec;
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.calories.CalorieSolver;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.LineStreamingSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import ch.nostromo.adventofcode2022.puzzle0101.Puzzle0101;
+import ch.nostromo.adventofcode2022.puzzle0102.Puzzle0102;
+
+public class Day01 implements Puzzle<long[]> {
+
+    @Override
+    public int getDay() {
+        return 1;
+    }
+
+    @Override
+    public long[] parse(PuzzleInput input) {
+        return Puzzle0101.parse(input);
+    }
+
+    @Override
+    public ParsedCodec<long[]> getCodec() {
+        return new LongArrayCodec();
+    }
+
+    @Override
+    public Long solvePart1(long[] input) {
+        return Puzzle0101.solve(input);
+    }
+
+    @Override
+    public Long solvePart2(long[] input) {
+        return Puzzle0102.solve(input);
+    }
+
+    @Override
+    public Answers solveBoth(long[] input) {
+        Elves elves = new Elves();
+        for (long calories : input) {
+            elves.offer(calories);
+        }
+
+        return elves.answers();
+    }
+
+    @Override
+    public StreamingSolver streamingSolver() {
+        return new Streaming();
+    }
+
+    @Override
+    public ChunkedSolver<CalorieSolver.Chunk> chunkedSolver() {
+        return new CalorieSolver(3);
+    }
+
+    private static class Streaming extends LineStreamingSolver {
+
+        private final Elves elves = new Elves();
+
+        @Override
+        protected void acceptLine(InputLine line) {
+            elves.accept(line);
+        }
+
+        @Override
+        protected Answers result() {
+            return elves.result();
+        }
+
+    }
+
+    // Calories of the elf read so far and the three highest totals of the elves before
+    private static class Elves {
+
+        private long current;
+        private long first;
+        private long second;
+        private long third;
+
+        void accept(InputLine line) {
+            if (line.isEmpty()) {
+                offer(current);
+                current = 0;
+            } else {
+                current += Tokenizer.parseLong(line);
+            }
+        }
+
+        void offer(long calories) {
+            if (calories > first) {
+                third = second;
+                second = first;
+                first = calories;
+            } else if (calories > second) {
+                third = second;
+                second = calories;
+            } else if (calories > third) {
+                third = calories;
+            }
+        }
+
+        Answers result() {
+            offer(current);
+            current = 0;
+            return answers();
+        }
+
+        Answers answers() {
+            return new Answers(first, first + second + third);
+        }
+
+    }
+
+}
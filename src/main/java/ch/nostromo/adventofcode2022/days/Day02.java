@@ -0,0 +1,142 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.LineStreamingSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.puzzle0201.Puzzle0201;
+import ch.nostromo.adventofcode2022.puzzle0202.Puzzle0202;
+
+import java.nio.ByteBuffer;
+
+public class Day02 implements Puzzle<byte[]> {
+
+    @Override
+    public int getDay() {
+        return 2;
+    }
+
+    @Override
+    public byte[] parse(PuzzleInput input) {
+        return Puzzle0201.parse(input);
+    }
+
+    @Override
+    public Long solvePart1(byte[] input) {
+        return Puzzle0201.solve(input);
+    }
+
+    @Override
+    public Long solvePart2(byte[] input) {
+        return Puzzle0202.solve(input);
+    }
+
+    @Override
+    public Answers solveBoth(byte[] input) {
+        long part1 = 0;
+        long part2 = 0;
+
+        for (byte round : input) {
+            part1 += Puzzle0201.score(round);
+            part2 += Puzzle0202.score(round);
+        }
+
+        return new Answers(part1, part2);
+    }
+
+    @Override
+    public StreamingSolver streamingSolver() {
+        return new Streaming();
+    }
+
+    @Override
+    public ChunkedSolver<long[]> chunkedSolver() {
+        return new Chunked();
+    }
+
+    private static void addPoints(long[] points, int round) {
+        points[0] += Puzzle0201.score(round);
+        points[1] += Puzzle0202.score(round);
+    }
+
+    private static void addPoints(long[] points, InputLine line) {
+        addPoints(points, Puzzle0201.round(line));
+    }
+
+    private static class Streaming extends LineStreamingSolver {
+
+        private final long[] points = new long[2];
+
+        @Override
+        protected void acceptLine(InputLine line) {
+            addPoints(points, line);
+        }
+
+        @Override
+        protected Answers result() {
+            return new Answers(points[0], points[1]);
+        }
+
+    }
+
+    // Rounds are scored straight from the mapped bytes, three per record followed by \n or \r\n
+    private static class Chunked implements ChunkedSolver<long[]> {
+
+        @Override
+        public long[] newPartial() {
+            return new long[2];
+        }
+
+        @Override
+        public void accept(long[] partial, InputLine line) {
+            addPoints(partial, line);
+        }
+
+        @Override
+        public void acceptChunk(long[] partial, PuzzleInput input, long start, long end) {
+            input.forEachSegment(start, end, (segment, from, to) -> score(partial, segment, from, to));
+        }
+
+        private static void score(long[] partial, ByteBuffer segment, int from, int to) {
+            long part1 = 0;
+            long part2 = 0;
+            int i = from;
+            while (i < to) {
+                if (i + 2 >= to || segment.get(i + 1) != ' ') {
+                    throw new IllegalArgumentException("Invalid round at position " + i);
+                }
+
+                int round = Puzzle0201.round(segment.get(i), segment.get(i + 2));
+                part1 += Puzzle0201.score(round);
+                part2 += Puzzle0202.score(round);
+
+                i += 3;
+                if (i < to && segment.get(i) == '\r') {
+                    i++;
+                }
+                if (i < to && segment.get(i++) != '\n') {
+                    throw new IllegalArgumentException("Invalid round at position " + (i - 1));
+                }
+            }
+            partial[0] += part1;
+            partial[1] += part2;
+        }
+
+        @Override
+        public long[] combine(long[] left, long[] right) {
+            left[0] += right[0];
+            left[1] += right[1];
+            return left;
+        }
+
+        @Override
+        public Answers finish(long[] partial) {
+            return new Answers(partial[0], partial[1]);
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.ChunkBoundary;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.LineStreamingSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.puzzle0301.Puzzle0301;
+import ch.nostromo.adventofcode2022.puzzle0302.Puzzle0302;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+public class Day03 implements Puzzle<List<InputLine>> {
+
+    @Override
+    public int getDay() {
+        return 3;
+    }
+
+    @Override
+    public List<InputLine> parse(PuzzleInput input) {
+        return Puzzle0301.parse(input);
+    }
+
+    @Override
+    public Long solvePart1(List<InputLine> input) {
+        return Puzzle0301.solve(input);
+    }
+
+    @Override
+    public Long solvePart2(List<InputLine> input) {
+        return Puzzle0302.solve(input);
+    }
+
+    @Override
+    public Answers solveBoth(List<InputLine> input) {
+        Puzzle0302.checkGroups(input.size());
+
+        long part1 = 0;
+        long part2 = 0;
+
+        for (int i = 0; i < input.size(); i += 3) {
+            InputLine first = input.get(i);
+            InputLine second = input.get(i + 1);
+            InputLine third = input.get(i + 2);
+
+            part1 += Puzzle0301.getPriority(first) + Puzzle0301.getPriority(second) + Puzzle0301.getPriority(third);
+            part2 += Puzzle0302.getBadgePriority(first, second, third);
+        }
+
+        return new Answers(part1, part2);
+    }
+
+    @Override
+    public StreamingSolver streamingSolver() {
+        return new Streaming();
+    }
+
+    @Override
+    public ChunkedSolver<Rucksacks> chunkedSolver() {
+        return new Chunked();
+    }
+
+    // Only the first two lines of the current group are kept, copied one after the other into a reused scratch buffer
+    private static class Streaming extends LineStreamingSolver {
+
+        private final InputLine[] group = {new InputLine(null, 0, 0), new InputLine(null, 0, 0)};
+        private int groupSize;
+        private ByteBuffer scratch = ByteBuffer.allocate(256);
+
+        private long rucksacks;
+        private long part1;
+        private long part2;
+
+        @Override
+        protected void acceptLine(InputLine line) {
+            rucksacks++;
+            part1 += Puzzle0301.getPriority(line);
+
+            if (groupSize < 2) {
+                keep(line);
+            } else {
+                part2 += Puzzle0302.getBadgePriority(group[0], group[1], line);
+                groupSize = 0;
+            }
+        }
+
+        private void keep(InputLine line) {
+            int start = groupSize == 0 ? 0 : group[0].length();
+            if (scratch.capacity() < start + line.length()) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, start + line.length()));
+                for (int i = 0; i < start; i++) {
+                    grown.put(i, scratch.get(i));
+                }
+                scratch = grown;
+                group[0].set(scratch, 0, start);
+            }
+
+            for (int i = 0; i < line.length(); i++) {
+                scratch.put(start + i, line.byteAt(i));
+            }
+            group[groupSize++].set(scratch, start, line.length());
+        }
+
+        @Override
+        protected Answers result() {
+            Puzzle0302.checkGroups(rucksacks);
+            return new Answers(part1, part2);
+        }
+
+    }
+
+    // Chunks start at group boundaries, so only the last group of the last chunk can be incomplete
+    private static class Chunked implements ChunkedSolver<Rucksacks> {
+
+        @Override
+        public ChunkBoundary getBoundary() {
+            return ChunkBoundary.lineGroups(3);
+        }
+
+        @Override
+        public Rucksacks newPartial() {
+            return new Rucksacks();
+        }
+
+        @Override
+        public void accept(Rucksacks partial, InputLine line) {
+            partial.rucksacks++;
+            partial.part1 += Puzzle0301.getPriority(line);
+
+            if (partial.groupSize < 2) {
+                // The view is reused, the mapped bytes behind it are not
+                partial.group[partial.groupSize++] = new InputLine(line.getBuffer(), line.getOffset(), line.length());
+            } else {
+                partial.part2 += Puzzle0302.getBadgePriority(partial.group[0], partial.group[1], line);
+                partial.groupSize = 0;
+            }
+        }
+
+        @Override
+        public Rucksacks combine(Rucksacks left, Rucksacks right) {
+            // Only the last chunk may end inside a group, and only if the input does
+            Puzzle0302.checkGroups(left.rucksacks);
+            right.rucksacks += left.rucksacks;
+            right.part1 += left.part1;
+            right.part2 += left.part2;
+            return right;
+        }
+
+        @Override
+        public Answers finish(Rucksacks partial) {
+            Puzzle0302.checkGroups(partial.rucksacks);
+            return new Answers(partial.part1, partial.part2);
+        }
+
+    }
+
+    private static class Rucksacks {
+
+        private final InputLine[] group = new InputLine[2];
+        private int groupSize;
+
+        private long rucksacks;
+        private long part1;
+        private long part2;
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.IntArrayCodec;
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.LineStreamingSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.puzzle0402.Puzzle0402;
+
+public class Day04 implements Puzzle<int[]> {
+
+    @Override
+    public int getDay() {
+        return 4;
+    }
+
+    @Override
+    public int[] parse(PuzzleInput input) {
+        return Puzzle0401.parse(input);
+    }
+
+    @Override
+    public ParsedCodec<int[]> getCodec() {
+        return new IntArrayCodec();
+    }
+
+    @Override
+    public Long solvePart1(int[] input) {
+        return Puzzle0401.solve(input);
+    }
+
+    @Override
+    public Long solvePart2(int[] input) {
+        return Puzzle0402.solve(input);
+    }
+
+    @Override
+    public Answers solveBoth(int[] input) {
+        long part1 = 0;
+        long part2 = 0;
+
+        for (int i = 0; i < input.length; i += 4) {
+            if (Puzzle0401.isRedundant(input, i)) {
+                part1++;
+            }
+            if (Puzzle0402.isOverlapping(input, i)) {
+                part2++;
+            }
+        }
+
+        return new Answers(part1, part2);
+    }
+
+    @Override
+    public StreamingSolver streamingSolver() {
+        return new Streaming();
+    }
+
+    @Override
+    public ChunkedSolver<Pairs> chunkedSolver() {
+        return new Chunked();
+    }
+
+    private static class Streaming extends LineStreamingSolver {
+
+        private final Pairs pairs = new Pairs();
+
+        @Override
+        protected void acceptLine(InputLine line) {
+            pairs.accept(line);
+        }
+
+        @Override
+        protected Answers result() {
+            return pairs.result();
+        }
+
+    }
+
+    private static class Chunked implements ChunkedSolver<Pairs> {
+
+        @Override
+        public Pairs newPartial() {
+            return new Pairs();
+        }
+
+        @Override
+        public void accept(Pairs partial, InputLine line) {
+            partial.accept(line);
+        }
+
+        @Override
+        public Pairs combine(Pairs left, Pairs right) {
+            left.part1 += right.part1;
+            left.part2 += right.part2;
+            return left;
+        }
+
+        @Override
+        public Answers finish(Pairs partial) {
+            return partial.result();
+        }
+
+    }
+
+    private static class Pairs {
+
+        private final Tokenizer tokenizer = new Tokenizer();
+        private final int[] sections = new int[4];
+
+        private long part1;
+        private long part2;
+
+        void accept(InputLine line) {
+            tokenizer.reset(line);
+            sections[0] = tokenizer.nextInt();
+            sections[1] = tokenizer.expect("-").nextInt();
+            sections[2] = tokenizer.expect(",").nextInt();
+            sections[3] = tokenizer.expect("-").nextInt();
+
+            if (Puzzle0401.isRedundant(sections, 0)) {
+                part1++;
+            }
+            if (Puzzle0402.isOverlapping(sections, 0)) {
+                part2++;
+            }
+        }
+
+        Answers result() {
+            return new Answers(part1, part2);
+        }
+
+    }
+
+}
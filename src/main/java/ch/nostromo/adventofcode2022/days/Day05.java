@@ -0,0 +1,31 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0501.Puzzle0501;
+import ch.nostromo.adventofcode2022.puzzle0501.Puzzle0501.Procedure;
+import ch.nostromo.adventofcode2022.puzzle0502.Puzzle0502;
+
+public class Day05 implements Puzzle<Procedure> {
+
+    @Override
+    public int getDay() {
+        return 5;
+    }
+
+    @Override
+    public Procedure parse(PuzzleInput input) {
+        return Puzzle0501.parse(input);
+    }
+
+    @Override
+    public String solvePart1(Procedure input) {
+        return Puzzle0501.solve(input);
+    }
+
+    @Override
+    public String solvePart2(Procedure input) {
+        return Puzzle0502.solve(input);
+    }
+
+}
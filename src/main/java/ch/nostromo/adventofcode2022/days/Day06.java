@@ -0,0 +1,108 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.puzzle0601.Puzzle0601;
+import ch.nostromo.adventofcode2022.puzzle0602.Puzzle0602;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Day06 implements Puzzle<InputLine> {
+
+    @Override
+    public int getDay() {
+        return 6;
+    }
+
+    @Override
+    public InputLine parse(PuzzleInput input) {
+        return Puzzle0601.parse(input);
+    }
+
+    @Override
+    public Integer solvePart1(InputLine input) {
+        return Puzzle0601.solve(input);
+    }
+
+    @Override
+    public Integer solvePart2(InputLine input) {
+        return Puzzle0602.solve(input);
+    }
+
+    @Override
+    public Answers solveBoth(InputLine input) {
+        int[] markers = Puzzle0601.findMarkers(input, 4, 14);
+
+        return new Answers(markers[0], markers[1]);
+    }
+
+    @Override
+    public StreamingSolver streamingSolver() {
+        return new Streaming(4, 14);
+    }
+
+    /**
+     * Same scan as {@link Puzzle0601#findMarkers(InputLine, int...)} on the raw bytes of the first line. A byte is
+     * only scanned once the next byte of the line arrived, as the marker may not end on the last char of the line.
+     */
+    private static class Streaming implements StreamingSolver {
+
+        private final int[] blockSizes;
+        private final int[] markers;
+        private final int[] lastSeen = new int[256];
+
+        private int position;
+        private int runStart;
+        private int pending = -1;
+        private boolean lineEnded;
+
+        Streaming(int... blockSizes) {
+            this.blockSizes = blockSizes;
+            this.markers = new int[blockSizes.length];
+            Arrays.fill(lastSeen, -1);
+        }
+
+        @Override
+        public void accept(ByteBuffer chunk) {
+            for (int i = chunk.position(); i < chunk.limit() && !lineEnded; i++) {
+                int c = chunk.get(i) & 0xFF;
+                if (c == '\n' || c == '\r') {
+                    lineEnded = true;
+                } else {
+                    if (pending >= 0) {
+                        scan(pending);
+                    }
+                    pending = c;
+                }
+            }
+        }
+
+        private void scan(int c) {
+            runStart = Math.max(runStart, lastSeen[c] + 1);
+            lastSeen[c] = position;
+
+            for (int n = 0; n < blockSizes.length; n++) {
+                if (markers[n] == 0 && position - runStart + 1 >= blockSizes[n]) {
+                    markers[n] = position + 1;
+                }
+            }
+            position++;
+        }
+
+        @Override
+        public Answers finish() {
+            for (int n = 0; n < blockSizes.length; n++) {
+                if (markers[n] == 0) {
+                    throw new IllegalArgumentException("No marker of size " + blockSizes[n] + " found");
+                }
+            }
+            return new Answers(markers[0], markers[1]);
+        }
+
+    }
+
+}
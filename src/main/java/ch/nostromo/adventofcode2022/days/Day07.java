@@ -0,0 +1,51 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0701.Puzzle0701;
+import ch.nostromo.adventofcode2022.puzzle0702.Puzzle0702;
+
+import java.util.Map;
+
+public class Day07 implements Puzzle<Map<String, Long>> {
+
+    @Override
+    public int getDay() {
+        return 7;
+    }
+
+    @Override
+    public Map<String, Long> parse(PuzzleInput input) {
+        return Puzzle0701.parse(input);
+    }
+
+    @Override
+    public Long solvePart1(Map<String, Long> input) {
+        return Puzzle0701.solve(input);
+    }
+
+    @Override
+    public Long solvePart2(Map<String, Long> input) {
+        return Puzzle0702.solve(input);
+    }
+
+    @Override
+    public Answers solveBoth(Map<String, Long> input) {
+        long toMakeFree = 30000000 - (70000000 - input.get("/"));
+
+        long part1 = 0;
+        long part2 = Long.MAX_VALUE;
+        for (long size : input.values()) {
+            if (size <= 100000) {
+                part1 += size;
+            }
+            if (size >= toMakeFree && size < part2) {
+                part2 = size;
+            }
+        }
+
+        return new Answers(part1, part2);
+    }
+
+}
@@ -0,0 +1,46 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.ByteGridCodec;
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.grid.ByteGrid;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0801.Puzzle0801;
+import ch.nostromo.adventofcode2022.puzzle0802.Puzzle0802;
+
+public class Day08 implements Puzzle<ByteGrid> {
+
+    @Override
+    public int getDay() {
+        return 8;
+    }
+
+    @Override
+    public ByteGrid parse(PuzzleInput input) {
+        return Puzzle0801.parse(input);
+    }
+
+    @Override
+    public ParsedCodec<ByteGrid> getCodec() {
+        return new ByteGridCodec();
+    }
+
+    @Override
+    public Integer solvePart1(ByteGrid input) {
+        return Puzzle0801.solve(input);
+    }
+
+    @Override
+    public Long solvePart2(ByteGrid input) {
+        return Puzzle0802.solve(input);
+    }
+
+    @Override
+    public Answers solveBoth(ByteGrid input) {
+        long[] answers = Puzzle0801.solveBoth(input);
+
+        return new Answers((int) answers[0], answers[1]);
+    }
+
+}
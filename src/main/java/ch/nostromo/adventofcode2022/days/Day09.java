@@ -0,0 +1,67 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.LineStreamingSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import ch.nostromo.adventofcode2022.puzzle0901.Puzzle0901.Motion;
+import ch.nostromo.adventofcode2022.puzzle0901.Puzzle0901;
+import ch.nostromo.adventofcode2022.puzzle0902.Puzzle0902;
+
+import java.util.List;
+
+public class Day09 implements Puzzle<List<Motion>> {
+
+    @Override
+    public int getDay() {
+        return 9;
+    }
+
+    @Override
+    public List<Motion> parse(PuzzleInput input) {
+        return Puzzle0901.parse(input);
+    }
+
+    @Override
+    public Integer solvePart1(List<Motion> input) {
+        return Puzzle0901.solve(input);
+    }
+
+    @Override
+    public Integer solvePart2(List<Motion> input) {
+        return Puzzle0902.solve(input);
+    }
+
+    @Override
+    public StreamingSolver streamingSolver() {
+        return new Streaming();
+    }
+
+    // Memory is bound by the visited positions, not by the number of motions
+    private static class Streaming extends LineStreamingSolver {
+
+        private final Tokenizer tokenizer = new Tokenizer();
+        private final Puzzle0901.Simulation shortRope = new Puzzle0901.Simulation();
+        private final Puzzle0902.Simulation longRope = new Puzzle0902.Simulation();
+
+        @Override
+        protected void acceptLine(InputLine line) {
+            tokenizer.reset(line);
+            char command = tokenizer.nextChar();
+            int steps = tokenizer.nextInt();
+
+            shortRope.apply(command, steps);
+            longRope.apply(command, steps);
+        }
+
+        @Override
+        protected Answers result() {
+            return new Answers(shortRope.getVisitedCount(), longRope.getVisitedCount());
+        }
+
+    }
+
+}
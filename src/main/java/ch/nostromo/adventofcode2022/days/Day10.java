@@ -0,0 +1,104 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.cache.ProgramCodec;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.LineStreamingSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import ch.nostromo.adventofcode2022.puzzle1001.Puzzle1001.Program;
+import ch.nostromo.adventofcode2022.puzzle1001.Puzzle1001;
+import ch.nostromo.adventofcode2022.puzzle1002.Puzzle1002;
+
+public class Day10 implements Puzzle<Program> {
+
+    @Override
+    public int getDay() {
+        return 10;
+    }
+
+    @Override
+    public Program parse(PuzzleInput input) {
+        return Puzzle1001.parse(input);
+    }
+
+    @Override
+    public ParsedCodec<Program> getCodec() {
+        return new ProgramCodec();
+    }
+
+    @Override
+    public Integer solvePart1(Program input) {
+        return Puzzle1001.solve(input);
+    }
+
+    @Override
+    public String solvePart2(Program input) {
+        return Puzzle1002.solve(input);
+    }
+
+    @Override
+    public StreamingSolver streamingSolver() {
+        return new Streaming();
+    }
+
+    /**
+     * Runs each instruction as it is read, with the cycle and CRT logic of Puzzle1001 and Puzzle1002.
+     */
+    private static class Streaming extends LineStreamingSolver {
+
+        private final Tokenizer tokenizer = new Tokenizer();
+        private final StringBuilder crt = new StringBuilder();
+
+        private int signalStrength = 1;
+        private int cycle;
+        private int crtRow = 1;
+        private int solution;
+
+        @Override
+        protected void acceptLine(InputLine line) {
+            tokenizer.reset(line);
+            if (tokenizer.match("noop")) {
+                tick();
+            } else {
+                int strength = tokenizer.expect("addx ").nextInt();
+                tick();
+                tick();
+                signalStrength += strength;
+            }
+        }
+
+        private void tick() {
+            cycle++;
+
+            if (cycle == 20 || cycle == 60 || cycle == 100 || cycle == 140 || cycle == 180 || cycle == 220) {
+                solution += (cycle * signalStrength);
+            }
+
+            if (cycle < 240) {
+                if (crtRow >= signalStrength && crtRow <= signalStrength + 2) {
+                    crt.append("#");
+                } else {
+                    crt.append(".");
+                }
+
+                crtRow++;
+
+                if (crtRow == 41) {
+                    crt.append(System.lineSeparator());
+                    crtRow = 1;
+                }
+            }
+        }
+
+        @Override
+        protected Answers result() {
+            return new Answers(solution, crt.toString() + ".");
+        }
+
+    }
+
+}
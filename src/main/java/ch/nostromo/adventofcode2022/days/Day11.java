@@ -0,0 +1,40 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.MonkeySpecCodec;
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle1101.Puzzle1101;
+import ch.nostromo.adventofcode2022.puzzle1101.Puzzle1101.MonkeySpec;
+import ch.nostromo.adventofcode2022.puzzle1102.Puzzle1102;
+
+import java.util.List;
+
+public class Day11 implements Puzzle<List<MonkeySpec>> {
+
+    @Override
+    public int getDay() {
+        return 11;
+    }
+
+    @Override
+    public List<MonkeySpec> parse(PuzzleInput input) {
+        return Puzzle1101.parse(input);
+    }
+
+    @Override
+    public ParsedCodec<List<MonkeySpec>> getCodec() {
+        return new MonkeySpecCodec();
+    }
+
+    @Override
+    public Integer solvePart1(List<MonkeySpec> input) {
+        return Puzzle1101.solve(input);
+    }
+
+    @Override
+    public Long solvePart2(List<MonkeySpec> input) {
+        return Puzzle1102.solve(input);
+    }
+
+}
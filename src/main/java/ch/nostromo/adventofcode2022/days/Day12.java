@@ -0,0 +1,38 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.ByteGridCodec;
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.grid.ByteGrid;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle1201.Puzzle1201;
+import ch.nostromo.adventofcode2022.puzzle1202.Puzzle1202;
+
+public class Day12 implements Puzzle<ByteGrid> {
+
+    @Override
+    public int getDay() {
+        return 12;
+    }
+
+    @Override
+    public ByteGrid parse(PuzzleInput input) {
+        return Puzzle1201.parse(input);
+    }
+
+    @Override
+    public ParsedCodec<ByteGrid> getCodec() {
+        return new ByteGridCodec();
+    }
+
+    @Override
+    public Integer solvePart1(ByteGrid input) {
+        return Puzzle1201.solve(input);
+    }
+
+    @Override
+    public Integer solvePart2(ByteGrid input) {
+        return Puzzle1202.solve(input);
+    }
+
+}
@@ -0,0 +1,28 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 1: calorie items per elf, elves separated by a blank line.
+ */
+public class CalorieGenerator implements InputGenerator {
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        do {
+            if (out.getWritten() > 0) {
+                out.newLine().newLine();
+            }
+
+            int items = 1 + random.nextInt(15);
+            for (int i = 0; i < items; i++) {
+                if (i > 0) {
+                    out.newLine();
+                }
+                out.write(1000 + random.nextInt(69000));
+            }
+        } while (out.getWritten() < targetBytes);
+    }
+
+}
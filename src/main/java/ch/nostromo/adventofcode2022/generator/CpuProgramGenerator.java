@@ -0,0 +1,35 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 10: noop and addx instructions. At least 240 instructions are written, so both parts always have enough cycles.
+ */
+public class CpuProgramGenerator implements InputGenerator {
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        int register = 1;
+        int count = 0;
+
+        do {
+            if (count++ > 0) {
+                out.newLine();
+            }
+
+            if (random.nextInt(3) == 0) {
+                out.write("noop");
+            } else {
+                // Keep the sprite roughly on screen
+                int value = random.nextInt(11) - 5;
+                if (register + value < 0 || register + value > 39) {
+                    value = -value;
+                }
+                register += value;
+                out.write("addx ").write(value);
+            }
+        } while (count < 240 || out.getWritten() < targetBytes);
+    }
+
+}
@@ -0,0 +1,62 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 5: crate drawing of nine stacks followed by the move list. Moves never take the last crate of a stack, so
+ * every stack still has a top crate at the end.
+ */
+public class CrateGenerator implements InputGenerator {
+
+    private static final int STACKS = 9;
+    private static final int HEIGHT = 8;
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        int[] heights = new int[STACKS];
+        for (int i = 0; i < STACKS; i++) {
+            heights[i] = 2 + random.nextInt(HEIGHT - 1);
+        }
+
+        for (int row = HEIGHT; row > 0; row--) {
+            for (int i = 0; i < STACKS; i++) {
+                if (i > 0) {
+                    out.write(' ');
+                }
+                if (heights[i] >= row) {
+                    out.write('[').write((char) ('A' + random.nextInt(26))).write(']');
+                } else {
+                    out.write("   ");
+                }
+            }
+            out.newLine();
+        }
+
+        for (int i = 0; i < STACKS; i++) {
+            out.write(i == 0 ? " " : "   ").write(i + 1);
+        }
+        out.newLine();
+
+        do {
+            out.newLine();
+
+            int from;
+            do {
+                from = random.nextInt(STACKS);
+            } while (heights[from] < 2);
+
+            int to;
+            do {
+                to = random.nextInt(STACKS);
+            } while (to == from);
+
+            int count = 1 + random.nextInt(heights[from] - 1);
+            heights[from] -= count;
+            heights[to] += count;
+
+            out.write("move ").write(count).write(" from ").write(from + 1).write(" to ").write(to + 1);
+        } while (out.getWritten() < targetBytes);
+    }
+
+}
@@ -0,0 +1,29 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 6: a single datastream line. The first half only uses three characters, so the start-of-packet marker is
+ * found in the middle. The rest uses 13 characters, so the start-of-message marker is placed near the end.
+ */
+public class DatastreamGenerator implements InputGenerator {
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        long body = Math.max(0, targetBytes - 16);
+
+        while (out.getWritten() < body / 2) {
+            out.write((char) ('a' + random.nextInt(3)));
+        }
+        while (out.getWritten() < body) {
+            out.write((char) ('a' + random.nextInt(13)));
+        }
+
+        out.write("abcdefghijklmn");
+
+        // The solvers never look at the very last window
+        out.write('a');
+    }
+
+}
@@ -0,0 +1,25 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 8: square grid of tree heights 0-9.
+ */
+public class ForestGenerator implements InputGenerator {
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        int size = Math.max(3, (int) Math.sqrt(targetBytes));
+
+        for (int y = 0; y < size; y++) {
+            if (y > 0) {
+                out.newLine();
+            }
+            for (int x = 0; x < size; x++) {
+                out.write((char) ('0' + random.nextInt(10)));
+            }
+        }
+    }
+
+}
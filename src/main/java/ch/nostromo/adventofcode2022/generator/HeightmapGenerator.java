@@ -0,0 +1,41 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 12: square heightmap rising diagonally from S in the top left corner to E in the bottom right corner.
+ * Neighbouring cells of the slope differ by at most one, so E is always reachable. Random pits add detours and
+ * further 'a' start positions.
+ */
+public class HeightmapGenerator implements InputGenerator {
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        int size = Math.max(16, (int) Math.sqrt(targetBytes));
+        int diagonal = 2 * size - 2;
+
+        for (int y = 0; y < size; y++) {
+            if (y > 0) {
+                out.newLine();
+            }
+            for (int x = 0; x < size; x++) {
+                if (x == 0 && y == 0) {
+                    out.write('S');
+                } else if (x == size - 1 && y == size - 1) {
+                    out.write('E');
+                } else {
+                    int height = Math.min(25, 26 * (x + y) / diagonal);
+
+                    // No pits next to the corners
+                    if (x + y > 2 && x + y < diagonal - 2 && random.nextInt(10) == 0) {
+                        height = random.nextInt(height + 1);
+                    }
+
+                    out.write((char) ('a' + height));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Produces a valid puzzle input of roughly the requested size. Output is written as it is generated, so the size is
+ * only limited by the target, not by the heap. Generation stops at the first record boundary after the target size
+ * has been reached.
+ */
+public interface InputGenerator {
+
+    void generate(InputWriter out, long targetBytes, Random random) throws IOException;
+
+}
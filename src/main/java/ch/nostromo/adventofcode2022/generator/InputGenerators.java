@@ -0,0 +1,86 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+/**
+ * Generator lookup per day and command line entry point.
+ * <p>
+ * Usage: InputGenerators day size[K|M|G] [seed] [output file, default stdout]
+ */
+public class InputGenerators {
+
+    public static InputGenerator forDay(int day) {
+        switch (day) {
+            case 1:
+                return new CalorieGenerator();
+            case 2:
+                return new StrategyGuideGenerator();
+            case 3:
+                return new RucksackGenerator();
+            case 4:
+                return new SectionPairGenerator();
+            case 5:
+                return new CrateGenerator();
+            case 6:
+                return new DatastreamGenerator();
+            case 7:
+                return new TerminalLogGenerator();
+            case 8:
+                return new ForestGenerator();
+            case 9:
+                return new RopeMotionGenerator();
+            case 10:
+                return new CpuProgramGenerator();
+            case 11:
+                return new MonkeyGenerator();
+            case 12:
+                return new HeightmapGenerator();
+        }
+        throw new IllegalArgumentException("Unknown day: " + day);
+    }
+
+    public static void generate(int day, long targetBytes, long seed, OutputStream out) throws IOException {
+        InputWriter writer = new InputWriter(out);
+        forDay(day).generate(writer, targetBytes, new Random(seed));
+        writer.flush();
+    }
+
+    public static long parseSize(String size) {
+        String value = size.toUpperCase();
+        long factor = 1;
+        if (value.endsWith("K")) {
+            factor = 1L << 10;
+        } else if (value.endsWith("M")) {
+            factor = 1L << 20;
+        } else if (value.endsWith("G")) {
+            factor = 1L << 30;
+        }
+        if (factor > 1) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Long.parseLong(value) * factor;
+    }
+
+    public static void main(String... args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: InputGenerators day size[K|M|G] [seed] [output]");
+            System.exit(1);
+        }
+
+        int day = Integer.parseInt(args[0]);
+        long size = parseSize(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 2022;
+
+        if (args.length > 3 && !args[3].equals("-")) {
+            try (OutputStream out = new FileOutputStream(args[3])) {
+                generate(day, size, seed, out);
+            }
+        } else {
+            generate(day, size, seed, System.out);
+        }
+    }
+
+}
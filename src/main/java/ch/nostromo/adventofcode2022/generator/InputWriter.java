@@ -0,0 +1,82 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffered ASCII writer which formats numbers without creating intermediate Strings and keeps track of the bytes
+ * written so far.
+ */
+public class InputWriter implements Closeable {
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[1 << 16];
+    private final byte[] digits = new byte[20];
+
+    private int position;
+    private long written;
+
+    public InputWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    public long getWritten() {
+        return written + position;
+    }
+
+    public InputWriter write(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) c;
+        return this;
+    }
+
+    public InputWriter write(String ascii) throws IOException {
+        for (int i = 0; i < ascii.length(); i++) {
+            write(ascii.charAt(i));
+        }
+        return this;
+    }
+
+    public InputWriter write(long number) throws IOException {
+        if (number < 0) {
+            write('-');
+            number = -number;
+        }
+
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + number % 10);
+            number /= 10;
+        } while (number > 0);
+
+        while (count > 0) {
+            write((char) digits[--count]);
+        }
+        return this;
+    }
+
+    public InputWriter newLine() throws IOException {
+        return write('\n');
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        written += position;
+        position = 0;
+    }
+
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+}
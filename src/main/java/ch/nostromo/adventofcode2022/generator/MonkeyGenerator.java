@@ -0,0 +1,61 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 11: monkey specifications. The input grows by adding monkeys. Divisors are taken from the first eight primes,
+ * so the common modulus of part 2 stays within an int.
+ */
+public class MonkeyGenerator implements InputGenerator {
+
+    private static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19};
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        // Roughly 200 bytes per monkey
+        int monkeys = (int) Math.max(2, Math.min(Integer.MAX_VALUE, targetBytes / 200));
+
+        for (int monkey = 0; monkey < monkeys; monkey++) {
+            if (monkey > 0) {
+                out.newLine().newLine();
+            }
+
+            out.write("Monkey ").write(monkey).write(':').newLine();
+
+            out.write("  Starting items: ");
+            int items = 1 + random.nextInt(8);
+            for (int i = 0; i < items; i++) {
+                if (i > 0) {
+                    out.write(", ");
+                }
+                out.write(50 + random.nextInt(50));
+            }
+            out.newLine();
+
+            out.write("  Operation: new = old ");
+            switch (random.nextInt(5)) {
+                case 0:
+                    out.write("* old");
+                    break;
+                case 1:
+                case 2:
+                    out.write("* ").write(2 + random.nextInt(18));
+                    break;
+                default:
+                    out.write("+ ").write(1 + random.nextInt(8));
+            }
+            out.newLine();
+
+            out.write("  Test: divisible by ").write(PRIMES[random.nextInt(PRIMES.length)]).newLine();
+            out.write("    If true: throw to monkey ").write(otherMonkey(monkey, monkeys, random)).newLine();
+            out.write("    If false: throw to monkey ").write(otherMonkey(monkey, monkeys, random));
+        }
+    }
+
+    private static int otherMonkey(int monkey, int monkeys, Random random) {
+        int other = random.nextInt(monkeys - 1);
+        return other >= monkey ? other + 1 : other;
+    }
+
+}
@@ -0,0 +1,23 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 9: head motions, e.g. "R 4".
+ */
+public class RopeMotionGenerator implements InputGenerator {
+
+    private static final String DIRECTIONS = "UDLR";
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        do {
+            if (out.getWritten() > 0) {
+                out.newLine();
+            }
+            out.write(DIRECTIONS.charAt(random.nextInt(4))).write(' ').write(1 + random.nextInt(20));
+        } while (out.getWritten() < targetBytes);
+    }
+
+}
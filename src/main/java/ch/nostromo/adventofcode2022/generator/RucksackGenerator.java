@@ -0,0 +1,73 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 3: groups of three rucksacks. Both compartments of a rucksack share exactly one item type and the three
+ * rucksacks of a group share exactly one badge.
+ */
+public class RucksackGenerator implements InputGenerator {
+
+    private static final String ITEMS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        char[] items = ITEMS.toCharArray();
+        char[] half = new char[16];
+
+        do {
+            shuffle(items, random);
+
+            // items[0] is the badge, every elf of the group draws from its own 17 item pool
+            for (int elf = 0; elf < 3; elf++) {
+                if (out.getWritten() > 0) {
+                    out.newLine();
+                }
+
+                int poolStart = 1 + elf * 17;
+                int common = random.nextInt(9) == 0 ? 0 : poolStart + random.nextInt(17);
+                boolean badgeInFirst = random.nextBoolean();
+                int length = 4 + random.nextInt(13);
+
+                // First compartment uses the lower part of the pool, the second one the upper part
+                writeCompartment(out, items, half, length, items[common], common != 0 && badgeInFirst, poolStart, 8, random);
+                writeCompartment(out, items, half, length, items[common], common != 0 && !badgeInFirst, poolStart + 8, 9, random);
+            }
+        } while (out.getWritten() < targetBytes);
+    }
+
+    private static void writeCompartment(InputWriter out, char[] items, char[] half, int length, char common, boolean withBadge,
+                                         int poolStart, int poolSize, Random random) throws IOException {
+        int count = 0;
+        half[count++] = common;
+        if (withBadge) {
+            half[count++] = items[0];
+        }
+        while (count < length) {
+            char item = items[poolStart + random.nextInt(poolSize)];
+            if (item != common) {
+                half[count++] = item;
+            }
+        }
+
+        shuffle(half, length, random);
+        for (int i = 0; i < length; i++) {
+            out.write(half[i]);
+        }
+    }
+
+    private static void shuffle(char[] chars, Random random) {
+        shuffle(chars, chars.length, random);
+    }
+
+    private static void shuffle(char[] chars, int length, Random random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char c = chars[i];
+            chars[i] = chars[j];
+            chars[j] = c;
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 4: two section ranges per line, e.g. "2-4,6-8".
+ */
+public class SectionPairGenerator implements InputGenerator {
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        do {
+            if (out.getWritten() > 0) {
+                out.newLine();
+            }
+            writeRange(out, random);
+            out.write(',');
+            writeRange(out, random);
+        } while (out.getWritten() < targetBytes);
+    }
+
+    private static void writeRange(InputWriter out, Random random) throws IOException {
+        int from = 1 + random.nextInt(99);
+        int to = from + random.nextInt(100 - from);
+        out.write(from).write('-').write(to);
+    }
+
+}
@@ -0,0 +1,21 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 2: one round per line, opponent A-C and response X-Z.
+ */
+public class StrategyGuideGenerator implements InputGenerator {
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        do {
+            if (out.getWritten() > 0) {
+                out.newLine();
+            }
+            out.write((char) ('A' + random.nextInt(3))).write(' ').write((char) ('X' + random.nextInt(3)));
+        } while (out.getWritten() < targetBytes);
+    }
+
+}
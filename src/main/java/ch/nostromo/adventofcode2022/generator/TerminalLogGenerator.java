@@ -0,0 +1,56 @@
+package ch.nostromo.adventofcode2022.generator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Day 7: terminal session walking a directory tree depth first. The root directory is listed repeatedly with new
+ * subdirectories until the target size is reached, deeper levels are bounded, so memory stays constant.
+ */
+public class TerminalLogGenerator implements InputGenerator {
+
+    private static final int MAX_DEPTH = 8;
+
+    private long directoryCount = 0;
+
+    @Override
+    public void generate(InputWriter out, long targetBytes, Random random) throws IOException {
+        out.write("$ cd /");
+
+        do {
+            out.newLine().write("$ ls");
+            writeFiles(out, random);
+
+            long name = directoryCount++;
+            out.newLine().write("dir d").write(name);
+            out.newLine().write("$ cd d").write(name);
+            writeDirectory(out, 1, random);
+            out.newLine().write("$ cd ..");
+        } while (out.getWritten() < targetBytes);
+    }
+
+    private void writeDirectory(InputWriter out, int depth, Random random) throws IOException {
+        out.newLine().write("$ ls");
+        writeFiles(out, random);
+
+        int subdirectories = depth < MAX_DEPTH ? random.nextInt(4) : 0;
+        long firstName = directoryCount;
+        for (int i = 0; i < subdirectories; i++) {
+            out.newLine().write("dir d").write(directoryCount++);
+        }
+
+        for (int i = 0; i < subdirectories; i++) {
+            out.newLine().write("$ cd d").write(firstName + i);
+            writeDirectory(out, depth + 1, random);
+            out.newLine().write("$ cd ..");
+        }
+    }
+
+    private static void writeFiles(InputWriter out, Random random) throws IOException {
+        int files = random.nextInt(5);
+        for (int i = 0; i < files; i++) {
+            out.newLine().write(1 + random.nextInt(300000)).write(" f").write(i).write(".txt");
+        }
+    }
+
+}
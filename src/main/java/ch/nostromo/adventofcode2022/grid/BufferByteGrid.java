@@ -0,0 +1,49 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+class BufferByteGrid extends ByteGrid {
+
+    private final ByteBuffer buffer;
+
+    BufferByteGrid(int width, int height, int padding, ByteBuffer buffer) {
+        super(width, height, padding);
+        this.buffer = buffer;
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return buffer.isDirect();
+    }
+
+    @Override
+    public int getAt(int index) {
+        return buffer.get(index) & 0xFF;
+    }
+
+    @Override
+    public void setAt(int index, int value) {
+        buffer.put(index, (byte) value);
+    }
+
+    @Override
+    public void fill(int value) {
+        byte[] chunk = new byte[Math.min(buffer.limit(), 1 << 16)];
+        Arrays.fill(chunk, (byte) value);
+        for (int i = 0; i < buffer.limit(); i += chunk.length) {
+            buffer.put(i, chunk, 0, Math.min(chunk.length, buffer.limit() - i));
+        }
+    }
+
+    @Override
+    public void copyRow(int y, byte[] out, int offset) {
+        buffer.get(index(0, y), out, offset, width);
+    }
+
+    @Override
+    public void putRow(int y, byte[] row, int offset) {
+        buffer.put(index(0, y), row, offset, width);
+    }
+
+}
@@ -0,0 +1,54 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import java.nio.IntBuffer;
+
+/**
+ * Int cells in buffers of at most 2^SEGMENT_SHIFT cells each, as one buffer of 4 byte cells would hold only a quarter
+ * of the cells a grid may have.
+ */
+class BufferIntGrid extends IntGrid {
+
+    // 1 GB per buffer
+    static final int SEGMENT_SHIFT = 28;
+
+    private final IntBuffer[] segments;
+    private final int shift;
+    private final int mask;
+
+    BufferIntGrid(int width, int height, int padding, GridStorage storage) {
+        this(width, height, padding, storage, SEGMENT_SHIFT);
+    }
+
+    BufferIntGrid(int width, int height, int padding, GridStorage storage, int shift) {
+        super(width, height, padding);
+        this.shift = shift;
+        this.mask = (1 << shift) - 1;
+
+        int cells = capacity();
+        this.segments = new IntBuffer[(int) (((long) cells + mask) >>> shift)];
+        for (int s = 0; s < segments.length; s++) {
+            int length = Math.min(1 << shift, cells - (s << shift));
+            segments[s] = storage.allocate((long) length * Integer.BYTES).asIntBuffer();
+        }
+    }
+
+    @Override
+    public int getAt(int index) {
+        return segments[index >>> shift].get(index & mask);
+    }
+
+    @Override
+    public void setAt(int index, int value) {
+        segments[index >>> shift].put(index & mask, value);
+    }
+
+    @Override
+    public void fill(int value) {
+        for (IntBuffer segment : segments) {
+            for (int i = 0; i < segment.limit(); i++) {
+                segment.put(i, value);
+            }
+        }
+    }
+
+}
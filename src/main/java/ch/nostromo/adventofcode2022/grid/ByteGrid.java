@@ -0,0 +1,201 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Grid of unsigned byte cells (0 - 255), one byte per cell. Backed by a byte array on the heap or by a ByteBuffer,
+ * e.g. a direct or mapped buffer outside of the heap (see {@link GridStorage}). The two backings are separate
+ * subclasses, so cell access stays monomorphic as long as a program only uses one of them.
+ */
+public abstract class ByteGrid extends Grid {
+
+    ByteGrid(int width, int height, int padding) {
+        super(width, height, padding);
+    }
+
+    public static ByteGrid of(int width, int height) {
+        return padded(width, height, 0, 0);
+    }
+
+    public static ByteGrid padded(int width, int height, int padding, int fill) {
+        return allocate(width, height, padding, fill, GridStorage.HEAP);
+    }
+
+    public static ByteGrid allocate(int width, int height, int padding, int fill, GridStorage storage) {
+        ByteGrid grid;
+        if (storage == GridStorage.HEAP) {
+            grid = new HeapByteGrid(width, height, padding);
+        } else {
+            grid = new BufferByteGrid(width, height, padding, storage.allocate(capacity(width, height, padding)));
+        }
+
+        if (fill != 0) {
+            grid.fill(fill);
+        }
+        return grid;
+    }
+
+    /**
+     * Grid over the remaining bytes of the buffer, which must hold exactly width * height cells. The buffer is not
+     * copied.
+     */
+    public static ByteGrid wrap(ByteBuffer buffer, int width, int height) {
+        if (width < 0 || height < 0 || (long) width * height != buffer.remaining()) {
+            throw new IllegalArgumentException("Buffer size " + buffer.remaining() + " does not match " + width + "x" + height);
+        }
+        return new BufferByteGrid(width, height, 0, buffer.slice());
+    }
+
+    /**
+     * Grid with one cell per char, all lines must have the same length.
+     */
+    public static ByteGrid ofLines(List<InputLine> lines, CellMapper mapper, GridStorage storage) {
+        int width = lines.isEmpty() ? 0 : lines.get(0).length();
+        ByteGrid grid = allocate(width, lines.size(), 0, 0, storage);
+
+        byte[] row = new byte[width];
+        for (int y = 0; y < lines.size(); y++) {
+            grid.putLine(y, lines.get(y), mapper, row);
+        }
+
+        return grid;
+    }
+
+    /**
+     * Grid with one cell per char of the input, like {@link #ofLines}, but streamed from the input segments in two
+     * passes without a list of lines: one for the size, one for the cells.
+     */
+    public static ByteGrid ofInput(PuzzleInput input, CellMapper mapper, GridStorage storage) {
+        int[] width = {-1};
+        long[] height = {0};
+        input.forEachLine(line -> {
+            if (width[0] < 0) {
+                width[0] = line.length();
+            }
+            height[0]++;
+        });
+        if (height[0] > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large: " + height[0] + " lines");
+        }
+
+        ByteGrid grid = allocate(Math.max(width[0], 0), (int) height[0], 0, 0, storage);
+        byte[] row = new byte[grid.getWidth()];
+        int[] y = {0};
+        input.forEachLine(line -> grid.putLine(y[0]++, line, mapper, row));
+        return grid;
+    }
+
+    private void putLine(int y, InputLine line, CellMapper mapper, byte[] row) {
+        if (line.length() != width) {
+            throw new IllegalArgumentException("Line " + y + " has length " + line.length() + ", expected " + width);
+        }
+        for (int x = 0; x < width; x++) {
+            row[x] = (byte) mapper.map(line.byteAt(x));
+        }
+        putRow(y, row, 0);
+    }
+
+    public abstract boolean isOffHeap();
+
+    public int get(int x, int y) {
+        return getAt(index(x, y));
+    }
+
+    public void set(int x, int y, int value) {
+        setAt(index(x, y), value);
+    }
+
+    public abstract int getAt(int index);
+
+    public abstract void setAt(int index, int value);
+
+    /**
+     * Sets all cells, including the padding.
+     */
+    public abstract void fill(int value);
+
+    /**
+     * Index of the first visible cell with the given value in row-major order, -1 if there is none.
+     */
+    public int indexOf(int value) {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int index = index(x, y);
+                if (getAt(index) == value) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the visible cells of one row to out, starting at offset. A single bulk copy for all storages.
+     */
+    public abstract void copyRow(int y, byte[] out, int offset);
+
+    /**
+     * Sets the visible cells of one row from the bytes of row starting at offset.
+     */
+    public abstract void putRow(int y, byte[] row, int offset);
+
+    public Line row(int y) {
+        return new Line(index(0, y), 1, width);
+    }
+
+    public Line column(int x) {
+        return new Line(index(x, 0), stride, height);
+    }
+
+    /**
+     * New heap grid with rows and columns swapped, same padding.
+     */
+    public ByteGrid transpose() {
+        ByteGrid transposed = padded(height, width, padding, 0);
+        for (int y = -padding; y < height + padding; y++) {
+            for (int x = -padding; x < width + padding; x++) {
+                transposed.set(y, x, get(x, y));
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * View of a row or column, shares the cells with the grid.
+     */
+    public class Line {
+
+        private final int offset;
+        private final int step;
+        private final int length;
+
+        Line(int offset, int step, int length) {
+            this.offset = offset;
+            this.step = step;
+            this.length = length;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public int get(int i) {
+            return getAt(offset + i * step);
+        }
+
+        public void set(int i, int value) {
+            setAt(offset + i * step, value);
+        }
+
+    }
+
+    @FunctionalInterface
+    public interface CellMapper {
+        int map(byte c);
+    }
+
+}
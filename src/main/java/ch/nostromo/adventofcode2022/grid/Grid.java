@@ -0,0 +1,115 @@
+package ch.nostromo.adventofcode2022.grid;
+
+/**
+ * Dimensions and index arithmetic shared by the typed grids. Cells are stored row-major in one flat array and
+ * addressed either by (x, y) or directly by their index.
+ * <p>
+ * Padded grids keep a border of padding cells around the visible area. x and y range from -padding to
+ * width + padding - 1, so with a padding of at least one the neighbours of every visible cell can be read through
+ * {@link #getNeighbourOffsets()} without bounds checks.
+ */
+public abstract class Grid {
+
+    protected final int width;
+    protected final int height;
+    protected final int padding;
+    protected final int stride;
+
+    protected Grid(int width, int height, int padding) {
+        capacity(width, height, padding);
+
+        this.width = width;
+        this.height = height;
+        this.padding = padding;
+        this.stride = width + 2 * padding;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getPadding() {
+        return padding;
+    }
+
+    /**
+     * Distance between two vertically adjacent cells.
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * Number of stored cells, including the padding.
+     */
+    public int capacity() {
+        return stride * (height + 2 * padding);
+    }
+
+    /**
+     * Number of stored cells of a grid with the given size, fails if it does not fit into one array.
+     */
+    protected static int capacity(int width, int height, int padding) {
+        if (width < 0 || height < 0 || padding < 0) {
+            throw new IllegalArgumentException("Invalid grid size: " + width + "x" + height + ", padding " + padding);
+        }
+
+        long capacity = (width + 2L * padding) * (height + 2L * padding);
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Grid too large: " + width + "x" + height + ", padding " + padding);
+        }
+        return (int) capacity;
+    }
+
+    public int index(int x, int y) {
+        return (y + padding) * stride + x + padding;
+    }
+
+    public int x(int index) {
+        return index % stride - padding;
+    }
+
+    public int y(int index) {
+        return index / stride - padding;
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Index offsets of the four neighbours: up, down, left, right.
+     */
+    public int[] getNeighbourOffsets() {
+        return new int[]{-stride, stride, -1, 1};
+    }
+
+    /**
+     * Writes the indexes of the visible neighbours (up, down, left, right) of a visible cell into out, which needs
+     * room for four values. Returns the number of neighbours.
+     */
+    public int neighbours(int index, int[] out) {
+        int x = x(index);
+        int y = y(index);
+
+        int count = 0;
+        if (y > 0) {
+            out[count++] = index - stride;
+        }
+        if (y < height - 1) {
+            out[count++] = index + stride;
+        }
+        if (x > 0) {
+            out[count++] = index - 1;
+        }
+        if (x < width - 1) {
+            out[count++] = index + 1;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,82 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Where the cells of large grids live, selected at runtime with -Daoc.grid.storage=heap|direct|mapped.
+ * <ul>
+ * <li>HEAP: primitive arrays, the default</li>
+ * <li>DIRECT: direct ByteBuffers outside of the heap, limited by -XX:MaxDirectMemorySize</li>
+ * <li>MAPPED: memory mapped temporary files in aoc.grid.dir (default java.io.tmpdir), paged by the OS, so grids can
+ * be larger than the physical memory</li>
+ * </ul>
+ * Off-heap grids are not scanned by the GC. Every storage holds grids up to the cell limit of {@link Grid}, about 2^31
+ * cells or 46000 x 46000: byte cells fit into one buffer, int cells are split into buffers of 1 GB.
+ */
+public enum GridStorage {
+
+    HEAP, DIRECT, MAPPED;
+
+    public static final String PROPERTY = "aoc.grid.storage";
+    public static final String DIR_PROPERTY = "aoc.grid.dir";
+
+    public static GridStorage configured() {
+        String value = System.getProperty(PROPERTY, "heap");
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown grid storage: " + value, e);
+        }
+    }
+
+    /**
+     * Zeroed buffer in native byte order, only for the off-heap storages.
+     */
+    ByteBuffer allocate(long bytes) {
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid too large for one buffer: " + bytes + " bytes");
+        }
+
+        switch (this) {
+            case DIRECT:
+                return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+            case MAPPED:
+                return map(bytes).order(ByteOrder.nativeOrder());
+            default:
+                throw new IllegalStateException("Heap grids are backed by arrays");
+        }
+    }
+
+    private static MappedByteBuffer map(long bytes) {
+        try {
+            Path dir = Paths.get(System.getProperty(DIR_PROPERTY, System.getProperty("java.io.tmpdir")));
+            Path file = Files.createTempFile(dir, "grid-", ".bin");
+
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            }
+
+            // The mapping stays valid, the space is freed once the buffer is unmapped
+            try {
+                Files.delete(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to map grid file", e);
+        }
+    }
+
+}
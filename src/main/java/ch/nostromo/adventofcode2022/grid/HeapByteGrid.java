@@ -0,0 +1,44 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import java.util.Arrays;
+
+class HeapByteGrid extends ByteGrid {
+
+    private final byte[] cells;
+
+    HeapByteGrid(int width, int height, int padding) {
+        super(width, height, padding);
+        this.cells = new byte[capacity(width, height, padding)];
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return false;
+    }
+
+    @Override
+    public int getAt(int index) {
+        return cells[index] & 0xFF;
+    }
+
+    @Override
+    public void setAt(int index, int value) {
+        cells[index] = (byte) value;
+    }
+
+    @Override
+    public void fill(int value) {
+        Arrays.fill(cells, (byte) value);
+    }
+
+    @Override
+    public void copyRow(int y, byte[] out, int offset) {
+        System.arraycopy(cells, index(0, y), out, offset, width);
+    }
+
+    @Override
+    public void putRow(int y, byte[] row, int offset) {
+        System.arraycopy(row, offset, cells, index(0, y), width);
+    }
+
+}
@@ -0,0 +1,29 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import java.util.Arrays;
+
+class HeapIntGrid extends IntGrid {
+
+    private final int[] cells;
+
+    HeapIntGrid(int width, int height, int padding) {
+        super(width, height, padding);
+        this.cells = new int[capacity(width, height, padding)];
+    }
+
+    @Override
+    public int getAt(int index) {
+        return cells[index];
+    }
+
+    @Override
+    public void setAt(int index, int value) {
+        cells[index] = value;
+    }
+
+    @Override
+    public void fill(int value) {
+        Arrays.fill(cells, value);
+    }
+
+}
@@ -0,0 +1,102 @@
+package ch.nostromo.adventofcode2022.grid;
+
+/**
+ * Grid of int cells backed by one int array, or by IntBuffers of at most 1 GB each for the off-heap
+ * {@link GridStorage}s.
+ */
+public abstract class IntGrid extends Grid {
+
+    IntGrid(int width, int height, int padding) {
+        super(width, height, padding);
+    }
+
+    public static IntGrid of(int width, int height) {
+        return padded(width, height, 0, 0);
+    }
+
+    public static IntGrid padded(int width, int height, int padding, int fill) {
+        return allocate(width, height, padding, fill, GridStorage.HEAP);
+    }
+
+    public static IntGrid allocate(int width, int height, int padding, int fill, GridStorage storage) {
+        IntGrid grid;
+        if (storage == GridStorage.HEAP) {
+            grid = new HeapIntGrid(width, height, padding);
+        } else {
+            grid = new BufferIntGrid(width, height, padding, storage);
+        }
+
+        if (fill != 0) {
+            grid.fill(fill);
+        }
+        return grid;
+    }
+
+    public int get(int x, int y) {
+        return getAt(index(x, y));
+    }
+
+    public void set(int x, int y, int value) {
+        setAt(index(x, y), value);
+    }
+
+    public abstract int getAt(int index);
+
+    public abstract void setAt(int index, int value);
+
+    /**
+     * Sets all cells, including the padding.
+     */
+    public abstract void fill(int value);
+
+    public Line row(int y) {
+        return new Line(index(0, y), 1, width);
+    }
+
+    public Line column(int x) {
+        return new Line(index(x, 0), stride, height);
+    }
+
+    /**
+     * New grid with rows and columns swapped, same padding.
+     */
+    public IntGrid transpose() {
+        IntGrid transposed = padded(height, width, padding, 0);
+        for (int y = -padding; y < height + padding; y++) {
+            for (int x = -padding; x < width + padding; x++) {
+                transposed.set(y, x, get(x, y));
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * View of a row or column, shares the cells with the grid.
+     */
+    public class Line {
+
+        private final int offset;
+        private final int step;
+        private final int length;
+
+        Line(int offset, int step, int length) {
+            this.offset = offset;
+            this.step = step;
+            this.length = length;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public int get(int i) {
+            return getAt(offset + i * step);
+        }
+
+        public void set(int i, int value) {
+            setAt(offset + i * step, value);
+        }
+
+    }
+
+}
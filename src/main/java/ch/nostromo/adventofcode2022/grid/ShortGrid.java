@@ -0,0 +1,102 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import java.util.Arrays;
+
+/**
+ * Grid of signed 16 bit cells backed by one short array.
+ */
+public class ShortGrid extends Grid {
+
+    private final short[] cells;
+
+    private ShortGrid(int width, int height, int padding) {
+        super(width, height, padding);
+        this.cells = new short[capacity(width, height, padding)];
+    }
+
+    public static ShortGrid of(int width, int height) {
+        return new ShortGrid(width, height, 0);
+    }
+
+    public static ShortGrid padded(int width, int height, int padding, int fill) {
+        ShortGrid grid = new ShortGrid(width, height, padding);
+        if (fill != 0) {
+            grid.fill(fill);
+        }
+        return grid;
+    }
+
+    public int get(int x, int y) {
+        return cells[index(x, y)];
+    }
+
+    public void set(int x, int y, int value) {
+        cells[index(x, y)] = (short) value;
+    }
+
+    public int getAt(int index) {
+        return cells[index];
+    }
+
+    public void setAt(int index, int value) {
+        cells[index] = (short) value;
+    }
+
+    /**
+     * Sets all cells, including the padding.
+     */
+    public void fill(int value) {
+        Arrays.fill(cells, (short) value);
+    }
+
+    public Line row(int y) {
+        return new Line(index(0, y), 1, width);
+    }
+
+    public Line column(int x) {
+        return new Line(index(x, 0), stride, height);
+    }
+
+    /**
+     * New grid with rows and columns swapped, same padding.
+     */
+    public ShortGrid transpose() {
+        ShortGrid transposed = new ShortGrid(height, width, padding);
+        for (int y = -padding; y < height + padding; y++) {
+            for (int x = -padding; x < width + padding; x++) {
+                transposed.set(y, x, get(x, y));
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * View of a row or column, shares the cells with the grid.
+     */
+    public class Line {
+
+        private final int offset;
+        private final int step;
+        private final int length;
+
+        Line(int offset, int step, int length) {
+            this.offset = offset;
+            this.step = step;
+            this.length = length;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public int get(int i) {
+            return cells[offset + i * step];
+        }
+
+        public void set(int i, int value) {
+            cells[offset + i * step] = (short) value;
+        }
+
+    }
+
+}
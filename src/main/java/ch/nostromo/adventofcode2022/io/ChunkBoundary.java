@@ -0,0 +1,37 @@
+package ch.nostromo.adventofcode2022.io;
+
+/**
+ * Positions at which a {@link ChunkedSolver} may cut the input into chunks. Chunks always start at the beginning of a
+ * line.
+ */
+public final class ChunkBoundary {
+
+    /**
+     * Any line start.
+     */
+    public static final ChunkBoundary LINE = new ChunkBoundary(1, false);
+
+    /**
+     * Line starts following a blank line, so blocks separated by blank lines are never cut.
+     */
+    public static final ChunkBoundary BLANK_LINE = new ChunkBoundary(1, true);
+
+    final int groupSize;
+    final boolean afterBlankLine;
+
+    private ChunkBoundary(int groupSize, boolean afterBlankLine) {
+        this.groupSize = groupSize;
+        this.afterBlankLine = afterBlankLine;
+    }
+
+    /**
+     * Line starts whose line index is a multiple of the group size, for inputs made of groups of that many lines.
+     */
+    public static ChunkBoundary lineGroups(int groupSize) {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("Invalid group size: " + groupSize);
+        }
+        return new ChunkBoundary(groupSize, false);
+    }
+
+}
@@ -0,0 +1,156 @@
+package ch.nostromo.adventofcode2022.io;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Cuts an input into chunks of about equal size at the boundaries a {@link ChunkedSolver} asks for.
+ */
+final class ChunkSplitter {
+
+    private ChunkSplitter() {
+    }
+
+    /**
+     * Chunk bounds, chunk i runs from bounds[i] to bounds[i + 1]. The first bound is 0, the last the input size.
+     */
+    static long[] split(PuzzleInput input, ForkJoinPool pool, ChunkBoundary boundary, int chunks) {
+        long size = input.size();
+        long[] bounds = new long[chunks + 1];
+        for (int i = 1; i < chunks; i++) {
+            bounds[i] = input.nextLineStart(size / chunks * i);
+        }
+        bounds[chunks] = size;
+
+        if (boundary.afterBlankLine) {
+            for (int i = 1; i < chunks; i++) {
+                bounds[i] = afterBlankLine(input, bounds[i]);
+            }
+        }
+        if (boundary.groupSize > 1) {
+            alignToGroups(input, pool, bounds, boundary.groupSize);
+        }
+
+        return distinct(bounds);
+    }
+
+    private static long afterBlankLine(PuzzleInput input, long lineStart) {
+        if (followsBlankLine(input, lineStart)) {
+            return lineStart;
+        }
+        long current = lineStart;
+        while (current < input.size()) {
+            long next = input.nextLineStart(current + 1);
+            if (input.byteAt(current) == '\n' || next - current == 2 && input.byteAt(current) == '\r') {
+                return next;
+            }
+            current = next;
+        }
+        return input.size();
+    }
+
+    private static boolean followsBlankLine(PuzzleInput input, long lineStart) {
+        if (lineStart < 2) {
+            return lineStart == 1;
+        }
+        byte before = input.byteAt(lineStart - 2);
+        return before == '\n' || before == '\r' && (lineStart == 2 || input.byteAt(lineStart - 3) == '\n');
+    }
+
+    // Line numbers of the bounds are only known after counting the line breaks of all chunks before them
+    private static void alignToGroups(PuzzleInput input, ForkJoinPool pool, long[] bounds, int groupSize) {
+        long[] lineBreaks = new long[bounds.length - 1];
+        pool.invoke(new CountTask(input, bounds, lineBreaks, 0, lineBreaks.length));
+
+        long lineIndex = 0;
+        for (int i = 1; i < bounds.length - 1; i++) {
+            lineIndex += lineBreaks[i - 1];
+            long skip = (groupSize - lineIndex % groupSize) % groupSize;
+            for (long n = 0; n < skip; n++) {
+                bounds[i] = input.nextLineStart(bounds[i] + 1);
+            }
+        }
+    }
+
+    // Aligned bounds may have moved onto or past their successor
+    private static long[] distinct(long[] bounds) {
+        long[] result = new long[bounds.length];
+        int count = 1;
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] > result[count - 1]) {
+                result[count++] = bounds[i];
+            }
+        }
+        if (count == 1) {
+            result[count++] = bounds[bounds.length - 1];
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static class CountTask extends RecursiveAction {
+
+        private final PuzzleInput input;
+        private final long[] bounds;
+        private final long[] lineBreaks;
+        private final int from;
+        private final int to;
+
+        CountTask(PuzzleInput input, long[] bounds, long[] lineBreaks, int from, int to) {
+            this.input = input;
+            this.bounds = bounds;
+            this.lineBreaks = lineBreaks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    lineBreaks[i] = input.countLineBreaks(bounds[i], bounds[i + 1]);
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new CountTask(input, bounds, lineBreaks, from, middle), new CountTask(input, bounds, lineBreaks, middle, to));
+        }
+
+    }
+
+    static class SolveTask<P> extends RecursiveTask<P> {
+
+        private final PuzzleInput input;
+        private final ChunkedSolver<P> solver;
+        private final long[] bounds;
+        private final int from;
+        private final int to;
+
+        SolveTask(PuzzleInput input, ChunkedSolver<P> solver, long[] bounds, int from, int to) {
+            this.input = input;
+            this.solver = solver;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected P compute() {
+            if (to - from <= 1) {
+                P partial = solver.newPartial();
+                solver.acceptChunk(partial, input, bounds[from], bounds[to]);
+                return partial;
+            }
+
+            int middle = (from + to) >>> 1;
+            SolveTask<P> left = new SolveTask<>(input, solver, bounds, from, middle);
+            left.fork();
+            P right = new SolveTask<>(input, solver, bounds, middle, to).compute();
+            return solver.combine(left.join(), right);
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package ch.nostromo.adventofcode2022.io;
+
+import ch.nostromo.adventofcode2022.Answers;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solves both parts of a day on an input cut into chunks, which are processed in parallel. Each chunk is reduced to a
+ * partial result of its own, partial results of neighbouring chunks are combined in input order. Chunks are combined
+ * as a tree, so the combiner must be associative.
+ *
+ * @param <P> partial result of a run of consecutive chunks
+ */
+public interface ChunkedSolver<P> {
+
+    int MIN_CHUNK_SIZE = 1 << 20;
+
+    int CHUNKS_PER_THREAD = 4;
+
+    default ChunkBoundary getBoundary() {
+        return ChunkBoundary.LINE;
+    }
+
+    P newPartial();
+
+    /**
+     * Next line of the chunk. The view is reused, the buffer behind it stays valid as long as the input.
+     */
+    void accept(P partial, InputLine line);
+
+    /**
+     * All lines of the chunk from start to end, both line starts. Solvers parsing raw bytes override this, e.g. with
+     * {@link PuzzleInput#forEachSegment}, and may leave {@link #accept} to line by line callers.
+     */
+    default void acceptChunk(P partial, PuzzleInput input, long start, long end) {
+        input.forEachLine(start, end, line -> accept(partial, line));
+    }
+
+    /**
+     * Partial result of both chunk runs, the right one directly follows the left one. Both arguments may be reused.
+     */
+    P combine(P left, P right);
+
+    Answers finish(P partial);
+
+    /**
+     * Solves the input with a few chunks per thread of the pool, no chunk smaller than {@link #MIN_CHUNK_SIZE}.
+     */
+    static <P> Answers solve(PuzzleInput input, ForkJoinPool pool, ChunkedSolver<P> solver) {
+        return solve(input, pool, solver, chunkCount(input, pool));
+    }
+
+    /**
+     * Solves the input cut into at most the given number of chunks. There may be fewer if boundaries are far apart.
+     */
+    static <P> Answers solve(PuzzleInput input, ForkJoinPool pool, ChunkedSolver<P> solver, int chunks) {
+        return solver.finish(reduce(input, pool, solver, chunks));
+    }
+
+    /**
+     * Partial result of the whole input, for callers needing more than the answers.
+     */
+    static <P> P reduce(PuzzleInput input, ForkJoinPool pool, ChunkedSolver<P> solver, int chunks) {
+        long[] bounds = ChunkSplitter.split(input, pool, solver.getBoundary(), chunks);
+        return pool.invoke(new ChunkSplitter.SolveTask<>(input, solver, bounds, 0, bounds.length - 1));
+    }
+
+    /**
+     * Chunk count of {@link #solve(PuzzleInput, ForkJoinPool, ChunkedSolver)}: a few per thread of the pool, no chunk
+     * smaller than {@link #MIN_CHUNK_SIZE}.
+     */
+    static int chunkCount(PuzzleInput input, ForkJoinPool pool) {
+        long chunks = Math.min(input.size() / MIN_CHUNK_SIZE, (long) pool.getParallelism() * CHUNKS_PER_THREAD);
+        return (int) Math.max(1, chunks);
+    }
+
+}
@@ -0,0 +1,127 @@
+package ch.nostromo.adventofcode2022.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single line of a {@link PuzzleInput}, viewed as offset/length over the underlying buffer. No bytes are copied
+ * until {@link #toString()} is called. Puzzle inputs are plain ASCII, so every byte maps to exactly one char.
+ */
+public class InputLine implements CharSequence {
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+
+    public InputLine(ByteBuffer buffer, int offset, int length) {
+        set(buffer, offset, length);
+    }
+
+    /**
+     * Points this view at other bytes, e.g. to keep a line in a reused scratch buffer without a new view.
+     */
+    public InputLine set(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public byte byteAt(int index) {
+        return buffer.get(offset + index);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    @Override
+    public InputLine subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range: " + start + " - " + end + ", length: " + length);
+        }
+        return new InputLine(buffer, offset + start, end - start);
+    }
+
+    public InputLine subSequence(int start) {
+        return subSequence(start, length);
+    }
+
+    public int indexOf(char c) {
+        return indexOf(c, 0);
+    }
+
+    public int indexOf(char c, int fromIndex) {
+        for (int i = fromIndex; i < length; i++) {
+            if (buffer.get(offset + i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int indexOf(String str) {
+        for (int i = 0; i <= length - str.length(); i++) {
+            if (regionMatches(i, str)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean startsWith(String prefix) {
+        return prefix.length() <= length && regionMatches(0, prefix);
+    }
+
+    public boolean contentEquals(String str) {
+        return str.length() == length && regionMatches(0, str);
+    }
+
+    private boolean regionMatches(int start, String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (buffer.get(offset + start + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Line over a private copy of the bytes, for keeping a line after the underlying buffer is reused.
+     */
+    public InputLine copy() {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new InputLine(ByteBuffer.wrap(bytes), 0, length);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+}
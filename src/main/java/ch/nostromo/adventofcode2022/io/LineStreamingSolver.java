@@ -0,0 +1,76 @@
+package ch.nostromo.adventofcode2022.io;
+
+import ch.nostromo.adventofcode2022.Answers;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Streaming solver working line by line, with the same line semantics as {@link PuzzleInput#lines()}. A line split
+ * between two chunks is carried over in a buffer that only grows to the longest line seen.
+ */
+public abstract class LineStreamingSolver implements StreamingSolver {
+
+    private final InputLine line = new InputLine(null, 0, 0);
+    private ByteBuffer carry = ByteBuffer.allocate(256);
+
+    /**
+     * Next line. The view is reused and only valid for the duration of the call.
+     */
+    protected abstract void acceptLine(InputLine line);
+
+    protected abstract Answers result();
+
+    @Override
+    public void accept(ByteBuffer chunk) {
+        int lineStart = chunk.position();
+        int limit = chunk.limit();
+
+        for (int i = lineStart; i < limit; i++) {
+            if (chunk.get(i) == '\n') {
+                if (carry.position() > 0) {
+                    appendCarry(chunk, lineStart, i);
+                    emitCarry();
+                } else {
+                    emit(chunk, lineStart, i);
+                }
+                lineStart = i + 1;
+            }
+        }
+
+        if (lineStart < limit) {
+            appendCarry(chunk, lineStart, limit);
+        }
+    }
+
+    @Override
+    public Answers finish() {
+        if (carry.position() > 0) {
+            emitCarry();
+        }
+        return result();
+    }
+
+    private void emit(ByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        acceptLine(line.set(buffer, start, end - start));
+    }
+
+    private void emitCarry() {
+        emit(carry, 0, carry.position());
+        carry.clear();
+    }
+
+    private void appendCarry(ByteBuffer chunk, int start, int end) {
+        int length = end - start;
+        if (carry.remaining() < length) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(carry.capacity() * 2, carry.position() + length));
+            carry.flip();
+            grown.put(carry);
+            carry = grown;
+        }
+        carry.put(chunk.duplicate().limit(end).position(start));
+    }
+
+}
@@ -0,0 +1,341 @@
+package ch.nostromo.adventofcode2022.io;
+
+import ch.nostromo.adventofcode2022.simd.ByteKernels;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puzzle input backed by one or more byte buffers. Files on disk are memory mapped, resources packaged inside a jar
+ * are read into a heap buffer. Lines are exposed as {@link InputLine} views, so no String is created per line.
+ * <p>
+ * Large files are mapped in segments which always end on a line break, so a line never spans two segments.
+ */
+public class PuzzleInput {
+
+    static final int MAX_SEGMENT_SIZE = 1 << 30;
+    private static final int INITIAL_BUFFER_SIZE = 64 << 10;
+
+    private final ByteBuffer[] segments;
+    private final long[] segmentStarts;
+    private final long size;
+
+    private List<InputLine> lines;
+
+    PuzzleInput(ByteBuffer[] segments) {
+        this.segments = segments;
+        this.segmentStarts = new long[segments.length];
+
+        long start = 0;
+        for (int i = 0; i < segments.length; i++) {
+            segmentStarts[i] = start;
+            start += segments[i].limit();
+        }
+        this.size = start;
+    }
+
+    public static PuzzleInput ofResource(String name) throws IOException {
+        URL url = PuzzleInput.class.getClassLoader().getResource(name);
+        if (url == null) {
+            throw new IllegalArgumentException("Unknown resource: " + name);
+        }
+
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return of(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid resource: " + name, e);
+            }
+        }
+
+        // Packaged inside a jar, nothing to map
+        try (InputStream in = url.openStream()) {
+            return of(in);
+        }
+    }
+
+    /**
+     * Input from a file path, or from stdin for "-".
+     */
+    public static PuzzleInput open(String source) throws IOException {
+        if ("-".equals(source)) {
+            return of(Channels.newChannel(System.in));
+        }
+        return of(Paths.get(source));
+    }
+
+    /**
+     * Input given as first command line argument (path or "-"), the bundled resource otherwise.
+     */
+    public static PuzzleInput fromArgs(String[] args, String resource) throws IOException {
+        if (args.length > 0) {
+            return open(args[0]);
+        }
+        return ofResource(resource);
+    }
+
+    public static PuzzleInput of(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return of(channel, path.toString());
+        }
+    }
+
+    private static PuzzleInput of(FileChannel channel, String name) throws IOException {
+        long fileSize = channel.size();
+
+        List<ByteBuffer> segments = new ArrayList<>();
+        long position = channel.position();
+        while (position < fileSize) {
+            long length = Math.min(MAX_SEGMENT_SIZE, fileSize - position);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+            int segmentLength = (int) length;
+            if (position + length < fileSize) {
+                segmentLength = lastLineBreak(mapped) + 1;
+                if (segmentLength == 0) {
+                    throw new IllegalArgumentException("Line exceeds segment size at position " + position + ": " + name);
+                }
+            }
+
+            segments.add(mapped.limit(segmentLength).slice());
+            position += segmentLength;
+        }
+
+        return new PuzzleInput(segments.toArray(new ByteBuffer[0]));
+    }
+
+    /**
+     * Reads the channel to its end. File channels are memory mapped, anything else is read into heap segments which
+     * end on a line break like mapped ones.
+     */
+    public static PuzzleInput of(ReadableByteChannel channel) throws IOException {
+        if (channel instanceof FileChannel) {
+            return of((FileChannel) channel, "channel");
+        }
+        return read(channel, MAX_SEGMENT_SIZE);
+    }
+
+    static PuzzleInput read(ReadableByteChannel channel, int maxSegmentSize) throws IOException {
+        List<ByteBuffer> segments = new ArrayList<>();
+        ByteBuffer current = ByteBuffer.allocate(Math.min(maxSegmentSize, INITIAL_BUFFER_SIZE));
+        while (true) {
+            if (!current.hasRemaining()) {
+                if (current.capacity() < maxSegmentSize) {
+                    current = grow(current, (int) Math.min(maxSegmentSize, current.capacity() * 2L));
+                } else {
+                    current = cutSegment(current, segments);
+                }
+            }
+            if (channel.read(current) < 0) {
+                break;
+            }
+        }
+
+        current.flip();
+        if (current.hasRemaining() || segments.isEmpty()) {
+            segments.add(current);
+        }
+        return new PuzzleInput(segments.toArray(new ByteBuffer[0]));
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    // Moves everything up to the last line break of a full buffer into a segment, the rest into a new buffer that
+    // starts small again and grows like the first one
+    private static ByteBuffer cutSegment(ByteBuffer full, List<ByteBuffer> segments) {
+        full.flip();
+        int segmentLength = lastLineBreak(full) + 1;
+        if (segmentLength == 0) {
+            throw new IllegalArgumentException("Line exceeds segment size at segment " + segments.size());
+        }
+
+        int rest = full.limit() - segmentLength;
+        ByteBuffer next = ByteBuffer.allocate((int) Math.min(full.capacity(), Math.max(INITIAL_BUFFER_SIZE, rest * 2L)));
+        next.put(full.duplicate().position(segmentLength));
+        segments.add(full.limit(segmentLength).slice());
+        return next;
+    }
+
+    public static PuzzleInput of(InputStream in) throws IOException {
+        return of(in.readAllBytes());
+    }
+
+    public static PuzzleInput of(byte[] bytes) {
+        return new PuzzleInput(new ByteBuffer[]{ByteBuffer.wrap(bytes)});
+    }
+
+    /**
+     * Input over the remaining bytes of the buffer. The buffer is not copied, so it must not change while the input
+     * is in use.
+     */
+    public static PuzzleInput of(ByteBuffer buffer) {
+        return new PuzzleInput(new ByteBuffer[]{buffer.slice()});
+    }
+
+    private static int lastLineBreak(ByteBuffer buffer) {
+        for (int i = buffer.limit() - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public byte byteAt(long position) {
+        int segment = segmentOf(position);
+        return segments[segment].get((int) (position - segmentStarts[segment]));
+    }
+
+    /**
+     * SHA-256 over the raw input bytes.
+     */
+    public byte[] digest() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (ByteBuffer segment : segments) {
+                digest.update(segment.duplicate());
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private int segmentOf(long position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size);
+        }
+        int segment = segments.length - 1;
+        while (segmentStarts[segment] > position) {
+            segment--;
+        }
+        return segment;
+    }
+
+    /**
+     * All lines of the input. Same semantics as Files.readAllLines: a trailing line break does not produce an
+     * additional empty line.
+     */
+    public List<InputLine> lines() {
+        if (lines == null) {
+            List<InputLine> result = new ArrayList<>();
+            forEachLine(line -> result.add(new InputLine(line.getBuffer(), line.getOffset(), line.length())));
+            lines = result;
+        }
+        return lines;
+    }
+
+    /**
+     * Streams all lines without collecting them. The line view handed to the consumer is reused and only valid for
+     * the duration of the call.
+     */
+    public void forEachLine(LineConsumer consumer) {
+        forEachLine(0, size, consumer);
+    }
+
+    /**
+     * Streams the lines between two line starts, see {@link #nextLineStart(long)}.
+     */
+    public void forEachLine(long start, long end, LineConsumer consumer) {
+        InputLine line = new InputLine(null, 0, 0);
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer segment = segments[s];
+            int lineStart = offsetIn(s, start);
+            int limit = offsetIn(s, end);
+            for (int i = lineStart; i < limit; i++) {
+                if (segment.get(i) == '\n') {
+                    consumer.accept(line.set(segment, lineStart, lineLength(segment, lineStart, i)));
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < limit) {
+                consumer.accept(line.set(segment, lineStart, lineLength(segment, lineStart, limit)));
+            }
+        }
+    }
+
+    /**
+     * Hands the raw bytes between two line starts to the consumer, one call per segment they overlap. As segments end
+     * on a line break, no line is split between two calls.
+     */
+    public void forEachSegment(long start, long end, SegmentConsumer consumer) {
+        for (int s = 0; s < segments.length; s++) {
+            int from = offsetIn(s, start);
+            int to = offsetIn(s, end);
+            if (from < to) {
+                consumer.accept(segments[s], from, to);
+            }
+        }
+    }
+
+    /**
+     * Start of the first line at or after the position, the size of the input if there is none.
+     */
+    public long nextLineStart(long position) {
+        if (position <= 0) {
+            return 0;
+        }
+        long current = position;
+        while (current < size && byteAt(current - 1) != '\n') {
+            current++;
+        }
+        return Math.min(current, size);
+    }
+
+    /**
+     * Number of line breaks between the two positions.
+     */
+    public long countLineBreaks(long start, long end) {
+        long count = 0;
+        for (int s = 0; s < segments.length; s++) {
+            count += ByteKernels.get().count(segments[s], offsetIn(s, start), offsetIn(s, end), (byte) '\n');
+        }
+        return count;
+    }
+
+    // Position relative to the segment, clamped to its bounds
+    private int offsetIn(int segment, long position) {
+        return (int) Math.max(0, Math.min(segments[segment].limit(), position - segmentStarts[segment]));
+    }
+
+    private static int lineLength(ByteBuffer segment, int lineStart, int lineEnd) {
+        if (lineEnd > lineStart && segment.get(lineEnd - 1) == '\r') {
+            return lineEnd - lineStart - 1;
+        }
+        return lineEnd - lineStart;
+    }
+
+    @FunctionalInterface
+    public interface LineConsumer {
+        void accept(InputLine line);
+    }
+
+    @FunctionalInterface
+    public interface SegmentConsumer {
+        void accept(ByteBuffer segment, int from, int to);
+    }
+
+}
@@ -0,0 +1,40 @@
+package ch.nostromo.adventofcode2022.io;
+
+import ch.nostromo.adventofcode2022.Answers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Solves both parts of a day in one pass over the raw input, chunk by chunk, without holding the whole input in
+ * memory.
+ */
+public interface StreamingSolver {
+
+    int CHUNK_SIZE = 256 << 10;
+
+    /**
+     * Next bytes of the input, from position to limit. The buffer is reused after the call returns.
+     */
+    void accept(ByteBuffer chunk);
+
+    /**
+     * Called once after the last chunk.
+     */
+    Answers finish();
+
+    /**
+     * Feeds the channel to the solver until end of stream. The channel is not closed.
+     */
+    static Answers solve(ReadableByteChannel channel, StreamingSolver solver) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE);
+        while (channel.read(chunk) >= 0) {
+            chunk.flip();
+            solver.accept(chunk);
+            chunk.clear();
+        }
+        return solver.finish();
+    }
+
+}
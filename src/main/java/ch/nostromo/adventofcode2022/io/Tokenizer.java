@@ -0,0 +1,195 @@
+package ch.nostromo.adventofcode2022.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor over the bytes of an {@link InputLine}. Numbers, single chars and fixed keywords are read straight from the
+ * underlying buffer, no String or boxed value is created. A tokenizer is meant to be reused via {@link #reset(InputLine)}.
+ */
+public class Tokenizer {
+
+    private static final String[] SYMBOLS = new String[128];
+
+    static {
+        for (int i = 0; i < SYMBOLS.length; i++) {
+            SYMBOLS[i] = String.valueOf((char) i).intern();
+        }
+    }
+
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+    private int position;
+
+    public Tokenizer() {
+    }
+
+    public Tokenizer(InputLine line) {
+        reset(line);
+    }
+
+    public Tokenizer reset(InputLine line) {
+        this.buffer = line.getBuffer();
+        this.start = line.getOffset();
+        this.end = start + line.length();
+        this.position = start;
+        return this;
+    }
+
+    /**
+     * Shared single char String for an ASCII byte, e.g. a crate label or a strategy letter. Bytes above 127 are rejected
+     * rather than folded onto an ASCII char.
+     */
+    public static String symbol(byte b) {
+        if (b < 0) {
+            throw new IllegalArgumentException("Not an ASCII char: 0x" + Integer.toHexString(b & 0xFF));
+        }
+        return SYMBOLS[b];
+    }
+
+    public int position() {
+        return position - start;
+    }
+
+    public boolean hasMore() {
+        return position < end;
+    }
+
+    public byte peek() {
+        return buffer.get(position);
+    }
+
+    public char nextChar() {
+        if (position >= end) {
+            throw new IllegalArgumentException("Unexpected end of line at " + position());
+        }
+        return (char) (buffer.get(position++) & 0xFF);
+    }
+
+    public Tokenizer skip(int count) {
+        position = Math.min(end, position + count);
+        return this;
+    }
+
+    /**
+     * Consumes the keyword if the remaining input starts with it.
+     */
+    public boolean match(String keyword) {
+        if (keyword.length() > end - position) {
+            return false;
+        }
+        for (int i = 0; i < keyword.length(); i++) {
+            if (buffer.get(position + i) != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        position += keyword.length();
+        return true;
+    }
+
+    public Tokenizer expect(String keyword) {
+        if (!match(keyword)) {
+            throw new IllegalArgumentException("Expected '" + keyword + "' at " + position());
+        }
+        return this;
+    }
+
+    /**
+     * Skips anything up to the next (optionally signed) number and parses it.
+     */
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Int overflow at " + position());
+        }
+        return (int) value;
+    }
+
+    public long nextLong() {
+        while (position < end && !isNumberStart(position)) {
+            position++;
+        }
+        if (position >= end) {
+            throw new IllegalArgumentException("No number found at " + position());
+        }
+
+        boolean negative = false;
+        byte b = buffer.get(position);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            position++;
+        }
+
+        try {
+            long value = 0;
+            while (position < end) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = accumulate(value, digit);
+                position++;
+            }
+            return negative ? value : Math.negateExact(value);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Long overflow at " + position());
+        }
+    }
+
+    private boolean isNumberStart(int index) {
+        byte b = buffer.get(index);
+        if (b >= '0' && b <= '9') {
+            return true;
+        }
+        if ((b == '-' || b == '+') && index + 1 < end) {
+            byte next = buffer.get(index + 1);
+            return next >= '0' && next <= '9';
+        }
+        return false;
+    }
+
+    /**
+     * Parses the whole line as a single number.
+     */
+    public static int parseInt(InputLine line) {
+        long value = parseLong(line);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Int overflow: " + line);
+        }
+        return (int) value;
+    }
+
+    public static long parseLong(InputLine line) {
+        ByteBuffer buffer = line.getBuffer();
+        int position = line.getOffset();
+        int end = position + line.length();
+
+        boolean negative = position < end && buffer.get(position) == '-';
+        if (negative) {
+            position++;
+        }
+        if (position >= end) {
+            throw new IllegalArgumentException("Not a number: " + line);
+        }
+
+        try {
+            long value = 0;
+            for (; position < end; position++) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new IllegalArgumentException("Not a number: " + line);
+                }
+                value = accumulate(value, digit);
+            }
+            return negative ? value : Math.negateExact(value);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Long overflow: " + line);
+        }
+    }
+
+    // Digits are accumulated negated, so Long.MIN_VALUE is in range as well
+    private static long accumulate(long value, int digit) {
+        return Math.subtractExact(Math.multiplyExact(value, 10), digit);
+    }
+
+}
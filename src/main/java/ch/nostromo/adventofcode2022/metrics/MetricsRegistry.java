@@ -0,0 +1,110 @@
+package ch.nostromo.adventofcode2022.metrics;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named counters and latency histograms. Latencies are recorded in nanoseconds. Names are dotted, phases of a day
+ * are named like day08.parse, day08.part1, day08.part2, day08.solve (fused) and day08.output.
+ * <p>
+ * The registry can be exported as JSON or logged periodically as a single line.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public static String phase(int day, String phase) {
+        return String.format("day%02d.%s", day, phase);
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"counters\":{");
+
+        String separator = "";
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            json.append(separator).append('"').append(entry.getKey()).append("\":").append(entry.getValue().get());
+            separator = ",";
+        }
+
+        json.append("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            json.append(separator).append('"').append(entry.getKey()).append("\":{")
+                    .append("\"count\":").append(histogram.getCount())
+                    .append(",\"mean\":").append(String.format(Locale.ROOT, "%.1f", histogram.getMean()))
+                    .append(",\"p50\":").append(histogram.getPercentile(50))
+                    .append(",\"p90\":").append(histogram.getPercentile(90))
+                    .append(",\"p99\":").append(histogram.getPercentile(99))
+                    .append(",\"max\":").append(histogram.getMax())
+                    .append('}');
+            separator = ",";
+        }
+
+        return json.append("}}").toString();
+    }
+
+    public String toLogLine() {
+        StringBuilder line = new StringBuilder("metrics");
+
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            line.append(' ').append(entry.getKey()).append('=').append(entry.getValue().get());
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            line.append(String.format(Locale.ROOT, " %s=%d/p50:%.3fms/p99:%.3fms/max:%.3fms", entry.getKey(), histogram.getCount(),
+                    millis(histogram.getPercentile(50)), millis(histogram.getPercentile(99)), millis(histogram.getMax())));
+        }
+
+        return line.toString();
+    }
+
+    /**
+     * Prints the log line every period on a daemon thread until the returned executor is shut down.
+     */
+    public ScheduledExecutorService startLogging(long periodSeconds, PrintStream out) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> out.println(toLogLine()), periodSeconds, periodSeconds, TimeUnit.SECONDS);
+        return executor;
+    }
+
+    /**
+     * Starts logging to stderr if the system property aoc.metrics.interval (seconds) is set.
+     */
+    public ScheduledExecutorService startLoggingIfConfigured() {
+        Long interval = Long.getLong("aoc.metrics.interval");
+        if (interval == null || interval <= 0) {
+            return null;
+        }
+        return startLogging(interval, System.err);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+}
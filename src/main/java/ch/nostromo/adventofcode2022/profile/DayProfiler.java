@@ -0,0 +1,84 @@
+package ch.nostromo.adventofcode2022.profile;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs days inside a Java Flight Recorder session, one recording per day. The raw recording is kept as dayNN.jfr, the
+ * summary is written as dayNN.txt next to it.
+ * <p>
+ * Recordings see the whole JVM, so days must be profiled one after the other.
+ */
+public class DayProfiler {
+
+    static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+    static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+
+    private static final Duration SAMPLE_PERIOD = Duration.ofMillis(1);
+    private static final int TOP = 10;
+
+    private final Path dir;
+    private final List<ProfileReport> reports = new ArrayList<>();
+
+    public DayProfiler(Path dir) {
+        this.dir = dir;
+    }
+
+    public synchronized <R> R profile(int day, Supplier<R> action) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve(String.format("day%02d.jfr", day));
+
+        R result;
+        try (Recording recording = new Recording()) {
+            recording.setName(String.format("day%02d", day));
+            recording.enable(EXECUTION_SAMPLE).withPeriod(SAMPLE_PERIOD);
+            recording.enable(GARBAGE_COLLECTION);
+
+            // Throttled sampling since JDK 16, the TLAB events on older runtimes
+            if (isAvailable(ALLOCATION_SAMPLE)) {
+                recording.enable(ALLOCATION_SAMPLE).withStackTrace().with("throttle", "10000/s");
+            } else {
+                recording.enable(ALLOCATION_IN_NEW_TLAB).withStackTrace();
+                recording.enable(ALLOCATION_OUTSIDE_TLAB).withStackTrace();
+            }
+
+            recording.start();
+            result = action.get();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        ProfileReport report = ProfileReport.summarize(day, file, RecordingFile.readAllEvents(file), TOP);
+        Files.writeString(dir.resolve(String.format("day%02d.txt", day)), report.format());
+        reports.add(report);
+
+        return result;
+    }
+
+    public synchronized List<ProfileReport> getReports() {
+        return new ArrayList<>(reports);
+    }
+
+    private static boolean isAvailable(String eventName) {
+        for (EventType type : FlightRecorder.getFlightRecorder().getEventTypes()) {
+            if (type.getName().equals(eventName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,16 @@
+package ch.nostromo.adventofcode2022.profile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One line of a report section, e.g. an allocation site with its bytes or a method with its samples.
+ */
+@Data
+@AllArgsConstructor
+public class ProfileEntry {
+
+    String name;
+    long value;
+
+}
@@ -0,0 +1,196 @@
+package ch.nostromo.adventofcode2022.profile;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary of the flight recording of one day: top allocation sites, top hot methods and GC pauses.
+ * <p>
+ * Allocation sites are attributed to the first frame inside this project, so an ArrayList growing in Puzzle0902.move
+ * shows up there and not in ArrayList.grow. Hot methods count execution samples by their top frame (self time).
+ */
+@Data
+public class ProfileReport {
+
+    private static final String PROJECT_PACKAGE = Puzzle.class.getPackageName() + ".";
+
+    int day;
+    Path recording;
+
+    List<ProfileEntry> allocations = new ArrayList<>();
+    long allocatedBytes;
+
+    List<ProfileEntry> hotMethods = new ArrayList<>();
+    long executionSamples;
+
+    int gcCount;
+    long gcPauseNanos;
+    long gcMaxPauseNanos;
+
+    public static ProfileReport summarize(int day, Path recording, List<RecordedEvent> events, int top) {
+        ProfileReport report = new ProfileReport();
+        report.setDay(day);
+        report.setRecording(recording);
+
+        Map<String, Long> allocations = new HashMap<>();
+        Map<String, Long> hotMethods = new HashMap<>();
+
+        for (RecordedEvent event : events) {
+            switch (event.getEventType().getName()) {
+                case DayProfiler.ALLOCATION_SAMPLE:
+                    report.addAllocation(allocations, event, event.getLong("weight"));
+                    break;
+                case DayProfiler.ALLOCATION_IN_NEW_TLAB:
+                    report.addAllocation(allocations, event, event.getLong("tlabSize"));
+                    break;
+                case DayProfiler.ALLOCATION_OUTSIDE_TLAB:
+                    report.addAllocation(allocations, event, event.getLong("allocationSize"));
+                    break;
+                case DayProfiler.EXECUTION_SAMPLE:
+                    report.executionSamples++;
+                    hotMethods.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                    break;
+                case DayProfiler.GARBAGE_COLLECTION:
+                    long pause = event.getLong("sumOfPauses");
+                    report.gcCount++;
+                    report.gcPauseNanos += pause;
+                    report.gcMaxPauseNanos = Math.max(report.gcMaxPauseNanos, event.getLong("longestPause"));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        report.setAllocations(top(allocations, top));
+        report.setHotMethods(top(hotMethods, top));
+
+        return report;
+    }
+
+    private void addAllocation(Map<String, Long> allocations, RecordedEvent event, long bytes) {
+        String site = typeName(event.getClass("objectClass").getName()) + " at " + projectFrame(event.getStackTrace());
+        allocations.merge(site, bytes, Long::sum);
+        allocatedBytes += bytes;
+    }
+
+    private static List<ProfileEntry> top(Map<String, Long> counts, int top) {
+        List<ProfileEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            entries.add(new ProfileEntry(entry.getKey(), entry.getValue()));
+        }
+        entries.sort(Comparator.comparingLong(ProfileEntry::getValue).reversed().thenComparing(ProfileEntry::getName));
+        return new ArrayList<>(entries.subList(0, Math.min(top, entries.size())));
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<unknown>";
+        }
+        return format(stackTrace.getFrames().get(0));
+    }
+
+    private static String projectFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<unknown>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(PROJECT_PACKAGE)) {
+                return format(frame);
+            }
+        }
+        return topFrame(stackTrace);
+    }
+
+    private static String format(RecordedFrame frame) {
+        String method = simpleName(frame.getMethod().getType().getName()) + "." + frame.getMethod().getName();
+        if (frame.getLineNumber() > 0) {
+            return method + ":" + frame.getLineNumber();
+        }
+        return method;
+    }
+
+    // Descriptors like [[I or [Ljava.lang.Object; as readable names
+    private static String typeName(String className) {
+        int dimensions = 0;
+        while (className.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+        if (dimensions == 0) {
+            return simpleName(className);
+        }
+
+        String element;
+        switch (className.charAt(dimensions)) {
+            case 'Z':
+                element = "boolean";
+                break;
+            case 'B':
+                element = "byte";
+                break;
+            case 'C':
+                element = "char";
+                break;
+            case 'S':
+                element = "short";
+                break;
+            case 'I':
+                element = "int";
+                break;
+            case 'J':
+                element = "long";
+                break;
+            case 'F':
+                element = "float";
+                break;
+            case 'D':
+                element = "double";
+                break;
+            default:
+                element = simpleName(className.substring(dimensions + 1, className.length() - 1));
+        }
+        return element + "[]".repeat(dimensions);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    public String format() {
+        StringBuilder text = new StringBuilder();
+        String newLine = System.lineSeparator();
+
+        text.append(String.format("Day %02d  recording %s", day, recording)).append(newLine);
+
+        text.append(String.format("  Top allocation sites (%.1f MB sampled)", allocatedBytes / 1_048_576d)).append(newLine);
+        for (ProfileEntry entry : allocations) {
+            text.append(String.format("    %10.1f MB  %5.1f%%  %s", entry.getValue() / 1_048_576d,
+                    percent(entry.getValue(), allocatedBytes), entry.getName())).append(newLine);
+        }
+
+        text.append(String.format("  Hot methods (%d samples)", executionSamples)).append(newLine);
+        for (ProfileEntry entry : hotMethods) {
+            text.append(String.format("    %10d     %5.1f%%  %s", entry.getValue(),
+                    percent(entry.getValue(), executionSamples), entry.getName())).append(newLine);
+        }
+
+        text.append(String.format("  GC pauses: %d collections, %.3f ms total, %.3f ms max",
+                gcCount, gcPauseNanos / 1_000_000d, gcMaxPauseNanos / 1_000_000d)).append(newLine);
+
+        return text.toString();
+    }
+
+    private static double percent(long value, long total) {
+        return total == 0 ? 0 : value * 100d / total;
+    }
+
+}
@@ -1,10 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0101;
 
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
 
 
@@ -49,32 +49,47 @@ import java.util.List;
  */
 public class Puzzle0101 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0101.class.getClassLoader().getResource("0101/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        long[] elves = parse(PuzzleInput.fromArgs(args, "0101/input.txt"));
 
+        System.out.println("Solution: " + solve(elves));
 
-        int highestCalories = Integer.MIN_VALUE;
-        int currentCalories = 0;
+    }
 
+    public static long solve(long[] elves) {
+        long highestCalories = Long.MIN_VALUE;
 
-        for (String line : input) {
-            if (line.isEmpty()) {
-                if (currentCalories > highestCalories) {
-                    highestCalories = currentCalories;
-                }
-                currentCalories = 0;
-            } else {
-                currentCalories += Integer.valueOf(line);
+        for (long calories : elves) {
+            if (calories > highestCalories) {
+                highestCalories = calories;
             }
         }
 
-        if (currentCalories > highestCalories) {
-            highestCalories = currentCalories;
+        return highestCalories;
+    }
+
+    public static long[] parse(PuzzleInput input) {
+        List<InputLine> lines = input.lines();
+
+        int elfCount = 1;
+        for (InputLine line : lines) {
+            if (line.isEmpty()) {
+                elfCount++;
+            }
         }
 
+        long[] elves = new long[elfCount];
+        int currentElf = 0;
 
-        System.out.println("Solution: " + highestCalories);
+        for (InputLine line : lines) {
+            if (line.isEmpty()) {
+                currentElf++;
+            } else {
+                elves[currentElf] += Tokenizer.parseLong(line);
+            }
+        }
 
+        return elves;
     }
 
 }
@@ -1,13 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0102;
 
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 
 /**
@@ -64,31 +61,65 @@ import java.util.List;
  */
 public class Puzzle0102 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0102.class.getClassLoader().getResource("0101/input.txt").toURI()), Charset.defaultCharset());
+    /**
+     * Usage: Puzzle0102 [input|-] [k], with k the ranking of the top k elves is printed as well.
+     */
+    public static void main(String... args) throws IOException {
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        TopK top = topElves(PuzzleInput.fromArgs(args, "0101/input.txt"), k);
 
+        if (args.length > 1) {
+            int rank = 1;
+            for (TopK.RankedElf elf : top.ranked()) {
+                System.out.println(rank++ + ". Elf " + elf.getElf() + ": " + elf.getCalories());
+            }
+        }
+        System.out.println("Solution: " + top.sum());
 
-        List<Integer> elves = new ArrayList<>();
+    }
 
-        int currentCalories = 0;
+    public static long solve(long[] calories) {
+        TopK top = new TopK(3);
 
+        for (int i = 0; i < calories.length; i++) {
+            top.offer(i + 1, calories[i]);
+        }
+
+        return top.sum();
+    }
+
+    /**
+     * The k elves carrying the most calories, summed while the lines are streamed. Only the heap is kept in memory.
+     */
+    public static TopK topElves(PuzzleInput input, int k) {
+        ElfTotals totals = new ElfTotals(new TopK(k));
+        input.forEachLine(totals::accept);
+        totals.finish();
+        return totals.top;
+    }
 
-        for (String line : input) {
+    private static class ElfTotals {
+
+        private final TopK top;
+        private long elf = 1;
+        private long current;
+
+        ElfTotals(TopK top) {
+            this.top = top;
+        }
+
+        void accept(InputLine line) {
             if (line.isEmpty()) {
-                elves.add(currentCalories);
-                currentCalories = 0;
+                top.offer(elf++, current);
+                current = 0;
             } else {
-                currentCalories += Integer.valueOf(line);
+                current += Tokenizer.parseLong(line);
             }
         }
 
-        elves.add(currentCalories);
-
-        Collections.sort(elves, Collections.reverseOrder());
-
-        int result = elves.get(0) + elves.get(1) + elves.get(2);
-
-        System.out.println("Solution: " + result);
+        void finish() {
+            top.offer(elf, current);
+        }
 
     }
 
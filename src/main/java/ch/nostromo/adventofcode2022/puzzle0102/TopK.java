@@ -0,0 +1,143 @@
+package ch.nostromo.adventofcode2022.puzzle0102;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The k highest calorie totals offered so far with the number of their elf, in a primitive min-heap on two parallel
+ * arrays. Memory stays O(k) no matter how many elves are offered, a total below the current k-th costs one compare.
+ * <p>
+ * Ties are broken by the elf number, the earlier elf ranks higher. Results are therefore independent of the order in
+ * which totals are offered or heaps are merged.
+ */
+public class TopK {
+
+    @Data
+    @AllArgsConstructor
+    public static class RankedElf {
+        // Position of the elf in the input, the first elf is 1
+        long elf;
+
+        long calories;
+    }
+
+    private final long[] calories;
+    private final long[] elves;
+    private int size;
+
+    public TopK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Invalid k: " + k);
+        }
+        this.calories = new long[k];
+        this.elves = new long[k];
+    }
+
+    public int getK() {
+        return calories.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void offer(long elf, long total) {
+        if (size < calories.length) {
+            calories[size] = total;
+            elves[size] = elf;
+            siftUp(size++);
+        } else if (lower(calories[0], elves[0], total, elf)) {
+            calories[0] = total;
+            elves[0] = elf;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Offers all entries of the other heap, which is left unchanged.
+     */
+    public void merge(TopK other) {
+        merge(other, 0);
+    }
+
+    /**
+     * Offers all entries of the other heap with their elf numbers shifted by the offset, e.g. the number of elves before
+     * the chunk of input the other heap was filled from.
+     */
+    public void merge(TopK other, long elfOffset) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.elves[i] + elfOffset, other.calories[i]);
+        }
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += calories[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Entries from the highest total down.
+     */
+    public List<RankedElf> ranked() {
+        List<RankedElf> ranked = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ranked.add(new RankedElf(elves[i], calories[i]));
+        }
+        ranked.sort(Comparator.comparingLong(RankedElf::getCalories).reversed().thenComparingLong(RankedElf::getElf));
+        return ranked;
+    }
+
+    private void siftUp(int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!lower(calories[child], elves[child], calories[parent], elves[parent])) {
+                break;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        int parent = index;
+        while (true) {
+            int lowest = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < size && lower(calories[left], elves[left], calories[lowest], elves[lowest])) {
+                lowest = left;
+            }
+            if (right < size && lower(calories[right], elves[right], calories[lowest], elves[lowest])) {
+                lowest = right;
+            }
+            if (lowest == parent) {
+                return;
+            }
+            swap(parent, lowest);
+            parent = lowest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long total = calories[i];
+        calories[i] = calories[j];
+        calories[j] = total;
+        long elf = elves[i];
+        elves[i] = elves[j];
+        elves[j] = elf;
+    }
+
+    // Ranks below the other entry: fewer calories, or as many from a later elf
+    private static boolean lower(long total, long elf, long otherTotal, long otherElf) {
+        return total < otherTotal || total == otherTotal && elf > otherElf;
+    }
+
+}
@@ -1,13 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0201;
 
-import lombok.*;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
+import java.util.Arrays;
 
 
 /**
@@ -40,78 +37,71 @@ import java.util.List;
  */
 public class Puzzle0201 {
 
-    private final static String OPP_ROCK = "A";
-    private final static String OPP_PAPER = "B";
-    private final static String OPP_SCISSORS = "C";
+    // Points per round, indexed by opponent (A, B, C) * 3 + me (X, Y, Z): the shape (1, 2, 3) plus the outcome (0, 3, 6)
+    private static final int[] SCORES = {
+            1 + 3, 2 + 6, 3 + 0,
+            1 + 0, 2 + 3, 3 + 6,
+            1 + 6, 2 + 0, 3 + 3
+    };
 
+    public static void main(String... args) throws IOException {
+        byte[] rounds = parse(PuzzleInput.fromArgs(args, "0201/input.txt"));
 
-    private final static String ME_ROCK = "X";
-    private final static String ME_PAPER = "Y";
-    private final static String ME_SCISSORS = "Z";
-
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0201.class.getClassLoader().getResource("0201/input.txt").toURI()), Charset.defaultCharset());
-
-        int points = 0;
+        System.out.println("Solution: " + solve(rounds));
+    }
 
-        for (String line : input) {
-            String opponent = line.split(" ")[0];
-            String me = line.split(" ")[1];
+    public static long solve(byte[] rounds) {
+        long points = 0;
 
-            points += getPointsForSelection(me) + getPointsForGame(opponent, me);
+        for (byte round : rounds) {
+            points += SCORES[round];
         }
 
-        System.out.println("Solution: " + points);
+        return points;
+    }
+
+    public static int score(int round) {
+        return SCORES[round];
     }
 
-    private static int getPointsForGame(String opponent, String me) {
-
-        switch (opponent) {
-            case OPP_ROCK: {
-                switch (me) {
-                    case ME_PAPER:
-                        return 6;
-                    case ME_ROCK:
-                        return 3;
-                    case ME_SCISSORS:
-                        return 0;
-                }
-            }
-            case OPP_PAPER: {
-                switch (me) {
-                    case ME_PAPER:
-                        return 3;
-                    case ME_ROCK:
-                        return 0;
-                    case ME_SCISSORS:
-                        return 6;
-                }
-            }
-            case OPP_SCISSORS: {
-                switch (me) {
-                    case ME_PAPER:
-                        return 0;
-                    case ME_ROCK:
-                        return 6;
-                    case ME_SCISSORS:
-                        return 3;
-                }
-            }
+    /**
+     * Index 0 - 8 of a round from the bytes of both columns.
+     */
+    public static int round(byte opponent, byte instruction) {
+        int column1 = opponent - 'A';
+        int column2 = instruction - 'X';
+        if (column1 < 0 || column1 > 2 || column2 < 0 || column2 > 2) {
+            throw new IllegalArgumentException("Unknown round: " + (char) opponent + " " + (char) instruction);
+        }
+        return column1 * 3 + column2;
+    }
 
+    /**
+     * Index 0 - 8 of a round from a line, both columns separated by one space.
+     */
+    public static int round(InputLine line) {
+        if (line.length() != 3 || line.byteAt(1) != ' ') {
+            throw new IllegalArgumentException("Invalid round: " + line);
         }
-        throw new IllegalArgumentException("Unknown variables: opp: " + opponent + ", me: " + me);
+        return round(line.byteAt(0), line.byteAt(2));
     }
 
-    private static int getPointsForSelection(String selection) {
-        switch (selection) {
-            case ME_ROCK:
-                return 1;
-            case ME_PAPER:
-                return 2;
-            case ME_SCISSORS:
-                return 3;
+    /**
+     * One byte per round, the index into the score tables. Inputs with more rounds than fit into one array are rejected,
+     * the streaming and chunked solvers of day 2 score them without parsing.
+     */
+    public static byte[] parse(PuzzleInput input) {
+        long lines = input.countLineBreaks(0, input.size()) + 1;
+        if (lines > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many rounds: " + lines + " lines");
         }
-        throw new IllegalArgumentException("Unknown selection: " + selection);
+
+        byte[] rounds = new byte[(int) lines];
+        int[] count = new int[1];
+
+        input.forEachLine(line -> rounds[count[0]++] = (byte) round(line));
+
+        return Arrays.copyOf(rounds, count[0]);
     }
 
 }
@@ -1,11 +1,9 @@
 package ch.nostromo.adventofcode2022.puzzle0202;
 
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0201.Puzzle0201;
+
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
 
 
 /**
@@ -54,118 +52,33 @@ import java.util.List;
  */
 public class Puzzle0202 {
 
-    private final static String OPP_ROCK = "A";
-    private final static String OPP_PAPER = "B";
-    private final static String OPP_SCISSORS = "C";
-
-
-    private final static String ME_ROCK = "X";
-    private final static String ME_PAPER = "Y";
-    private final static String ME_SCISSORS = "Z";
-
-
-    private final static String OUTCOME_LOSE = "X";
-    private final static String OUTCOME_DRAW = "Y";
-    private final static String OUTCOME_WIN = "Z";
+    // Points per round, indexed by opponent (A, B, C) * 3 + outcome (X lose, Y draw, Z win): the shape played for the
+    // outcome (1, 2, 3) plus the outcome (0, 3, 6)
+    private static final int[] SCORES = {
+            3 + 0, 1 + 3, 2 + 6,
+            1 + 0, 2 + 3, 3 + 6,
+            2 + 0, 3 + 3, 1 + 6
+    };
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0202.class.getClassLoader().getResource("0201/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        byte[] rounds = Puzzle0201.parse(PuzzleInput.fromArgs(args, "0201/input.txt"));
 
-        int points = 0;
-
-        for (String line : input) {
-            String opponent = line.split(" ")[0];
-            String outcome = line.split(" ")[1];
-
-            String me = getMyMove(opponent, outcome);
-
-            points += getPointsForSelection(me) + getPointsForGame(opponent, me);
-
-        }
-
-        System.out.println("Solution: " + points);
+        System.out.println("Solution: " + solve(rounds));
 
     }
 
-    private static String getMyMove(String opponent, String outcome) {
+    public static long solve(byte[] rounds) {
+        long points = 0;
 
-        switch(outcome) {
-            case OUTCOME_WIN: {
-                switch(opponent) {
-                    case OPP_PAPER: return ME_SCISSORS;
-                    case OPP_ROCK: return ME_PAPER;
-                    case OPP_SCISSORS: return ME_ROCK;
-                }
-            }
-            case OUTCOME_DRAW: {
-                switch(opponent) {
-                    case OPP_PAPER: return ME_PAPER;
-                    case OPP_ROCK: return ME_ROCK;
-                    case OPP_SCISSORS: return ME_SCISSORS;
-                }
-            }
-            case OUTCOME_LOSE: {
-                switch(opponent) {
-                    case OPP_PAPER: return ME_ROCK;
-                    case OPP_ROCK: return ME_SCISSORS;
-                    case OPP_SCISSORS: return ME_PAPER;
-                }
-            }
+        for (byte round : rounds) {
+            points += SCORES[round];
         }
-        throw new IllegalArgumentException("Unknown variables: opp: " + opponent + ", outcome: " + outcome);
 
+        return points;
     }
 
-    private static int getPointsForGame(String opponent, String me) {
-
-        switch (opponent) {
-            case OPP_ROCK: {
-                switch (me) {
-                    case ME_PAPER:
-                        return 6;
-                    case ME_ROCK:
-                        return 3;
-                    case ME_SCISSORS:
-                        return 0;
-                }
-            }
-            case OPP_PAPER: {
-                switch (me) {
-                    case ME_PAPER:
-                        return 3;
-                    case ME_ROCK:
-                        return 0;
-                    case ME_SCISSORS:
-                        return 6;
-                }
-            }
-            case OPP_SCISSORS: {
-                switch (me) {
-                    case ME_PAPER:
-                        return 0;
-                    case ME_ROCK:
-                        return 6;
-                    case ME_SCISSORS:
-                        return 3;
-                }
-            }
-
-        }
-        throw new IllegalArgumentException("Unknown variables: opp: " + opponent + ", me: " + me);
-
-
-    }
-
-    private static int getPointsForSelection(String selection) {
-        switch (selection) {
-            case ME_ROCK:
-                return 1;
-            case ME_PAPER:
-                return 2;
-            case ME_SCISSORS:
-                return 3;
-        }
-        throw new IllegalArgumentException("Unknown selection: " + selection);
+    public static int score(int round) {
+        return SCORES[round];
     }
 
 }
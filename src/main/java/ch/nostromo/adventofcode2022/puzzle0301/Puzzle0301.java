@@ -1,10 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0301;
 
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.simd.ByteKernels;
+
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
 
 
@@ -42,24 +42,33 @@ import java.util.List;
  */
 public class Puzzle0301 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0301.class.getClassLoader().getResource("0301/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        List<InputLine> rucksacks = parse(PuzzleInput.fromArgs(args, "0301/input.txt"));
 
+        System.out.println("Solution: " + solve(rucksacks));
 
-        int result = 0;
+    }
 
-        for (String line : input) {
-            String firstCompartment = line.substring(0, line.length() / 2);
-            String secondCompartment = line.substring(line.length() / 2);
+    public static List<InputLine> parse(PuzzleInput input) {
+        return input.lines();
+    }
 
-            char c = getCommonChar(firstCompartment, secondCompartment);
-            int score = getScore(c);
+    public static long solve(List<InputLine> input) {
+        long result = 0;
 
-            result += score;
+        for (InputLine line : input) {
+            result += getPriority(line);
         }
 
-        System.out.println("Solution: " + result);
+        return result;
+    }
+
+    public static int getPriority(InputLine rucksack) {
+        InputLine firstCompartment = rucksack.subSequence(0, rucksack.length() / 2);
+        InputLine secondCompartment = rucksack.subSequence(rucksack.length() / 2);
 
+        char c = getCommonChar(firstCompartment, secondCompartment);
+        return getScore(c);
     }
 
     private static int getScore(char c) {
@@ -71,12 +80,10 @@ public class Puzzle0301 {
     }
 
 
-    private static char getCommonChar(String first, String second) {
-        for (char c : first.toCharArray()) {
-            if (second.indexOf(c) != -1) {
-                return c;
-            }
-
+    private static char getCommonChar(InputLine first, InputLine second) {
+        int c = ByteKernels.get().firstCommon(first, second);
+        if (c != -1) {
+            return (char) c;
         }
         throw new IllegalArgumentException("No common char for 1: " + first + " and 2: " + second);
     }
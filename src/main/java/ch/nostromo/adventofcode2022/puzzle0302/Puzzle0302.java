@@ -1,10 +1,11 @@
 package ch.nostromo.adventofcode2022.puzzle0302;
 
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.simd.ByteKernels;
+import ch.nostromo.adventofcode2022.puzzle0301.Puzzle0301;
+
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
 
 
@@ -71,29 +72,39 @@ import java.util.List;
  */
 public class Puzzle0302 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0302.class.getClassLoader().getResource("0301/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        List<InputLine> rucksacks = Puzzle0301.parse(PuzzleInput.fromArgs(args, "0301/input.txt"));
 
-        int result = 0;
-        int count = 0;
+        System.out.println("Solution: " + solve(rucksacks));
 
-        while (count < input.size()) {
-            String firstCompartment = input.get(count);
-            String secondCompartment = input.get(count + 1);
-            String thirdCompartment = input.get(count + 2);
+    }
 
-            count += 3;
+    public static long solve(List<InputLine> input) {
+        checkGroups(input.size());
 
-            char c = getCommonChar(firstCompartment, secondCompartment, thirdCompartment);
-            int score = getScore(c);
+        long result = 0;
+        int count = 0;
 
-            result += score;
+        while (count < input.size()) {
+            result += getBadgePriority(input.get(count), input.get(count + 1), input.get(count + 2));
+            count += 3;
+        }
 
+        return result;
+    }
 
+    /**
+     * Rejects a rucksack count that leaves the last group incomplete.
+     */
+    public static void checkGroups(long rucksacks) {
+        if (rucksacks % 3 != 0) {
+            throw new IllegalArgumentException("Incomplete group: " + rucksacks + " rucksacks, not a multiple of 3");
         }
+    }
 
-        System.out.println("Solution: " + result);
-
+    public static int getBadgePriority(InputLine first, InputLine second, InputLine third) {
+        char c = getCommonChar(first, second, third);
+        return getScore(c);
     }
 
     private static int getScore(char c) {
@@ -105,12 +116,10 @@ public class Puzzle0302 {
     }
 
 
-    private static char getCommonChar(String first, String second, String third) {
-        for (char c : first.toCharArray()) {
-            if (second.indexOf(c) != -1 && third.indexOf(c) != -1) {
-                return c;
-            }
-
+    private static char getCommonChar(InputLine first, InputLine second, InputLine third) {
+        int c = ByteKernels.get().firstCommon(first, second, third);
+        if (c != -1) {
+            return (char) c;
         }
         throw new IllegalArgumentException("No common char for 1: " + first + " and 2: " + second);
     }
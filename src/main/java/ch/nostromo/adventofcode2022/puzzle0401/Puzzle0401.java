@@ -1,10 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0401;
 
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.temporal.ValueRange;
 import java.util.List;
 
@@ -53,23 +53,53 @@ import java.util.List;
  */
 public class Puzzle0401 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0401/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        int[] sections = parse(PuzzleInput.fromArgs(args, "0401/input.txt"));
+
+        System.out.println("Solution: " + solve(sections));
 
-        int result = 0;
+    }
 
-        for (String line : input) {
-            ValueRange range1 = ValueRange.of(Integer.valueOf(line.split(",")[0].split("-")[0]), Integer.valueOf(line.split(",")[0].split("-")[1]));
-            ValueRange range2 = ValueRange.of(Integer.valueOf(line.split(",")[1].split("-")[0]), Integer.valueOf(line.split(",")[1].split("-")[1]));
+    public static long solve(int[] sections) {
+        long result = 0;
 
-            if (isRedundant(range1, range2)) {
+        for (int i = 0; i < sections.length; i += 4) {
+            if (isRedundant(sections, i)) {
                 result++;
             }
+        }
+
+        return result;
+    }
+
+    /**
+     * Section assignments as flat array, four values (from1, to1, from2, to2) per pair.
+     */
+    public static int[] parse(PuzzleInput input) {
+        List<InputLine> lines = input.lines();
+        int[] sections = new int[lines.size() * 4];
+
+        Tokenizer tokenizer = new Tokenizer();
+        for (int i = 0; i < lines.size(); i++) {
+            tokenizer.reset(lines.get(i));
 
+            sections[i * 4] = tokenizer.nextInt();
+            sections[i * 4 + 1] = tokenizer.expect("-").nextInt();
+            sections[i * 4 + 2] = tokenizer.expect(",").nextInt();
+            sections[i * 4 + 3] = tokenizer.expect("-").nextInt();
         }
 
-        System.out.println("Solution: " + result);
+        return sections;
+    }
+
+    /**
+     * Checks the pair starting at the given offset of the flat section array.
+     */
+    public static boolean isRedundant(int[] sections, int offset) {
+        ValueRange range1 = ValueRange.of(sections[offset], sections[offset + 1]);
+        ValueRange range2 = ValueRange.of(sections[offset + 2], sections[offset + 3]);
 
+        return isRedundant(range1, range2);
     }
 
     private static boolean isRedundant(ValueRange range1, ValueRange range2) {
@@ -1,14 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0402;
 
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
 import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.temporal.ValueRange;
-import java.util.List;
 
 
 /**
@@ -72,23 +68,33 @@ import java.util.List;
  */
 public class Puzzle0402 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0401/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        int[] sections = Puzzle0401.parse(PuzzleInput.fromArgs(args, "0401/input.txt"));
 
-        int result = 0;
+        System.out.println("Solution: " + solve(sections));
 
-        for (String line : input) {
-            ValueRange range1 = ValueRange.of(Integer.valueOf(line.split(",")[0].split("-")[0]), Integer.valueOf(line.split(",")[0].split("-")[1]));
-            ValueRange range2 = ValueRange.of(Integer.valueOf(line.split(",")[1].split("-")[0]), Integer.valueOf(line.split(",")[1].split("-")[1]));
+    }
+
+    public static long solve(int[] sections) {
+        long result = 0;
 
-            if (isRedundant(range1, range2)) {
+        for (int i = 0; i < sections.length; i += 4) {
+            if (isOverlapping(sections, i)) {
                 result++;
             }
-
         }
 
-        System.out.println("Solution: " + result);
+        return result;
+    }
+
+    /**
+     * Checks the pair starting at the given offset of the flat section array.
+     */
+    public static boolean isOverlapping(int[] sections, int offset) {
+        ValueRange range1 = ValueRange.of(sections[offset], sections[offset + 1]);
+        ValueRange range2 = ValueRange.of(sections[offset + 2], sections[offset + 3]);
 
+        return isRedundant(range1, range2);
     }
 
     private static boolean isRedundant(ValueRange range1, ValueRange range2) {
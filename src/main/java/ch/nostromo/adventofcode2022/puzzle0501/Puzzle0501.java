@@ -1,13 +1,13 @@
 package ch.nostromo.adventofcode2022.puzzle0501;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.time.temporal.ValueRange;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
 
@@ -66,16 +66,29 @@ import java.util.Stack;
  */
 public class Puzzle0501 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0501/input.txt").toURI()), Charset.defaultCharset());
+    @Data
+    @AllArgsConstructor
+    public static class Procedure {
+        // Crates per stack, bottom first
+        List<List<String>> stacks;
 
-        int height = 8;
-        int width = 9;
+        // Three values (count, from, to) per move, stacks zero based
+        int[] moves;
+    }
+
+    public static void main(String... args) throws IOException {
+        Procedure procedure = parse(PuzzleInput.fromArgs(args, "0501/input.txt"));
 
-        Stack<String>[] stacks = readStacks(input, height, width);
+        System.out.println("Solution: " + solve(procedure));
+
+    }
 
-        for (int i = height + 2; i < input.size(); i++) {
-            computeOrder(stacks, input.get(i));
+    public static String solve(Procedure procedure) {
+        Stack<String>[] stacks = createStacks(procedure);
+
+        int[] moves = procedure.getMoves();
+        for (int i = 0; i < moves.length; i += 3) {
+            computeOrder(stacks, moves[i], moves[i + 1], moves[i + 2]);
         }
 
         String solution = "";
@@ -83,43 +96,76 @@ public class Puzzle0501 {
             solution += stack.peek();
         }
 
-        System.out.println("Solution: " + solution);
-
+        return solution;
     }
 
-    private static void computeOrder(Stack<String>[] stacks, String order) {
-        int count = Integer.valueOf(order.substring(5, order.indexOf("from") -1));
-        int from = Integer.valueOf(order.substring(order.indexOf("from") +5, order.indexOf("to") -1)) -1;
-        int to = Integer.valueOf(order.substring(order.indexOf("to") +3)) -1;
-
+    private static void computeOrder(Stack<String>[] stacks, int count, int from, int to) {
         for (int i = 0; i < count; i++) {
             stacks[to].push(stacks[from].pop());
         }
     }
 
-    private static Stack<String>[] readStacks(List<String> lines, int height, int width) {
-        Stack<String>[] result = new Stack[width];
+    public static Stack<String>[] createStacks(Procedure procedure) {
+        Stack<String>[] result = new Stack[procedure.getStacks().size()];
 
-        for (int i = 0; i < width; i++) {
+        for (int i = 0; i < result.length; i++) {
             Stack<String> col = new Stack<>();
+            col.addAll(procedure.getStacks().get(i));
+            result[i] = col;
+        }
+
+        return result;
+    }
+
+    public static Procedure parse(PuzzleInput input) {
+        List<InputLine> lines = input.lines();
+
+        // Drawing ends with the stack numbers, followed by a blank line
+        int height = 0;
+        while (!lines.get(height + 1).isEmpty()) {
+            height++;
+        }
+        int width = (lines.get(height).length() + 2) / 4;
+
+        List<List<String>> stacks = readStacks(lines, height, width);
+
+        int[] moves = new int[(lines.size() - height - 2) * 3];
+        Tokenizer tokenizer = new Tokenizer();
+        for (int i = height + 2; i < lines.size(); i++) {
+            readOrder(tokenizer.reset(lines.get(i)), moves, (i - height - 2) * 3);
+        }
+
+        return new Procedure(stacks, moves);
+    }
+
+    private static void readOrder(Tokenizer order, int[] moves, int pos) {
+        moves[pos] = order.expect("move ").nextInt();
+        moves[pos + 1] = order.expect(" from ").nextInt() -1;
+        moves[pos + 2] = order.expect(" to ").nextInt() -1;
+    }
+
+    private static List<List<String>> readStacks(List<InputLine> lines, int height, int width) {
+        List<List<String>> result = new ArrayList<>();
+
+        for (int i = 0; i < width; i++) {
+            List<String> col = new ArrayList<>();
             for (int x = height - 1; x >= 0; x--) {
                 String crate = readCharAtPos(lines.get(x), i * 4 + 1);
                 if (!crate.isBlank()) {
-                    col.push(crate);
+                    col.add(crate);
                 }
             }
-            result[i] = col;
+            result.add(col);
         }
 
         return result;
     }
 
-    private static String readCharAtPos(String line, int pos) {
-        try {
-            return line.substring(pos, pos + 1);
-        } catch (StringIndexOutOfBoundsException ignore) {
+    private static String readCharAtPos(InputLine line, int pos) {
+        if (pos >= line.length()) {
             return "";
         }
+        return Tokenizer.symbol(line.byteAt(pos));
     }
 
 }
@@ -1,13 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0502;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0501.Puzzle0501;
+import ch.nostromo.adventofcode2022.puzzle0501.Puzzle0501.Procedure;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
 import java.util.Stack;
 
 
@@ -111,16 +108,19 @@ import java.util.Stack;
  */
 public class Puzzle0502 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0501/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        Procedure procedure = Puzzle0501.parse(PuzzleInput.fromArgs(args, "0501/input.txt"));
 
-        int height = 8;
-        int width = 9;
+        System.out.println("Solution: " + solve(procedure));
 
-        Stack<String>[] stacks = readStacks(input, height, width);
+    }
+
+    public static String solve(Procedure procedure) {
+        Stack<String>[] stacks = Puzzle0501.createStacks(procedure);
 
-        for (int i = height + 2; i < input.size(); i++) {
-            computeOrder(stacks, input.get(i));
+        int[] moves = procedure.getMoves();
+        for (int i = 0; i < moves.length; i += 3) {
+            computeOrder(stacks, moves[i], moves[i + 1], moves[i + 2]);
         }
 
         String solution = "";
@@ -128,15 +128,10 @@ public class Puzzle0502 {
             solution += stack.peek();
         }
 
-        System.out.println("Solution: " + solution);
-
+        return solution;
     }
 
-    private static void computeOrder(Stack<String>[] stacks, String order) {
-        int count = Integer.valueOf(order.substring(5, order.indexOf("from") - 1));
-        int from = Integer.valueOf(order.substring(order.indexOf("from") + 5, order.indexOf("to") - 1)) - 1;
-        int to = Integer.valueOf(order.substring(order.indexOf("to") + 3)) - 1;
-
+    private static void computeOrder(Stack<String>[] stacks, int count, int from, int to) {
         Stack<String> tempStack = new Stack<>();
 
         for (int i = 0; i < count; i++) {
@@ -148,29 +143,4 @@ public class Puzzle0502 {
 
     }
 
-    private static Stack<String>[] readStacks(List<String> lines, int height, int width) {
-        Stack<String>[] result = new Stack[width];
-
-        for (int i = 0; i < width; i++) {
-            Stack<String> col = new Stack<>();
-            for (int x = height - 1; x >= 0; x--) {
-                String crate = readCharAtPos(lines.get(x), i * 4 + 1);
-                if (!crate.isBlank()) {
-                    col.push(crate);
-                }
-            }
-            result[i] = col;
-        }
-
-        return result;
-    }
-
-    private static String readCharAtPos(String line, int pos) {
-        try {
-            return line.substring(pos, pos + 1);
-        } catch (StringIndexOutOfBoundsException ignore) {
-            return "";
-        }
-    }
-
 }
@@ -1,15 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0601;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.Arrays;
 
 
 /**
@@ -45,24 +40,56 @@ import java.util.Set;
  */
 public class Puzzle0601 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        String line = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0601/input.txt").toURI()), Charset.defaultCharset()).get(0);
+    public static void main(String... args) throws IOException {
+        InputLine line = parse(PuzzleInput.fromArgs(args, "0601/input.txt"));
 
-        int blockSize = 4;
+        System.out.println("Solution: " + solve(line));
 
-        for (int i = 0; i < line.length() - blockSize; i++) {
-            Set<String> block = new HashSet<>();
+    }
+
+    public static InputLine parse(PuzzleInput input) {
+        return input.lines().get(0);
+    }
+
+    public static int solve(InputLine line) {
+        return findMarker(line, 4);
+    }
 
-            for (int x = 0; x < blockSize; x++) {
-                block.add(line.substring(i + x, i + x + 1));
+    public static int findMarker(InputLine line, int blockSize) {
+        return findMarkers(line, blockSize)[0];
+    }
+
+    /**
+     * Finds the markers for all block sizes in a single scan. Tracks the longest run of distinct chars ending at the
+     * current position, so no set of the chars in the window is built.
+     */
+    public static int[] findMarkers(InputLine line, int... blockSizes) {
+        int[] markers = new int[blockSizes.length];
+        int[] lastSeen = new int[256];
+        Arrays.fill(lastSeen, -1);
+
+        int found = 0;
+        int runStart = 0;
+        for (int i = 0; i < line.length() - 1 && found < blockSizes.length; i++) {
+            int c = line.byteAt(i) & 0xFF;
+            runStart = Math.max(runStart, lastSeen[c] + 1);
+            lastSeen[c] = i;
+
+            for (int n = 0; n < blockSizes.length; n++) {
+                if (markers[n] == 0 && i - runStart + 1 >= blockSizes[n]) {
+                    markers[n] = i + 1;
+                    found++;
+                }
             }
+        }
 
-            if (block.size() == blockSize) {
-                System.out.println("Solution: " + (i + blockSize));
-                break;
+        for (int n = 0; n < blockSizes.length; n++) {
+            if (markers[n] == 0) {
+                throw new IllegalArgumentException("No marker of size " + blockSizes[n] + " found");
             }
         }
 
+        return markers;
     }
 
 
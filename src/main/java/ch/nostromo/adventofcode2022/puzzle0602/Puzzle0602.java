@@ -1,14 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0602;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0601.Puzzle0601;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.HashSet;
-import java.util.Set;
 
 
 /**
@@ -60,24 +56,15 @@ import java.util.Set;
  */
 public class Puzzle0602 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        String line = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0601/input.txt").toURI()), Charset.defaultCharset()).get(0);
+    public static void main(String... args) throws IOException {
+        InputLine line = Puzzle0601.parse(PuzzleInput.fromArgs(args, "0601/input.txt"));
 
-        int blockSize = 14;
+        System.out.println("Solution: " + solve(line));
 
-        for (int i = 0; i < line.length() - blockSize; i++) {
-            Set<String> block = new HashSet<>();
-
-            for (int x = 0; x < blockSize; x++) {
-                block.add(line.substring(i + x, i + x + 1));
-            }
-
-            if (block.size() == blockSize) {
-                System.out.println("Solution: " + (i + blockSize));
-                break;
-            }
-        }
+    }
 
+    public static int solve(InputLine line) {
+        return Puzzle0601.findMarker(line, 14);
     }
 
 
@@ -1,12 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0701;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
@@ -91,37 +89,50 @@ import java.util.TreeMap;
  */
 public class Puzzle0701 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        Queue<String> queue = new LinkedList(Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0701/input.txt").toURI()), Charset.defaultCharset()));
+    public static void main(String... args) throws IOException {
+        Map<String, Long> directories = parse(PuzzleInput.fromArgs(args, "0701/input.txt"));
 
-        Map<String, Integer> directories = new TreeMap<>();
-
-        queue.poll();
-        readSubdirectory(directories, queue, "/");
+        System.out.println("Solution: " + solve(directories));
+    }
 
-        int solution = 0;
-        for (Map.Entry<String, Integer> entry : directories.entrySet()) {
+    public static long solve(Map<String, Long> directories) {
+        long solution = 0;
+        for (Map.Entry<String, Long> entry : directories.entrySet()) {
             if (entry.getValue() <= 100000) {
                 solution += entry.getValue();
             }
         }
 
-        System.out.println("Solution: " + solution);
+        return solution;
+    }
+
+    /**
+     * Total size per directory, keyed by full path. The root directory is "/".
+     */
+    public static Map<String, Long> parse(PuzzleInput input) {
+        Queue<InputLine> queue = new LinkedList<>(input.lines());
+
+        Map<String, Long> directories = new TreeMap<>();
+
+        queue.poll();
+        readSubdirectory(directories, queue, new Tokenizer(), "/");
+
+        return directories;
     }
 
-    private static long readSubdirectory(Map<String, Integer> directories, Queue<String> queue, String directoryName) {
-        int currentDirectorySize = 0;
+    private static long readSubdirectory(Map<String, Long> directories, Queue<InputLine> queue, Tokenizer tokenizer, String directoryName) {
+        long currentDirectorySize = 0;
         while (true) {
-            String line = queue.poll();
-            if (line == null || line.equals("$ cd ..")) {
+            InputLine line = queue.poll();
+            if (line == null || line.contentEquals("$ cd ..")) {
                 directories.put(directoryName, currentDirectorySize);
                 return currentDirectorySize;
             } else if (line.startsWith("$ cd")) {
-                currentDirectorySize += readSubdirectory(directories, queue, directoryName + "/" + line.substring(5));
+                currentDirectorySize += readSubdirectory(directories, queue, tokenizer, directoryName + "/" + line.subSequence(5));
             } else if (line.startsWith("dir") || line.startsWith("$ ls")) {
                 // ignore
             } else {
-                currentDirectorySize += Integer.valueOf(line.substring(0, line.indexOf(" ")));
+                currentDirectorySize += tokenizer.reset(line).nextLong();
             }
         }
     }
@@ -1,16 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0702;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0701.Puzzle0701;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
-import java.util.TreeMap;
 
 
 /**
@@ -114,41 +108,24 @@ import java.util.TreeMap;
  */
 public class Puzzle0702 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        Queue<String> queue = new LinkedList(Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0701/input.txt").toURI()), Charset.defaultCharset()));
+    public static void main(String... args) throws IOException {
+        Map<String, Long> directories = Puzzle0701.parse(PuzzleInput.fromArgs(args, "0701/input.txt"));
 
-        Map<String, Integer> directories = new TreeMap<>();
-
-        queue.poll();
+        System.out.println("Solution: " + solve(directories));
+    }
 
-        int totalUsedSpace = readSubdirectory(directories, queue, "/");
-        int toMakeFree = 30000000 - (70000000 - totalUsedSpace);
+    public static long solve(Map<String, Long> directories) {
+        long totalUsedSpace = directories.get("/");
+        long toMakeFree = 30000000 - (70000000 - totalUsedSpace);
 
-        int solution = Integer.MAX_VALUE;
-        for (Map.Entry<String, Integer> entry : directories.entrySet()) {
+        long solution = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : directories.entrySet()) {
             if (entry.getValue() >= toMakeFree && entry.getValue() < solution) {
                 solution = entry.getValue();
             }
         }
 
-        System.out.println("Solution: " + solution);
-    }
-
-    private static int readSubdirectory(Map<String, Integer> directories, Queue<String> queue, String directoryName) {
-        int currentDirectorySize = 0;
-        while (true) {
-            String line = queue.poll();
-            if (line == null || line.equals("$ cd ..")) {
-                directories.put(directoryName, currentDirectorySize);
-                return currentDirectorySize;
-            } else if (line.startsWith("$ cd")) {
-                currentDirectorySize += readSubdirectory(directories, queue, directoryName + "/" + line.substring(5));
-            } else if (line.startsWith("dir") || line.startsWith("$ ls")) {
-                // ignore
-            } else {
-                currentDirectorySize += Integer.valueOf(line.substring(0, line.indexOf(" ")));
-            }
-        }
+        return solution;
     }
 
 
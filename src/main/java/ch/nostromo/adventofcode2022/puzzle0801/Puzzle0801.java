@@ -1,13 +1,12 @@
 package ch.nostromo.adventofcode2022.puzzle0801;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.grid.ByteGrid;
+import ch.nostromo.adventofcode2022.grid.GridStorage;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.simd.ByteKernels;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
+import java.util.Arrays;
 
 
 /**
@@ -42,82 +41,179 @@ import java.util.List;
  */
 public class Puzzle0801 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0801/input.txt").toURI()), Charset.defaultCharset());
+    private static final int HEIGHTS = 10;
 
-        int height = input.size();
-        int width = input.get(0).length();
+    // Rows are read in bands of about this many cells
+    private static final int BAND_SIZE = 1 << 20;
 
-        int[][] forrest = createForrest(input, height, width);
-        int solution = countVisibleTrees(forrest, height, width);
+    public static void main(String... args) throws IOException {
+        ByteGrid forrest = parse(PuzzleInput.fromArgs(args, "0801/input.txt"));
 
-        System.out.println("Solution: " + solution);
+        System.out.println("Solution: " + solve(forrest));
 
 
     }
 
-    private static int countVisibleTrees(int[][] forrest, int height, int width) {
-        int result = 0;
+    public static int solve(ByteGrid forrest) {
+        return (int) scan(forrest, false)[0];
+    }
 
-        for (int heightIdx = 0; heightIdx < height; heightIdx++) {
-            for (int widthIdx = 0; widthIdx < width; widthIdx++) {
-                if (heightIdx == 0 || heightIdx == height - 1 || widthIdx == 0 || widthIdx == height - 1) {
-                    result++;
-                } else {
+    /**
+     * Visible trees and the highest scenic score of part two, both from the same passes over the grid.
+     */
+    public static long[] solveBoth(ByteGrid forrest) {
+        return scan(forrest, true);
+    }
 
-                    boolean north = true;
-                    for (int i = heightIdx -1; i >= 0; i--) {
-                        if (forrest[i][widthIdx] >= forrest[heightIdx][widthIdx]) {
-                            north = false;
-                        }
-                    }
+    /**
+     * Visible trees in two linear passes over the rows. The grid is read band by band with bulk copies, apart from the
+     * band only per column state is kept, so this works on grids far larger than the heap.
+     * <p>
+     * A tree is visible from the south if no tree below is at least as high, i.e. if it is in the last row of its
+     * column holding a tree of at least its height. The first pass collects these rows per column and height, the
+     * second pass checks all four directions with running maxima.
+     * <p>
+     * With scenic scores, the second pass also keeps the last column and row holding a tree of at least each height,
+     * which give the viewing distances to the west and north. Distances to the east are taken from the row in the
+     * band, the view to the south is walked down the column until the first tree at least as high.
+     */
+    private static long[] scan(ByteGrid forrest, boolean scenic) {
+        int height = forrest.getHeight();
+        int width = forrest.getWidth();
+        if (height == 0 || width == 0) {
+            return new long[]{0, 0};
+        }
 
-                    boolean south = true;
-                    for (int i = heightIdx +1; i < height; i++) {
-                        if (forrest[i][widthIdx] >= forrest[heightIdx][widthIdx]) {
-                            south = false;
-                        }
-                    }
+        int bandRows = Math.min(height, Math.max(1, BAND_SIZE / width));
+        byte[] band = new byte[bandRows * width];
 
-                    boolean west = true;
-                    for (int i = widthIdx -1; i >= 0; i--) {
-                        if (forrest[heightIdx][i] >= forrest[heightIdx][widthIdx]) {
-                            west = false;
-                        }
+        int[] lastRowAtLeast = new int[width * HEIGHTS];
+        for (int bandStart = 0; bandStart < height; bandStart += bandRows) {
+            int rows = readBand(forrest, bandStart, bandRows, band);
+
+            for (int r = 0; r < rows; r++) {
+                for (int widthIdx = 0; widthIdx < width; widthIdx++) {
+                    int tree = band[r * width + widthIdx];
+                    for (int level = 0; level <= tree; level++) {
+                        lastRowAtLeast[widthIdx * HEIGHTS + level] = bandStart + r;
                     }
+                }
+            }
+        }
+
+        ByteKernels kernels = ByteKernels.get();
+        byte[] northMax = new byte[width];
+        Arrays.fill(northMax, (byte) -1);
+        boolean[] visibleFromNorth = new boolean[width];
+        boolean[] visibleFromEast = new boolean[width];
+
+        int[] northAtLeast = scenic ? new int[width * HEIGHTS] : null;
+        int[] westAtLeast = new int[HEIGHTS];
+        int[] eastAtLeast = new int[HEIGHTS];
+        int[] eastDistance = scenic ? new int[width] : null;
+
+        long visibleTrees = 0;
+        long bestScenicScore = 0;
+        for (int bandStart = 0; bandStart < height; bandStart += bandRows) {
+            int rows = readBand(forrest, bandStart, bandRows, band);
+
+            for (int r = 0; r < rows; r++) {
+                int heightIdx = bandStart + r;
+                int row = r * width;
 
-                    boolean east = true;
-                    for (int i = widthIdx +1 ; i < width; i++) {
-                        if (forrest[heightIdx][i] >= forrest[heightIdx][widthIdx]) {
-                            east = false;
+                kernels.exceedsMax(band, row, northMax, visibleFromNorth, width);
+
+                int eastMax = -1;
+                if (scenic) {
+                    Arrays.fill(eastAtLeast, width - 1);
+                }
+                for (int widthIdx = width - 1; widthIdx >= 0; widthIdx--) {
+                    int tree = band[row + widthIdx];
+                    visibleFromEast[widthIdx] = tree > eastMax;
+                    eastMax = Math.max(eastMax, tree);
+
+                    if (scenic) {
+                        eastDistance[widthIdx] = eastAtLeast[tree] - widthIdx;
+                        for (int level = 0; level <= tree; level++) {
+                            eastAtLeast[level] = widthIdx;
                         }
                     }
+                }
+
+                int westMax = -1;
+                if (scenic) {
+                    Arrays.fill(westAtLeast, 0);
+                }
+                for (int widthIdx = 0; widthIdx < width; widthIdx++) {
+                    int tree = band[row + widthIdx];
 
-                    if (north || south|| west || east) {
-                        result++;
+                    boolean visible = tree > westMax || visibleFromNorth[widthIdx] || visibleFromEast[widthIdx]
+                            || lastRowAtLeast[widthIdx * HEIGHTS + tree] == heightIdx;
+                    if (visible) {
+                        visibleTrees++;
                     }
 
+                    westMax = Math.max(westMax, tree);
+
+                    if (scenic) {
+                        int column = widthIdx * HEIGHTS;
+                        if (heightIdx > 0 && heightIdx < height - 1 && widthIdx > 0 && widthIdx < width - 1) {
+                            long score = (long) (heightIdx - northAtLeast[column + tree])
+                                    * (widthIdx - westAtLeast[tree]) * eastDistance[widthIdx];
+                            // The south view is only walked if it can still beat the best score
+                            if (score * (height - 1 - heightIdx) > bestScenicScore) {
+                                bestScenicScore = Math.max(bestScenicScore,
+                                        score * southDistance(forrest, widthIdx, heightIdx, tree));
+                            }
+                        }
+                        for (int level = 0; level <= tree; level++) {
+                            northAtLeast[column + level] = heightIdx;
+                            westAtLeast[level] = widthIdx;
+                        }
+                    }
                 }
             }
         }
 
+        return new long[]{visibleTrees, bestScenicScore};
+    }
 
-        return result;
+    private static int southDistance(ByteGrid forrest, int widthIdx, int heightIdx, int tree) {
+        int stride = forrest.getStride();
+        int last = forrest.getHeight() - 1;
+        int index = forrest.index(widthIdx, heightIdx);
 
+        int distance = 1;
+        for (int i = heightIdx + 1; i < last; i++) {
+            index += stride;
+            if (forrest.getAt(index) >= tree) {
+                break;
+            }
+            distance++;
+        }
+        return distance;
     }
 
+    private static int readBand(ByteGrid forrest, int bandStart, int bandRows, byte[] band) {
+        int rows = Math.min(bandRows, forrest.getHeight() - bandStart);
+        for (int r = 0; r < rows; r++) {
+            forrest.copyRow(bandStart + r, band, r * forrest.getWidth());
+        }
+        return rows;
+    }
 
-    private static int[][] createForrest(List<String> lines, int height, int width) {
-        int[][] forrest = new int[height][width];
+    /**
+     * Tree heights, one byte per tree, in the configured {@link GridStorage}.
+     */
+    public static ByteGrid parse(PuzzleInput input) {
+        return ByteGrid.ofInput(input, Puzzle0801::getTreeHeight, GridStorage.configured());
+    }
 
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
-            for (int n = 0; n < line.length(); n++) {
-                forrest[i][n] = Integer.valueOf(line.substring(n, n + 1));
-            }
+    private static int getTreeHeight(byte c) {
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Unknown tree height: " + (char) c);
         }
-
-        return forrest;
+        return c - '0';
     }
 
 
@@ -1,13 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle0802;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.grid.ByteGrid;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle0801.Puzzle0801;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
 
 
 /**
@@ -81,89 +78,79 @@ import java.util.List;
  */
 public class Puzzle0802 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0801/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        ByteGrid forrest = Puzzle0801.parse(PuzzleInput.fromArgs(args, "0801/input.txt"));
 
-        int height = input.size();
-        int width = input.get(0).length();
+        System.out.println("Solution: " + solve(forrest));
 
-        int[][] forrest = createForrest(input, height, width);
-        int solution = countVisibleTrees(forrest, height, width);
-
-        System.out.println("Solution: " + solution);
 
+    }
 
+    public static long solve(ByteGrid forrest) {
+        return getBestScenicScore(forrest, forrest.getHeight(), forrest.getWidth());
     }
 
-    private static int countVisibleTrees(int[][] forrest, int height, int width) {
-        int result = 0;
+    private static long getBestScenicScore(ByteGrid forrest, int height, int width) {
+        long result = 0;
 
         for (int heightIdx = 1; heightIdx < height - 1; heightIdx++) {
             for (int widthIdx = 1; widthIdx < width - 1; widthIdx++) {
-
-
-                int northDistance = 1;
-                for (int i = heightIdx - 1; i >0 ; i--) {
-                    if (forrest[i][widthIdx] >= forrest[heightIdx][widthIdx]) {
-                        break;
-                    }
-                    northDistance++;
-
-                }
-
-                int southDitstance = 1;
-                for (int i = heightIdx + 1; i < height -1; i++) {
-                    if (forrest[i][widthIdx] >= forrest[heightIdx][widthIdx]) {
-                        break;
-                    }
-                    southDitstance++;
-                }
-
-                int westDistance = 1;
-                for (int i = widthIdx - 1; i > 0; i--) {
-                    if (forrest[heightIdx][i] >= forrest[heightIdx][widthIdx]) {
-                        break;
-                    }
-                    westDistance++;
-
-                }
-
-                int eastDistance = 1;
-                for (int i = widthIdx + 1; i < width -1; i++) {
-                    if (forrest[heightIdx][i] >= forrest[heightIdx][widthIdx]) {
-                        break;
-                    }
-
-                    eastDistance++;
-                }
-
-                int scenicScore  = northDistance * southDitstance * eastDistance * westDistance;
+                long scenicScore = getScenicScore(forrest, heightIdx, widthIdx);
 
                 if (scenicScore > result) {
                     result = scenicScore;
-
+                }
             }
         }
-    }
-
 
         return result;
+    }
 
-}
+    /**
+     * Scenic score of an inner tree, border trees are not scored.
+     */
+    private static long getScenicScore(ByteGrid forrest, int heightIdx, int widthIdx) {
+        int height = forrest.getHeight();
+        int width = forrest.getWidth();
+
+        int stride = forrest.getStride();
+        int tree = forrest.get(widthIdx, heightIdx);
+        int column = forrest.index(widthIdx, 0);
+        int row = forrest.index(0, heightIdx);
+
+        int northDistance = 1;
+        for (int i = heightIdx - 1; i >0 ; i--) {
+            if (forrest.getAt(column + i * stride) >= tree) {
+                break;
+            }
+            northDistance++;
+        }
 
+        int southDitstance = 1;
+        for (int i = heightIdx + 1; i < height -1; i++) {
+            if (forrest.getAt(column + i * stride) >= tree) {
+                break;
+            }
+            southDitstance++;
+        }
 
-    private static int[][] createForrest(List<String> lines, int height, int width) {
-        int[][] forrest = new int[height][width];
+        int westDistance = 1;
+        for (int i = widthIdx - 1; i > 0; i--) {
+            if (forrest.getAt(row + i) >= tree) {
+                break;
+            }
+            westDistance++;
+        }
 
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
-            for (int n = 0; n < line.length(); n++) {
-                forrest[i][n] = Integer.valueOf(line.substring(n, n + 1));
+        int eastDistance = 1;
+        for (int i = widthIdx + 1; i < width -1; i++) {
+            if (forrest.getAt(row + i) >= tree) {
+                break;
             }
+            eastDistance++;
         }
 
-        return forrest;
+        return (long) northDistance * southDitstance * eastDistance * westDistance;
     }
 
-
 }
@@ -1,15 +1,13 @@
 package ch.nostromo.adventofcode2022.puzzle0901;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
 import com.sun.source.tree.Tree;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.*;
 
 
@@ -264,49 +262,82 @@ public class Puzzle0901 {
         int y;
     }
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0901/input.txt").toURI()), Charset.defaultCharset());
+    @Data
+    @AllArgsConstructor
+    public static class Motion {
+        char command;
+        int steps;
+    }
+
+    public static void main(String... args) throws IOException {
+        List<Motion> motions = parse(PuzzleInput.fromArgs(args, "0901/input.txt"));
+
+        System.out.println("Solution: " + solve(motions));
+
+    }
+
+    public static List<Motion> parse(PuzzleInput input) {
+        List<Motion> motions = new ArrayList<>();
+
+        Tokenizer tokenizer = new Tokenizer();
+        for (InputLine line : input.lines()) {
+            tokenizer.reset(line);
+            motions.add(new Motion(tokenizer.nextChar(), tokenizer.nextInt()));
+        }
 
+        return motions;
+    }
 
-        Set<Coordinates> visitedCoordinates = new LinkedHashSet<>();
+    public static int solve(List<Motion> motions) {
+        Simulation simulation = new Simulation();
 
-        Coordinates currentHead = new Coordinates(0, 0);
-        Coordinates currentTail = new Coordinates(0, 0);
+        for (Motion motion : motions) {
+            simulation.apply(motion.getCommand(), motion.getSteps());
+        }
 
+        return simulation.getVisitedCount();
+    }
 
-        visitedCoordinates.add(new Coordinates(0, 0));
+    /**
+     * Rope state, motions can also be applied one by one while streaming the input.
+     */
+    public static class Simulation {
 
+        private final Set<Coordinates> visitedCoordinates = new LinkedHashSet<>();
 
-        for (String line : input) {
+        private final Coordinates currentHead = new Coordinates(0, 0);
+        private final Coordinates currentTail = new Coordinates(0, 0);
 
-            String command = line.split(" ")[0];
-            int steps = Integer.valueOf(line.split(" ")[1]);
+        public Simulation() {
+            visitedCoordinates.add(new Coordinates(0, 0));
+        }
 
+        public void apply(char command, int steps) {
             switch (command) {
-                case "U": {
+                case 'U': {
                     move(visitedCoordinates, currentHead, currentTail, false, 1, steps);
                     break;
                 }
-                case "D": {
+                case 'D': {
                     move(visitedCoordinates, currentHead, currentTail, false, -1, steps);
                     break;
                 }
-                case "R": {
+                case 'R': {
                     move(visitedCoordinates, currentHead, currentTail, true, 1, steps);
                     break;
                 }
-                case "L": {
+                case 'L': {
                     move(visitedCoordinates, currentHead, currentTail, true, -1, steps);
                     break;
                 }
-
+                default:
+                    throw new IllegalArgumentException("Unknown command: " + command);
             }
-
         }
 
-        int solution = visitedCoordinates.size();
-
-        System.out.println("Solution: " + solution);
+        public int getVisitedCount() {
+            return visitedCoordinates.size();
+        }
 
     }
 
@@ -1,14 +1,15 @@
 package ch.nostromo.adventofcode2022.puzzle0902;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.metrics.Counter;
+import ch.nostromo.adventofcode2022.metrics.MetricsRegistry;
+import ch.nostromo.adventofcode2022.puzzle0901.Puzzle0901;
+import ch.nostromo.adventofcode2022.puzzle0901.Puzzle0901.Motion;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -694,6 +695,8 @@ import java.util.Set;
  */
 public class Puzzle0902 {
 
+    private static final Counter TAIL_MOVES = MetricsRegistry.global().counter("day09.tail.moves");
+
     @Data
     @AllArgsConstructor
     private static class Coordinates {
@@ -701,57 +704,73 @@ public class Puzzle0902 {
         int y;
     }
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("0901/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        List<Motion> motions = Puzzle0901.parse(PuzzleInput.fromArgs(args, "0901/input.txt"));
 
+        System.out.println("Solution: " + solve(motions));
+
+    }
 
-        Set<Coordinates> visitedCoordinates = new LinkedHashSet<>();
+    public static int solve(List<Motion> motions) {
+        Simulation simulation = new Simulation();
 
-        List<Coordinates> rope = new ArrayList<>();
-        for (int i = 0; i < 10; i++) {
-            rope.add(new Coordinates(0, 0));
+        for (Motion motion : motions) {
+            simulation.apply(motion.getCommand(), motion.getSteps());
         }
 
+        return simulation.getVisitedCount();
+    }
+
+    /**
+     * Rope state, motions can also be applied one by one while streaming the input.
+     */
+    public static class Simulation {
 
-        visitedCoordinates.add(new Coordinates(0, 0));
+        private final Set<Coordinates> visitedCoordinates = new LinkedHashSet<>();
 
+        private final List<Coordinates> rope = new ArrayList<>();
 
-        for (String line : input) {
+        public Simulation() {
+            for (int i = 0; i < 10; i++) {
+                rope.add(new Coordinates(0, 0));
+            }
 
-            String command = line.split(" ")[0];
-            int steps = Integer.valueOf(line.split(" ")[1]);
+            visitedCoordinates.add(new Coordinates(0, 0));
+        }
 
+        public void apply(char command, int steps) {
             switch (command) {
-                case "U": {
+                case 'U': {
                     move(visitedCoordinates, rope, false, 1, steps);
                     break;
                 }
-                case "D": {
+                case 'D': {
                     move(visitedCoordinates, rope, false, -1, steps);
                     break;
                 }
-                case "R": {
+                case 'R': {
                     move(visitedCoordinates, rope, true, 1, steps);
                     break;
                 }
-                case "L": {
+                case 'L': {
                     move(visitedCoordinates, rope, true, -1, steps);
                     break;
                 }
-
+                default:
+                    throw new IllegalArgumentException("Unknown command: " + command);
             }
-
         }
 
-        int solution = visitedCoordinates.size();
-
-        System.out.println("Solution: " + solution);
+        public int getVisitedCount() {
+            return visitedCoordinates.size();
+        }
 
     }
 
 
     private static void move(Set<Coordinates> visitedCoordinates, List<Coordinates> rope, boolean isXAxis, int direction, int steps) {
 
+        int tailMoves = 0;
         for (int i = 0; i < steps; i++) {
             if (isXAxis) {
 
@@ -762,6 +781,9 @@ public class Puzzle0902 {
                     Coordinates current = rope.get(n);
 
                     if (isDetachted(current, previous)) {
+                        if (n == rope.size() - 1) {
+                            tailMoves++;
+                        }
                         // Diagonal?
                         if (current.getY() != previous.getY()) {
                             if (previous.getY() > current.getY()) {
@@ -791,6 +813,9 @@ public class Puzzle0902 {
                     Coordinates current = rope.get(n);
 
                     if (isDetachted(current, previous)) {
+                        if (n == rope.size() - 1) {
+                            tailMoves++;
+                        }
                         // Diagonal?
                         if (current.getX() != previous.getX()) {
                             if (previous.getX() > current.getX()) {
@@ -817,6 +842,7 @@ public class Puzzle0902 {
 
         }
 
+        TAIL_MOVES.add(tailMoves);
     }
 
     private static boolean isDetachted(Coordinates coord1, Coordinates coord2) {
@@ -1,16 +1,13 @@
 package ch.nostromo.adventofcode2022.puzzle1001;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
 
 /**
@@ -205,17 +202,31 @@ import java.util.Set;
  */
 public class Puzzle1001 {
 
+    @Data
+    @AllArgsConstructor
+    public static class Program {
+        // Cycles needed per instruction
+        int[] lengths;
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("1001/input.txt").toURI()), Charset.defaultCharset());
+        // Value added to the register after the instruction
+        int[] strengths;
+    }
+
+
+    public static void main(String... args) throws IOException {
+        Program program = parse(PuzzleInput.fromArgs(args, "1001/input.txt"));
+
+        System.out.println("Solution: " + solve(program));
 
+    }
+
+    public static int solve(Program program) {
         int solution = 0;
 
         int signalStrength = 1;
 
         int instructionIdx = 0;
-        String instruction = input.get(instructionIdx);
-        int instructionLength = getInstructionLength(instruction);
+        int instructionLength = program.getLengths()[instructionIdx];
         int currentInstructinStep = 0;
 
 
@@ -226,11 +237,10 @@ public class Puzzle1001 {
             }
 
             if (currentInstructinStep == instructionLength - 1) {
-                signalStrength += getInstructionStrength(instruction);
+                signalStrength += program.getStrengths()[instructionIdx];
 
                 instructionIdx++;
-                instruction = input.get(instructionIdx);
-                instructionLength = getInstructionLength(instruction);
+                instructionLength = program.getLengths()[instructionIdx];
                 currentInstructinStep = 0;
 
             } else {
@@ -239,26 +249,27 @@ public class Puzzle1001 {
 
         }
 
-
-        System.out.println("Solution: " + solution);
-
+        return solution;
     }
 
-    private static int getInstructionStrength(String instruction) {
-        if (getInstructionLength(instruction) == 2) {
-            return Integer.valueOf(instruction.split(" ")[1]);
-        } else {
-            return 0;
-        }
-    }
+    public static Program parse(PuzzleInput input) {
+        List<InputLine> lines = input.lines();
 
-    private static int getInstructionLength(String instruction) {
-        if (instruction.equals("noop")) {
-            return 1;
-        } else {
-            return 2;
+        int[] lengths = new int[lines.size()];
+        int[] strengths = new int[lines.size()];
+
+        Tokenizer tokenizer = new Tokenizer();
+        for (int i = 0; i < lines.size(); i++) {
+            tokenizer.reset(lines.get(i));
+            if (tokenizer.match("noop")) {
+                lengths[i] = 1;
+            } else {
+                lengths[i] = 2;
+                strengths[i] = tokenizer.expect("addx ").nextInt();
+            }
         }
 
+        return new Program(lengths, strengths);
     }
 
 
@@ -1,13 +1,10 @@
 package ch.nostromo.adventofcode2022.puzzle1002;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle1001.Puzzle1001;
+import ch.nostromo.adventofcode2022.puzzle1001.Puzzle1001.Program;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
 
 
 /**
@@ -330,15 +327,20 @@ import java.util.List;
 public class Puzzle1002 {
 
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("1001/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        Program program = Puzzle1001.parse(PuzzleInput.fromArgs(args, "1001/input.txt"));
 
+        System.out.print(solve(program));
+
+    }
+
+    public static String solve(Program program) {
+        StringBuilder crt = new StringBuilder();
 
         int signalStrength = 1;
 
         int instructionIdx = 0;
-        String instruction = input.get(instructionIdx);
-        int instructionLength = getInstructionLength(instruction);
+        int instructionLength = program.getLengths()[instructionIdx];
         int currentInstructinStep = 0;
 
         int crtRow = 1;
@@ -346,24 +348,23 @@ public class Puzzle1002 {
         for (int cycle = 1; cycle < 240; cycle++) {
 
             if (crtRow >= signalStrength  && crtRow <= signalStrength + 2) {
-                System.out.print("#");
+                crt.append("#");
             } else {
-                System.out.print(".");
+                crt.append(".");
             }
 
             crtRow++;
 
             if (crtRow == 41) {
-                System.out.println();
+                crt.append(System.lineSeparator());
                 crtRow = 1;
             }
 
             if (currentInstructinStep == instructionLength - 1) {
-                signalStrength += getInstructionStrength(instruction);
+                signalStrength += program.getStrengths()[instructionIdx];
 
                 instructionIdx++;
-                instruction = input.get(instructionIdx);
-                instructionLength = getInstructionLength(instruction);
+                instructionLength = program.getLengths()[instructionIdx];
                 currentInstructinStep = 0;
 
             } else {
@@ -372,25 +373,9 @@ public class Puzzle1002 {
 
         }
 
-        System.out.print(".");
-
-    }
-
-    private static int getInstructionStrength(String instruction) {
-        if (getInstructionLength(instruction) == 2) {
-            return Integer.valueOf(instruction.split(" ")[1]);
-        } else {
-            return 0;
-        }
-    }
-
-    private static int getInstructionLength(String instruction) {
-        if (instruction.equals("noop")) {
-            return 1;
-        } else {
-            return 2;
-        }
+        crt.append(".");
 
+        return crt.toString();
     }
 
 
@@ -1,15 +1,15 @@
 package ch.nostromo.adventofcode2022.puzzle1101;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.Tokenizer;
+
 import lombok.Data;
 import lombok.ToString;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -280,11 +280,31 @@ public class Puzzle1101 {
     }
 
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("1101/input.txt").toURI()), Charset.defaultCharset());
+    @Data
+    public static class MonkeySpec {
+        String monkeyTitle;
+
+        long[] items;
+
+        String operation;
+        boolean operationOnOld;
+        int operationValue;
+
+        int divisor;
+        int divisableMonkey;
+        int nonDivisableMonkey;
+    }
+
+
+    public static void main(String... args) throws IOException {
+        List<MonkeySpec> specs = parse(PuzzleInput.fromArgs(args, "1101/input.txt"));
+
+        System.out.println("Solution= " + solve(specs));
 
+    }
 
-        List<Monkey> monkeys = createMonkeys(input);
+    public static int solve(List<MonkeySpec> specs) {
+        List<Monkey> monkeys = createMonkeys(specs);
 
         for (int i = 0; i < 20; i++) {
             for (Monkey monkey : monkeys) {
@@ -302,58 +322,74 @@ public class Puzzle1101 {
 
         Collections.reverse(monkeys);
 
-        int solution = monkeys.get(0).getInspectionCount() * monkeys.get(1).getInspectionCount();
+        return monkeys.get(0).getInspectionCount() * monkeys.get(1).getInspectionCount();
+    }
 
-        System.out.println("Solution= " + solution);
 
-    }
+    private static List<Monkey> createMonkeys(List<MonkeySpec> specs) {
+        List<Monkey> monkeys = new ArrayList<>();
+        for (int i = 0; i < specs.size(); i++) {
+            monkeys.add(new Monkey());
+        }
 
+        for (int i = 0; i < specs.size(); i++) {
+            MonkeySpec spec = specs.get(i);
 
-    private static List<Monkey> createMonkeys(List<String> input) {
+            Monkey currentMonkey = monkeys.get(i);
+            currentMonkey.setMonkeyTitle(spec.getMonkeyTitle());
+            currentMonkey.setOperation(spec.getOperation());
+            currentMonkey.setOperationOnOld(spec.isOperationOnOld());
+            currentMonkey.setOperationValue(spec.getOperationValue());
+            currentMonkey.setDivisor(spec.getDivisor());
 
-        int monkeyCount = 0;
+            for (long item : spec.getItems()) {
+                currentMonkey.getItems().add((int) item);
+            }
 
-        List<Monkey> monkeys = new ArrayList<>();
-        for (int i = 0; i < input.size() / 7 + 1; i++) {
-            monkeys.add(new Monkey());
+            currentMonkey.setDivisableMonkey(monkeys.get(spec.getDivisableMonkey()));
+            currentMonkey.setNonDivisableMonkey(monkeys.get(spec.getNonDivisableMonkey()));
         }
 
+        return monkeys;
+    }
 
-        for (int i = 0; i < input.size(); i += 7) {
-            String monkeyTitle = input.get(i);
-            String items = input.get(i + 1);
-            String operation = input.get(i + 2);
-            String test = input.get(i + 3);
-            String divisableMonkey = input.get(i + 4);
-            String nonDivisableMonkey = input.get(i + 5);
+    public static List<MonkeySpec> parse(PuzzleInput input) {
+        List<InputLine> lines = input.lines();
 
-            Monkey currentMonkey = monkeys.get(monkeyCount);
-            currentMonkey.setMonkeyTitle(monkeyTitle);
-            currentMonkey.setOperation(operation.substring("  Operation: new = old ".length(), "  Operation: new = old ".length() + 1));
-            currentMonkey.setDivisor(Integer.valueOf(test.substring("  Test: divisible by ".length())));
+        List<MonkeySpec> specs = new ArrayList<>();
 
+        Tokenizer tokenizer = new Tokenizer();
+        for (int i = 0; i < lines.size(); i += 7) {
+            MonkeySpec spec = new MonkeySpec();
+            spec.setMonkeyTitle(lines.get(i).toString());
 
-            String operationValue = operation.substring("  Operation: new = old ".length() + 2).trim();
-            if (operationValue.equals("old")) {
-                currentMonkey.setOperationOnOld(true);
-            } else {
-                currentMonkey.setOperationValue(Integer.valueOf(operationValue));
+            tokenizer.reset(lines.get(i + 1)).expect("  Starting items:");
+            long[] items = new long[8];
+            int itemCount = 0;
+            while (tokenizer.hasMore()) {
+                if (itemCount == items.length) {
+                    items = Arrays.copyOf(items, itemCount * 2);
+                }
+                items[itemCount++] = tokenizer.nextLong();
             }
+            spec.setItems(Arrays.copyOf(items, itemCount));
 
-            String[] itemNrs = items.substring("  Starting items: ".length()).split(", ");
-            for (String itemNr : itemNrs) {
-                currentMonkey.getItems().add(Integer.valueOf(itemNr));
+            tokenizer.reset(lines.get(i + 2)).expect("  Operation: new = old ");
+            spec.setOperation(Tokenizer.symbol((byte) tokenizer.nextChar()));
+            if (tokenizer.expect(" ").match("old")) {
+                spec.setOperationOnOld(true);
+            } else {
+                spec.setOperationValue(tokenizer.nextInt());
             }
 
-            currentMonkey.setDivisableMonkey(monkeys.get(Integer.valueOf(divisableMonkey.substring("    If true: throw to monkey ".length()))));
-            currentMonkey.setNonDivisableMonkey(monkeys.get(Integer.valueOf(nonDivisableMonkey.substring("    If false: throw to monkey ".length()))));
-
-            monkeyCount++;
-
+            spec.setDivisor(tokenizer.reset(lines.get(i + 3)).expect("  Test: divisible by ").nextInt());
+            spec.setDivisableMonkey(tokenizer.reset(lines.get(i + 4)).expect("    If true: throw to monkey ").nextInt());
+            spec.setNonDivisableMonkey(tokenizer.reset(lines.get(i + 5)).expect("    If false: throw to monkey ").nextInt());
 
+            specs.add(spec);
         }
 
-        return monkeys;
+        return specs;
 
     }
 
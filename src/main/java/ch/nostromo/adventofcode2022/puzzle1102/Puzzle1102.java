@@ -1,15 +1,14 @@
 package ch.nostromo.adventofcode2022.puzzle1102;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.metrics.Counter;
+import ch.nostromo.adventofcode2022.metrics.MetricsRegistry;
 import ch.nostromo.adventofcode2022.puzzle1101.Puzzle1101;
+import ch.nostromo.adventofcode2022.puzzle1101.Puzzle1101.MonkeySpec;
 import lombok.Data;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.*;
 
 
@@ -316,6 +315,8 @@ import java.util.*;
  */
 public class Puzzle1102 {
 
+    private static final Counter INSPECTIONS = MetricsRegistry.global().counter("day11.inspections");
+
     @Data
     private static class Monkey {
         String monkeyTitle;
@@ -333,6 +334,8 @@ public class Puzzle1102 {
         long inspectionCount = 0;
 
         public void inpsectItems(int modProd) {
+            INSPECTIONS.add(items.size());
+
             for (Long item : items) {
                 inspectionCount++;
 
@@ -366,15 +369,25 @@ public class Puzzle1102 {
     }
 
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("1101/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        List<MonkeySpec> specs = Puzzle1101.parse(PuzzleInput.fromArgs(args, "1101/input.txt"));
 
+        System.out.println("Solution= " + solve(specs));
 
-        List<Monkey> monkeys = createMonkeys(input);
+    }
 
-        Integer modProd = 1;
+    public static long solve(List<MonkeySpec> specs) {
+        List<Monkey> monkeys = createMonkeys(specs);
+
+        // Divisors are primes, multiply each one only once
+        Set<Integer> divisors = new HashSet<>();
         for (Monkey monkey : monkeys) {
-            modProd = modProd * monkey.getDivisor();
+            divisors.add(monkey.getDivisor());
+        }
+
+        Integer modProd = 1;
+        for (Integer divisor : divisors) {
+            modProd = modProd * divisor;
         }
 
 
@@ -393,58 +406,35 @@ public class Puzzle1102 {
 
         Collections.reverse(monkeys);
 
-        long solution = monkeys.get(0).getInspectionCount() * monkeys.get(1).getInspectionCount();
-
-        System.out.println("Solution= " + solution);
-
+        return monkeys.get(0).getInspectionCount() * monkeys.get(1).getInspectionCount();
     }
 
 
-    private static List<Monkey> createMonkeys(List<String> input) {
-        int monkeyCount = 0;
-
+    private static List<Monkey> createMonkeys(List<MonkeySpec> specs) {
         List<Monkey> monkeys = new ArrayList<>();
-        for (int i = 0; i < input.size() / 7 + 1; i++) {
+        for (int i = 0; i < specs.size(); i++) {
             monkeys.add(new Monkey());
         }
 
+        for (int i = 0; i < specs.size(); i++) {
+            MonkeySpec spec = specs.get(i);
 
-        for (int i = 0; i < input.size(); i += 7) {
-            String monkeyTitle = input.get(i);
-            String items = input.get(i + 1);
-            String operation = input.get(i + 2);
-            String test = input.get(i + 3);
-            String divisableMonkey = input.get(i + 4);
-            String nonDivisableMonkey = input.get(i + 5);
-
-            Monkey currentMonkey = monkeys.get(monkeyCount);
-            currentMonkey.setMonkeyTitle(monkeyTitle);
-            currentMonkey.setOperation(operation.substring("  Operation: new = old ".length(), "  Operation: new = old ".length() + 1));
-            currentMonkey.setDivisor(Integer.valueOf(test.substring("  Test: divisible by ".length())));
-
-
-            String operationValue = operation.substring("  Operation: new = old ".length() + 2).trim();
-            if (operationValue.equals("old")) {
-                currentMonkey.setOperationOnOld(true);
-            } else {
-                currentMonkey.setOperationValue(Integer.valueOf(operationValue));
-            }
+            Monkey currentMonkey = monkeys.get(i);
+            currentMonkey.setMonkeyTitle(spec.getMonkeyTitle());
+            currentMonkey.setOperation(spec.getOperation());
+            currentMonkey.setOperationOnOld(spec.isOperationOnOld());
+            currentMonkey.setOperationValue(spec.getOperationValue());
+            currentMonkey.setDivisor(spec.getDivisor());
 
-            String[] itemNrs = items.substring("  Starting items: ".length()).split(", ");
-            for (String itemNr : itemNrs) {
-                currentMonkey.getItems().add(Long.valueOf(itemNr));
+            for (long item : spec.getItems()) {
+                currentMonkey.getItems().add(item);
             }
 
-            currentMonkey.setDivisableMonkey(monkeys.get(Integer.valueOf(divisableMonkey.substring("    If true: throw to monkey ".length()))));
-            currentMonkey.setNonDivisableMonkey(monkeys.get(Integer.valueOf(nonDivisableMonkey.substring("    If false: throw to monkey ".length()))));
-
-            monkeyCount++;
-
-
+            currentMonkey.setDivisableMonkey(monkeys.get(spec.getDivisableMonkey()));
+            currentMonkey.setNonDivisableMonkey(monkeys.get(spec.getNonDivisableMonkey()));
         }
 
         return monkeys;
-
     }
 
 
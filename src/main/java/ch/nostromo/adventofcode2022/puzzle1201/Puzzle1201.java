@@ -1,13 +1,14 @@
 package ch.nostromo.adventofcode2022.puzzle1201;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.grid.ByteGrid;
+import ch.nostromo.adventofcode2022.grid.GridStorage;
+import ch.nostromo.adventofcode2022.grid.IntGrid;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.metrics.Counter;
+import ch.nostromo.adventofcode2022.metrics.MetricsRegistry;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.*;
+import java.util.Arrays;
 
 
 /**
@@ -44,167 +45,170 @@ import java.util.*;
  */
 public class Puzzle1201 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("1201/input.txt").toURI()), Charset.defaultCharset());
+    private static final Counter RELAXATIONS = MetricsRegistry.global().counter("day12.dijkstra.relaxations");
 
-        int height = input.size();
-        int width = input.get(0).length();
+    public static void main(String... args) throws IOException {
+        ByteGrid map = parse(PuzzleInput.fromArgs(args, "1201/input.txt"));
 
-        int[][] map = createMap(input, height, width);
-        Node[][] nodes = new Node[height][width];
+        System.out.println("Solution: " + solve(map));
 
-        createNodes(nodes, map);
 
-        Node startNode = getNodeByNumber(nodes, map, 0);
-        Node endNode = getNodeByNumber(nodes, map, 27);
+    }
 
-        calculateShortestPathFromSource(startNode);
+    public static int solve(ByteGrid map) {
+        ShortestPaths paths = new ShortestPaths(map);
 
-        System.out.println("Solution: " + endNode.distance);
+        int start = getIndexByNumber(map, 0);
+        int end = getIndexByNumber(map, 27);
 
+        paths.calculateShortestPathFromSource(start);
 
+        return paths.getDistance(end);
     }
 
-    private static Node getNodeByNumber(Node[][] nodes, int[][] map, int number) {
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                if (map[y][x] == number) {
-                    return nodes[y][x];
-                }
-            }
+    private static int getIndexByNumber(ByteGrid map, int number) {
+        int index = map.indexOf(number);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown number: " + number);
         }
-        throw new IllegalArgumentException("Unknown number: " + number);
+        return index;
     }
 
-    private static void createNodes(Node[][] nodes, int[][] map) {
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                nodes[y][x] = new Node();
-            }
-        }
-
-        // Link nodes
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-
-                int currentChar = map[y][x];
+    /**
+     * Elevations in the configured {@link GridStorage}, S is 0, a - z are 1 - 26, E is 27.
+     */
+    public static ByteGrid parse(PuzzleInput input) {
+        return ByteGrid.ofInput(input, Puzzle1201::getElevation, GridStorage.configured());
+    }
 
-                if (y > 0 && map[y - 1][x] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y - 1][x], 1);
-                }
-                if (y < map.length - 1 && map[y + 1][x] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y + 1][x], 1);
-                }
-                if (x > 0 && map[y][x - 1] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y][x - 1], 1);
-                }
-                if (x < map[y].length - 1 && map[y][x + 1] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y][x + 1], 1);
-                }
-            }
+    private static int getElevation(byte character) {
+        if (character == 'S') {
+            return 0;
+        } else if (character == 'E') {
+            return 27;
+        } else {
+            return (int) character - 96;
         }
-
     }
 
-    private static int[][] createMap(List<String> lines, int height, int width) {
-        int[][] map = new int[height][width];
-
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
-            for (int n = 0; n < line.length(); n++) {
-                char character = line.charAt(n);
-                if (character == 'S') {
-                    map[i][n] = 0;
-                } else if (character == 'E') {
-                    map[i][n] = 27;
-                } else {
-                    int code = (int) character - 96;
-                    map[i][n] = code;
-                }
-            }
-        }
 
-        return map;
-    }
+    /**
+     * Dijkstra on the grid cell indexes, a step may climb at most one elevation. Distances are kept between runs from
+     * different sources, so after several runs each cell holds its shortest distance from any of the sources.
+     * <p>
+     * Per cell state lives in the configured {@link GridStorage} like the map, only the queue is on the heap.
+     */
+    public static class ShortestPaths {
 
+        private final ByteGrid map;
+        private final IntGrid distances;
 
-    // Dijkstra from Baeldung
-    public static class Node {
+        // run * 2 once a cell was queued in a run, run * 2 + 1 once settled, saves clearing between runs
+        private final IntGrid marks;
+        private int run;
 
-        private List<Node> shortestPath = new LinkedList<>();
-        private Integer distance = Integer.MAX_VALUE;
-        Map<Node, Integer> adjacentNodes = new HashMap<>();
+        private final int[] neighbours = new int[4];
 
-        public void addDestination(Node destination, int distance) {
-            adjacentNodes.put(destination, distance);
-        }
+        // Binary min heap of (distance << 32 | index)
+        private long[] heap = new long[64];
+        private int heapSize;
 
-        public Integer getDistance() {
-            return distance;
+        public ShortestPaths(ByteGrid map) {
+            this.map = map;
+            GridStorage storage = GridStorage.configured();
+            this.distances = IntGrid.allocate(map.getWidth(), map.getHeight(), map.getPadding(), Integer.MAX_VALUE, storage);
+            this.marks = IntGrid.allocate(map.getWidth(), map.getHeight(), map.getPadding(), 0, storage);
         }
 
-        public void setDistance(Integer distance) {
-            this.distance = distance;
+        public int getDistance(int index) {
+            return distances.getAt(index);
         }
 
-        public Map<Node, Integer> getAdjacentNodes() {
-            return adjacentNodes;
-        }
+        public void calculateShortestPathFromSource(int source) {
+            run++;
+            distances.setAt(source, 0);
+            push(source);
+
+            long relaxations = 0;
+            while (heapSize > 0) {
+                long entry = pop();
+                int current = (int) entry;
+                if (isSettled(current) || (int) (entry >>> 32) != distances.getAt(current)) {
+                    continue;
+                }
+                marks.setAt(current, run * 2 + 1);
+
+                int currentDistance = distances.getAt(current);
+                int currentElevation = map.getAt(current);
+                int count = map.neighbours(current, neighbours);
+                for (int n = 0; n < count; n++) {
+                    int adjacent = neighbours[n];
+                    if (isSettled(adjacent) || map.getAt(adjacent) - currentElevation > 1) {
+                        continue;
+                    }
+
+                    if (currentDistance + 1 < distances.getAt(adjacent)) {
+                        distances.setAt(adjacent, currentDistance + 1);
+                        relaxations++;
+                        push(adjacent);
+                    } else if (marks.getAt(adjacent) != run * 2) {
+                        // Reached with a shorter distance from an earlier source, still walked from here
+                        push(adjacent);
+                    }
+                }
+            }
 
-        public List<Node> getShortestPath() {
-            return shortestPath;
+            RELAXATIONS.add(relaxations);
         }
 
-        public void setShortestPath(List<Node> shortestPath) {
-            this.shortestPath = shortestPath;
+        private boolean isSettled(int index) {
+            return marks.getAt(index) == run * 2 + 1;
         }
-    }
 
-    public static void calculateShortestPathFromSource(Node source) {
-        source.setDistance(0);
+        private void push(int index) {
+            marks.setAt(index, run * 2);
 
-        Set<Node> settledNodes = new HashSet<>();
-        Set<Node> unsettledNodes = new HashSet<>();
-
-        unsettledNodes.add(source);
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heap.length * 2);
+            }
 
-        while (unsettledNodes.size() != 0) {
-            Node currentNode = getLowestDistanceNode(unsettledNodes);
-            unsettledNodes.remove(currentNode);
-            for (Map.Entry<Node, Integer> adjacencyPair :
-                    currentNode.getAdjacentNodes().entrySet()) {
-                Node adjacentNode = adjacencyPair.getKey();
-                Integer edgeWeight = adjacencyPair.getValue();
-                if (!settledNodes.contains(adjacentNode)) {
-                    CalculateMinimumDistance(adjacentNode, edgeWeight, currentNode);
-                    unsettledNodes.add(adjacentNode);
+            long entry = ((long) distances.getAt(index) << 32) | index;
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= entry) {
+                    break;
                 }
+                heap[i] = heap[parent];
+                i = parent;
             }
-            settledNodes.add(currentNode);
+            heap[i] = entry;
         }
-    }
 
-    private static Node getLowestDistanceNode(Set<Node> unsettledNodes) {
-        Node lowestDistanceNode = null;
-        int lowestDistance = Integer.MAX_VALUE;
-        for (Node node : unsettledNodes) {
-            int nodeDistance = node.getDistance();
-            if (nodeDistance < lowestDistance) {
-                lowestDistance = nodeDistance;
-                lowestDistanceNode = node;
+        private long pop() {
+            long result = heap[0];
+            long last = heap[--heapSize];
+
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
             }
-        }
-        return lowestDistanceNode;
-    }
+            heap[i] = last;
 
-    private static void CalculateMinimumDistance(Node evaluationNode, Integer edgeWeigh, Node sourceNode) {
-        Integer sourceDistance = sourceNode.getDistance();
-        if (sourceDistance + edgeWeigh < evaluationNode.getDistance()) {
-            evaluationNode.setDistance(sourceDistance + edgeWeigh);
-            LinkedList<Node> shortestPath = new LinkedList<>(sourceNode.getShortestPath());
-            shortestPath.add(sourceNode);
-            evaluationNode.setShortestPath(shortestPath);
+            return result;
         }
+
     }
 
 }
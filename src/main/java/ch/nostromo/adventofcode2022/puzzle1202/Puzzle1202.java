@@ -1,13 +1,11 @@
 package ch.nostromo.adventofcode2022.puzzle1202;
 
-import ch.nostromo.adventofcode2022.puzzle0401.Puzzle0401;
+import ch.nostromo.adventofcode2022.grid.ByteGrid;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.puzzle1201.Puzzle1201;
+import ch.nostromo.adventofcode2022.puzzle1201.Puzzle1201.ShortestPaths;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.*;
 
 
 /**
@@ -70,173 +68,31 @@ import java.util.*;
  */
 public class Puzzle1202 {
 
-    public static void main(String... args) throws URISyntaxException, IOException {
-        List<String> input = Files.readAllLines(Paths.get(Puzzle0401.class.getClassLoader().getResource("1201/input.txt").toURI()), Charset.defaultCharset());
+    public static void main(String... args) throws IOException {
+        ByteGrid map = Puzzle1201.parse(PuzzleInput.fromArgs(args, "1201/input.txt"));
 
-        int height = input.size();
-        int width = input.get(0).length();
+        System.out.println("Solution: " + solve(map));
 
-        int[][] map = createMap(input, height, width);
-        Node[][] nodes = new Node[height][width];
 
-        createNodes(nodes, map);
-
-        List<Node> startNodes = getNodesByNumber(nodes, map, 1);
-        Node endNode = getNodesByNumber(nodes, map, 27).get(0);
-
-        int solution = Integer.MAX_VALUE;
-        for (Node startNode : startNodes) {
-            calculateShortestPathFromSource(startNode);
-            solution = Math.min(endNode.distance, solution);
-        }
-
-        System.out.println("Solution: " + solution);
-
-
-    }
-
-    private static List<Node> getNodesByNumber(Node[][] nodes, int[][] map, int number) {
-
-        List<Node> result = new ArrayList<>();
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                if (map[y][x] == number) {
-                    result.add(nodes[y][x]);
-                }
-            }
-        }
-        return result;
-    }
-
-    private static void createNodes(Node[][] nodes, int[][] map) {
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-                nodes[y][x] = new Node();
-            }
-        }
-
-        // Link nodes
-        for (int y = 0; y < map.length; y++) {
-            for (int x = 0; x < map[y].length; x++) {
-
-                int currentChar = map[y][x];
-
-                if (y > 0 && map[y - 1][x] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y - 1][x], 1);
-                }
-                if (y < map.length - 1 && map[y + 1][x] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y + 1][x], 1);
-                }
-                if (x > 0 && map[y][x - 1] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y][x - 1], 1);
-                }
-                if (x < map[y].length - 1 && map[y][x + 1] - currentChar <= 1) {
-                    nodes[y][x].addDestination(nodes[y][x + 1], 1);
-                }
-            }
-        }
-
-    }
-
-    private static int[][] createMap(List<String> lines, int height, int width) {
-        int[][] map = new int[height][width];
-
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
-            for (int n = 0; n < line.length(); n++) {
-                char character = line.charAt(n);
-                if (character == 'S') {
-                    map[i][n] = 0;
-                } else if (character == 'E') {
-                    map[i][n] = 27;
-                } else {
-                    int code = (int) character - 96;
-                    map[i][n] = code;
-                }
-            }
-        }
-
-        return map;
     }
 
+    public static int solve(ByteGrid map) {
+        ShortestPaths paths = new ShortestPaths(map);
 
-    // Dijkstra from Baeldung
-    public static class Node {
-
-        private List<Node> shortestPath = new LinkedList<>();
-        private Integer distance = Integer.MAX_VALUE;
-        Map<Node, Integer> adjacentNodes = new HashMap<>();
-
-        public void addDestination(Node destination, int distance) {
-            adjacentNodes.put(destination, distance);
-        }
+        int endIndex = map.indexOf(27);
 
-        public Integer getDistance() {
-            return distance;
-        }
-
-        public void setDistance(Integer distance) {
-            this.distance = distance;
-        }
-
-        public Map<Node, Integer> getAdjacentNodes() {
-            return adjacentNodes;
-        }
-
-        public List<Node> getShortestPath() {
-            return shortestPath;
-        }
-
-        public void setShortestPath(List<Node> shortestPath) {
-            this.shortestPath = shortestPath;
-        }
-    }
-
-    public static void calculateShortestPathFromSource(Node source) {
-        source.setDistance(0);
-
-        Set<Node> settledNodes = new HashSet<>();
-        Set<Node> unsettledNodes = new HashSet<>();
-
-        unsettledNodes.add(source);
-
-        while (unsettledNodes.size() != 0) {
-            Node currentNode = getLowestDistanceNode(unsettledNodes);
-            unsettledNodes.remove(currentNode);
-            for (Map.Entry<Node, Integer> adjacencyPair :
-                    currentNode.getAdjacentNodes().entrySet()) {
-                Node adjacentNode = adjacencyPair.getKey();
-                Integer edgeWeight = adjacencyPair.getValue();
-                if (!settledNodes.contains(adjacentNode)) {
-                    CalculateMinimumDistance(adjacentNode, edgeWeight, currentNode);
-                    unsettledNodes.add(adjacentNode);
+        int solution = Integer.MAX_VALUE;
+        for (int y = 0; y < map.getHeight(); y++) {
+            for (int x = 0; x < map.getWidth(); x++) {
+                int index = map.index(x, y);
+                if (map.getAt(index) == 1) {
+                    paths.calculateShortestPathFromSource(index);
+                    solution = Math.min(paths.getDistance(endIndex), solution);
                 }
             }
-            settledNodes.add(currentNode);
         }
-    }
 
-    private static Node getLowestDistanceNode(Set<Node> unsettledNodes) {
-        Node lowestDistanceNode = null;
-        int lowestDistance = Integer.MAX_VALUE;
-        for (Node node : unsettledNodes) {
-            int nodeDistance = node.getDistance();
-            if (nodeDistance < lowestDistance) {
-                lowestDistance = nodeDistance;
-                lowestDistanceNode = node;
-            }
-        }
-        return lowestDistanceNode;
-    }
-
-    private static void CalculateMinimumDistance(Node evaluationNode, Integer edgeWeigh, Node sourceNode) {
-        Integer sourceDistance = sourceNode.getDistance();
-        if (sourceDistance + edgeWeigh < evaluationNode.getDistance()) {
-            evaluationNode.setDistance(sourceDistance + edgeWeigh);
-            LinkedList<Node> shortestPath = new LinkedList<>(sourceNode.getShortestPath());
-            shortestPath.add(sourceNode);
-            evaluationNode.setShortestPath(shortestPath);
-        }
+        return solution;
     }
 
 }
@@ -0,0 +1,323 @@
+package ch.nostromo.adventofcode2022.runner;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.ParsedInputCache;
+import ch.nostromo.adventofcode2022.cache.ResultCache;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.metrics.MetricsRegistry;
+import ch.nostromo.adventofcode2022.profile.DayProfiler;
+import ch.nostromo.adventofcode2022.profile.ProfileReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Runs all registered puzzles in one JVM. Days are executed concurrently, parse and solve phases are timed
+ * separately. With --fused both answers of a day are computed by {@link Puzzle#solveBoth(Object)}, with --cache
+ * parsed inputs are read from and stored in the {@link ParsedInputCache}. Phase latencies are recorded in the global
+ * {@link MetricsRegistry}, --metrics prints it as JSON at the end.
+ * <p>
+ * --input reads the input of a single day from a file or stdin. With --stream, days providing a
+ * {@link StreamingSolver} solve both parts while reading, their result is reported like a fused one without parse time.
+ * With --parallel, days providing a {@link ChunkedSolver} solve both parts on chunks of the input in the runner's pool,
+ * the time to open the input is reported as parse time.
+ * <p>
+ * --memoize looks up the answers of each day in the {@link ResultCache} by the digest of its input and only solves on a
+ * miss, a hit is reported as fused with the time to read and digest the input as parse time. Answers are reported as
+ * their text on hits and misses alike. As in the daemon,
+ * -Daoc.results.capacity=0 turns it off.
+ * <p>
+ * --profile runs the days one after the other, each inside its own flight recording, and prints a report per day (see
+ * {@link DayProfiler}).
+ * <p>
+ * --startup prints a breakdown of the cold start: JVM init until main, loading options and puzzles, and the parse of
+ * the first day, which includes loading its classes. --cds-dump=archive runs the given days in a child JVM and dumps
+ * the loaded classes to an AppCDS archive (see {@link CdsLauncher}).
+ * <p>
+ * Usage: AdventRunner [--fused] [--cache] [--memoize] [--metrics] [--stream] [--parallel] [--profile[=dir]] [--startup]
+ *        [--cds-dump=archive] [--input=path|-] [day...]
+ */
+public class AdventRunner {
+
+    private final ForkJoinPool pool;
+    private final RunOptions options;
+    private final DayProfiler profiler;
+
+    public AdventRunner(ForkJoinPool pool) {
+        this(pool, new RunOptions());
+    }
+
+    public AdventRunner(ForkJoinPool pool, RunOptions options) {
+        this.pool = pool;
+        this.options = options;
+        this.profiler = options.getProfileDir() != null ? new DayProfiler(options.getProfileDir()) : null;
+    }
+
+    public static void main(String... args) throws IOException, InterruptedException {
+        long mainMillis = System.currentTimeMillis();
+        long mainNanos = System.nanoTime();
+
+        RunOptions options = RunOptions.parse(args);
+        if (options.getCdsArchive() != null) {
+            dumpArchive(options.getCdsArchive(), args);
+            return;
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.global();
+        ScheduledExecutorService metricsLog = metrics.startLoggingIfConfigured();
+
+        AdventRunner runner = new AdventRunner(ForkJoinPool.commonPool(), options);
+        List<Puzzle<?>> puzzles = loadPuzzles(options.getDays());
+        long loadNanos = System.nanoTime() - mainNanos;
+        List<DayResult> results = runner.run(puzzles);
+
+        for (DayResult result : results) {
+            long start = System.nanoTime();
+            System.out.println(format(result));
+            metrics.histogram(MetricsRegistry.phase(result.getDay(), "output")).record(System.nanoTime() - start);
+        }
+
+        if (runner.profiler != null) {
+            for (ProfileReport report : runner.profiler.getReports()) {
+                System.out.println();
+                System.out.print(report.format());
+            }
+        }
+
+        if (options.isStartup() && !results.isEmpty()) {
+            System.out.println(formatStartup(mainMillis, loadNanos, results.get(0)));
+        }
+
+        if (options.getResults() != null) {
+            options.getResults().close();
+        }
+        if (metricsLog != null) {
+            metricsLog.shutdown();
+        }
+        if (options.isMetrics()) {
+            System.out.println(metrics.toJson());
+        }
+    }
+
+    private static void dumpArchive(Path archive, String... args) throws IOException, InterruptedException {
+        List<String> trainingArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--cds-dump=")) {
+                trainingArgs.add(arg);
+            }
+        }
+
+        int exitCode = CdsLauncher.dump(archive, trainingArgs);
+        if (exitCode != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("Training run failed with exit code " + exitCode + ", no archive written");
+        }
+        System.out.printf("CDS archive %s, %d KB, use with -XX:SharedArchiveFile=%s%n", archive, Files.size(archive) >> 10, archive);
+    }
+
+    // JVM init until main, options and puzzle classes until the first day starts, parse of the first day
+    static String formatStartup(long mainMillis, long loadNanos, DayResult first) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        boolean archive = runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile="));
+
+        return String.format("Startup  jvm init %9.3f ms  load puzzles %9.3f ms  first parse %9.3f ms  | %d classes, cds archive %s",
+                (double) (mainMillis - runtime.getStartTime()), millis(loadNanos), millis(first.getParseNanos()),
+                ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount(), archive ? "yes" : "no");
+    }
+
+    public static List<Puzzle<?>> loadPuzzles(List<Integer> days) {
+        return PuzzleLoader.load(days);
+    }
+
+    public List<DayResult> run(List<Puzzle<?>> puzzles) {
+        if (profiler != null) {
+            List<DayResult> results = new ArrayList<>();
+            for (Puzzle<?> puzzle : puzzles) {
+                results.add(profileDay(puzzle));
+            }
+            return results;
+        }
+
+        List<ForkJoinTask<DayResult>> tasks = new ArrayList<>();
+        for (Puzzle<?> puzzle : puzzles) {
+            tasks.add(pool.submit(() -> runDay(puzzle)));
+        }
+
+        return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+
+    public <T> DayResult runDay(Puzzle<T> puzzle) {
+        try {
+            if (options.getResults() != null) {
+                return runMemoized(puzzle, options.getResults());
+            }
+
+            ChunkedSolver<?> chunkedSolver = options.isParallel() ? puzzle.chunkedSolver() : null;
+            if (chunkedSolver != null) {
+                return runParallel(puzzle, chunkedSolver, System.nanoTime(), readInput(puzzle));
+            }
+
+            StreamingSolver streamingSolver = options.isStream() ? puzzle.streamingSolver() : null;
+            if (streamingSolver != null) {
+                return runStreaming(puzzle, streamingSolver);
+            }
+
+            return runParsed(puzzle, System.nanoTime(), readInput(puzzle));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read input for day " + puzzle.getDay(), e);
+        }
+    }
+
+    // The input is read completely to digest it, so --stream does not apply
+    private <T> DayResult runMemoized(Puzzle<T> puzzle, ResultCache results) throws IOException {
+        long start = System.nanoTime();
+        PuzzleInput input = readInput(puzzle);
+        byte[] digest = input.digest();
+        String part1 = results.get(puzzle.getDay(), 1, digest);
+        String part2 = results.get(puzzle.getDay(), 2, digest);
+        if (part1 != null && part2 != null) {
+            long found = System.nanoTime();
+            record(puzzle, "parse", found - start);
+            return new DayResult(puzzle.getDay(), part1, part2, found - start, 0, 0, true);
+        }
+
+        ChunkedSolver<?> chunkedSolver = options.isParallel() ? puzzle.chunkedSolver() : null;
+        DayResult result = chunkedSolver != null ? runParallel(puzzle, chunkedSolver, start, input) : runParsed(puzzle, start, input);
+        results.put(puzzle.getDay(), 1, digest, result.getPart1());
+        results.put(puzzle.getDay(), 2, digest, result.getPart2());
+        // Reported as text like a hit, whose typed answer is not kept
+        result.setPart1(String.valueOf(result.getPart1()));
+        result.setPart2(String.valueOf(result.getPart2()));
+        return result;
+    }
+
+    private <T> DayResult runParsed(Puzzle<T> puzzle, long start, PuzzleInput source) throws IOException {
+        T input = parse(puzzle, source);
+        long parsed = System.nanoTime();
+
+        record(puzzle, "parse", parsed - start);
+
+        if (options.isFused()) {
+            Answers answers = puzzle.solveBoth(input);
+            long solved = System.nanoTime();
+            record(puzzle, "solve", solved - parsed);
+
+            return new DayResult(puzzle.getDay(), answers.getPart1(), answers.getPart2(), parsed - start, solved - parsed, 0, true);
+        }
+
+        Object part1 = puzzle.solvePart1(input);
+        long solved1 = System.nanoTime();
+        Object part2 = puzzle.solvePart2(input);
+        long solved2 = System.nanoTime();
+        record(puzzle, "part1", solved1 - parsed);
+        record(puzzle, "part2", solved2 - solved1);
+
+        return new DayResult(puzzle.getDay(), part1, part2, parsed - start, solved1 - parsed, solved2 - solved1, false);
+    }
+
+    private DayResult profileDay(Puzzle<?> puzzle) {
+        try {
+            return profiler.profile(puzzle.getDay(), () -> runDay(puzzle));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write recording for day " + puzzle.getDay(), e);
+        }
+    }
+
+    private DayResult runStreaming(Puzzle<?> puzzle, StreamingSolver solver) throws IOException {
+        long start = System.nanoTime();
+        Answers answers;
+        try (ReadableByteChannel channel = openChannel(puzzle)) {
+            answers = StreamingSolver.solve(channel, solver);
+        }
+        long solved = System.nanoTime();
+        record(puzzle, "solve", solved - start);
+
+        return new DayResult(puzzle.getDay(), answers.getPart1(), answers.getPart2(), 0, solved - start, 0, true);
+    }
+
+    private DayResult runParallel(Puzzle<?> puzzle, ChunkedSolver<?> solver, long start, PuzzleInput input) {
+        long opened = System.nanoTime();
+        Answers answers = ChunkedSolver.solve(input, pool, solver);
+        long solved = System.nanoTime();
+        record(puzzle, "parse", opened - start);
+        record(puzzle, "solve", solved - opened);
+
+        return new DayResult(puzzle.getDay(), answers.getPart1(), answers.getPart2(), opened - start, solved - opened, 0, true);
+    }
+
+    private PuzzleInput readInput(Puzzle<?> puzzle) throws IOException {
+        if (options.getInput() != null) {
+            return PuzzleInput.open(options.getInput());
+        }
+        return PuzzleInput.ofResource(puzzle.getResource());
+    }
+
+    private ReadableByteChannel openChannel(Puzzle<?> puzzle) throws IOException {
+        if ("-".equals(options.getInput())) {
+            return Channels.newChannel(System.in);
+        }
+        if (options.getInput() != null) {
+            return FileChannel.open(Paths.get(options.getInput()));
+        }
+
+        InputStream in = AdventRunner.class.getClassLoader().getResourceAsStream(puzzle.getResource());
+        if (in == null) {
+            throw new IllegalArgumentException("Unknown resource: " + puzzle.getResource());
+        }
+        return Channels.newChannel(in);
+    }
+
+    private static void record(Puzzle<?> puzzle, String phase, long nanos) {
+        MetricsRegistry.global().histogram(MetricsRegistry.phase(puzzle.getDay(), phase)).record(nanos);
+    }
+
+    private <T> T parse(Puzzle<T> puzzle, PuzzleInput input) throws IOException {
+        if (options.getCache() != null) {
+            return options.getCache().parse(puzzle, input);
+        }
+        return puzzle.parse(input);
+    }
+
+    static String format(DayResult result) {
+        if (result.isFused()) {
+            return String.format("Day %02d  parse %9.3f ms  parts 1+2 %9.3f ms  | %s | %s",
+                    result.getDay(),
+                    millis(result.getParseNanos()), millis(result.getPart1Nanos()),
+                    result.getPart1(), formatAnswer(result.getPart2()));
+        }
+        return String.format("Day %02d  parse %9.3f ms  part 1 %9.3f ms  part 2 %9.3f ms  | %s | %s",
+                result.getDay(),
+                millis(result.getParseNanos()), millis(result.getPart1Nanos()), millis(result.getPart2Nanos()),
+                result.getPart1(), formatAnswer(result.getPart2()));
+    }
+
+    private static String formatAnswer(Object answer) {
+        String text = String.valueOf(answer);
+        if (text.contains("\n")) {
+            return System.lineSeparator() + text;
+        }
+        return text;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+}
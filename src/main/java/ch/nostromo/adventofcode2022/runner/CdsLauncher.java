@@ -0,0 +1,50 @@
+package ch.nostromo.adventofcode2022.runner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dumps an application class data sharing archive. A child JVM runs the runner with the given arguments as training
+ * run and writes all classes it loaded into the archive on exit. JVMs started with -XX:SharedArchiveFile=archive then
+ * map those classes instead of loading, parsing and verifying them again.
+ * <p>
+ * Classes are only archived from jars, so the classpath must not contain class directories. The archive is only used
+ * with the same classpath and JDK it was dumped with.
+ */
+class CdsLauncher {
+
+    private CdsLauncher() {
+    }
+
+    /**
+     * Runs the training run, returns its exit code.
+     */
+    static int dump(Path archive, List<String> args) throws IOException, InterruptedException {
+        String classPath = System.getProperty("java.class.path");
+        for (String entry : classPath.split(File.pathSeparator)) {
+            if (Files.isDirectory(Paths.get(entry))) {
+                throw new IllegalArgumentException("Class directories are not archived, run from the packaged jar: " + entry);
+            }
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+        command.add("-cp");
+        command.add(classPath);
+        command.add(AdventRunner.class.getName());
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        return process.waitFor();
+    }
+
+}
@@ -0,0 +1,24 @@
+package ch.nostromo.adventofcode2022.runner;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DayResult {
+
+    int day;
+
+    Object part1;
+    Object part2;
+
+    // Reading and parsing the input
+    long parseNanos;
+
+    // Both parts in part1Nanos when solved fused
+    long part1Nanos;
+    long part2Nanos;
+
+    boolean fused;
+
+}
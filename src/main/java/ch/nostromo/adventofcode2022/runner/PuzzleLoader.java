@@ -0,0 +1,107 @@
+package ch.nostromo.adventofcode2022.runner;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the registered puzzles. All days are loaded through {@link ServiceLoader}, which instantiates every provider.
+ * For selected days the provider list is read by name instead and only classes named DayNN of those days are loaded,
+ * which keeps the other days out of a cold start. Days without such a provider fall back to the service loader.
+ */
+class PuzzleLoader {
+
+    private static final String SERVICES = "META-INF/services/" + Puzzle.class.getName();
+
+    private PuzzleLoader() {
+    }
+
+    static List<Puzzle<?>> load(List<Integer> days) {
+        if (days.isEmpty()) {
+            return loadAll(days);
+        }
+
+        List<String> providers = readProviders();
+        List<Puzzle<?>> puzzles = new ArrayList<>();
+        for (int day : days) {
+            Puzzle<?> puzzle = loadByName(providers, day);
+            if (puzzle == null) {
+                return loadAll(days);
+            }
+            puzzles.add(puzzle);
+        }
+        puzzles.sort(Comparator.comparingInt(Puzzle::getDay));
+        return puzzles;
+    }
+
+    private static List<Puzzle<?>> loadAll(List<Integer> days) {
+        List<Puzzle<?>> puzzles = new ArrayList<>();
+        for (Puzzle<?> puzzle : ServiceLoader.load(Puzzle.class)) {
+            if (days.isEmpty() || days.contains(puzzle.getDay())) {
+                puzzles.add(puzzle);
+            }
+        }
+        puzzles.sort(Comparator.comparingInt(Puzzle::getDay));
+        return puzzles;
+    }
+
+    private static Puzzle<?> loadByName(List<String> providers, int day) {
+        String simpleName = String.format("Day%02d", day);
+        for (String provider : providers) {
+            if (provider.endsWith("." + simpleName)) {
+                Puzzle<?> puzzle = instantiate(provider);
+                if (puzzle.getDay() == day) {
+                    return puzzle;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Puzzle<?> instantiate(String provider) {
+        try {
+            return (Puzzle<?>) Class.forName(provider, true, PuzzleLoader.class.getClassLoader()).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Invalid puzzle provider: " + provider, e);
+        }
+    }
+
+    // Same format as ServiceLoader: one class name per line, # starts a comment
+    private static List<String> readProviders() {
+        try {
+            Enumeration<URL> files = PuzzleLoader.class.getClassLoader().getResources(SERVICES);
+            if (!files.hasMoreElements()) {
+                return Collections.emptyList();
+            }
+
+            List<String> providers = new ArrayList<>();
+            while (files.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(files.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int comment = line.indexOf('#');
+                        String name = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                        if (!name.isEmpty()) {
+                            providers.add(name);
+                        }
+                    }
+                }
+            }
+            return providers;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + SERVICES, e);
+        }
+    }
+
+}
@@ -0,0 +1,91 @@
+package ch.nostromo.adventofcode2022.runner;
+
+import ch.nostromo.adventofcode2022.cache.ParsedInputCache;
+import ch.nostromo.adventofcode2022.cache.ResultCache;
+import lombok.Data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line options of the {@link AdventRunner}.
+ */
+@Data
+public class RunOptions {
+
+    List<Integer> days = new ArrayList<>();
+
+    // Both parts through Puzzle.solveBoth
+    boolean fused;
+
+    // Null if parsed inputs are not cached
+    ParsedInputCache cache;
+
+    // Null if answers are not memoized
+    ResultCache results;
+
+    // Print the metrics registry as JSON after the results
+    boolean metrics;
+
+    // Path or "-" for stdin instead of the bundled input, only with a single day
+    String input;
+
+    // Days with a streaming solver read their input chunk by chunk
+    boolean stream;
+
+    // Days with a chunked solver solve the mapped input in parallel chunks
+    boolean parallel;
+
+    // Print where the time of a cold start went
+    boolean startup;
+
+    // Training run in a child JVM which dumps its loaded classes to this archive, null for a normal run
+    Path cdsArchive;
+
+    // Flight recordings and reports per day are written here, null if not profiling
+    Path profileDir;
+
+    public static RunOptions parse(String... args) throws IOException {
+        RunOptions options = new RunOptions();
+
+        for (String arg : args) {
+            if ("--fused".equals(arg)) {
+                options.setFused(true);
+            } else if ("--metrics".equals(arg)) {
+                options.setMetrics(true);
+            } else if ("--cache".equals(arg)) {
+                options.setCache(ParsedInputCache.ofDefault());
+            } else if ("--memoize".equals(arg)) {
+                options.setResults(ResultCache.defaultCapacity() > 0 ? ResultCache.ofDefault() : null);
+            } else if ("--stream".equals(arg)) {
+                options.setStream(true);
+            } else if ("--parallel".equals(arg)) {
+                options.setParallel(true);
+            } else if ("--startup".equals(arg)) {
+                options.setStartup(true);
+            } else if (arg.startsWith("--cds-dump=")) {
+                options.setCdsArchive(Paths.get(arg.substring("--cds-dump=".length())));
+            } else if ("--profile".equals(arg)) {
+                options.setProfileDir(Paths.get("profile"));
+            } else if (arg.startsWith("--profile=")) {
+                options.setProfileDir(Paths.get(arg.substring("--profile=".length())));
+            } else if (arg.startsWith("--input=")) {
+                options.setInput(arg.substring("--input=".length()));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            } else {
+                options.getDays().add(Integer.valueOf(arg));
+            }
+        }
+
+        if (options.getInput() != null && options.getDays().size() != 1) {
+            throw new IllegalArgumentException("--input needs exactly one day");
+        }
+
+        return options;
+    }
+
+}
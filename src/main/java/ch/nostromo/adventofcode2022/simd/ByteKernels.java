@@ -0,0 +1,86 @@
+package ch.nostromo.adventofcode2022.simd;
+
+import ch.nostromo.adventofcode2022.io.InputLine;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * Byte scanning loops of the hot paths, selected once at runtime with -Daoc.kernels=auto|scalar|vector.
+ * <ul>
+ * <li>SCALAR: plain loops, always available</li>
+ * <li>VECTOR: jdk.incubator.vector, only in builds with the simd profile and on JVMs started with
+ * --add-modules jdk.incubator.vector</li>
+ * <li>AUTO: vector kernels if available, scalar ones otherwise, the default</li>
+ * </ul>
+ * Both implementations return the same results for all inputs.
+ */
+public abstract class ByteKernels {
+
+    public static final String PROPERTY = "aoc.kernels";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_CLASS = "ch.nostromo.adventofcode2022.simd.VectorByteKernels";
+
+    private static final ByteKernels INSTANCE = configured();
+
+    public static ByteKernels get() {
+        return INSTANCE;
+    }
+
+    public static ByteKernels configured() {
+        String value = System.getProperty(PROPERTY, "auto");
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "auto": {
+                ByteKernels vector = loadVector();
+                return vector != null ? vector : new ScalarByteKernels();
+            }
+            case "scalar":
+                return new ScalarByteKernels();
+            case "vector": {
+                ByteKernels vector = loadVector();
+                if (vector == null) {
+                    throw new IllegalStateException("Vector kernels not available, build with -Psimd and run with --add-modules " + VECTOR_MODULE);
+                }
+                return vector;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown kernels: " + value);
+        }
+    }
+
+    private static ByteKernels loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            return (ByteKernels) Class.forName(VECTOR_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    public abstract String getName();
+
+    /**
+     * Occurrences of the value between from (inclusive) and to (exclusive).
+     */
+    public abstract int count(ByteBuffer buffer, int from, int to, byte value);
+
+    /**
+     * First char of the first line which also occurs in the second one, -1 if there is none.
+     */
+    public abstract int firstCommon(InputLine first, InputLine second);
+
+    /**
+     * First char of the first line which also occurs in the second and the third one, -1 if there is none.
+     */
+    public abstract int firstCommon(InputLine first, InputLine second, InputLine third);
+
+    /**
+     * Compares a row against the running maximum of each column: exceeds[i] tells if row[offset + i] is higher than
+     * max[i], then max[i] is raised to it.
+     */
+    public abstract void exceedsMax(byte[] row, int offset, byte[] max, boolean[] exceeds, int length);
+
+}
@@ -0,0 +1,95 @@
+package ch.nostromo.adventofcode2022.simd;
+
+import ch.nostromo.adventofcode2022.io.InputLine;
+
+import java.nio.ByteBuffer;
+
+class ScalarByteKernels extends ByteKernels {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public int count(ByteBuffer buffer, int from, int to, byte value) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Chars below 128 are looked up in a 128 bit set, anything else falls back to nested scans
+    @Override
+    public int firstCommon(InputLine first, InputLine second) {
+        if (!isAscii(second)) {
+            return firstCommonNested(first, second, second);
+        }
+        return firstContained(first, charSet(second, 0), charSet(second, 64));
+    }
+
+    @Override
+    public int firstCommon(InputLine first, InputLine second, InputLine third) {
+        if (!isAscii(second) || !isAscii(third)) {
+            return firstCommonNested(first, second, third);
+        }
+        return firstContained(first, charSet(second, 0) & charSet(third, 0), charSet(second, 64) & charSet(third, 64));
+    }
+
+    private static boolean isAscii(InputLine line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.byteAt(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Bit c - base for every char c of the line from base to base + 63
+    private static long charSet(InputLine line, int base) {
+        long set = 0;
+        for (int i = 0; i < line.length(); i++) {
+            int c = line.charAt(i) - base;
+            if (c >= 0 && c < 64) {
+                set |= 1L << c;
+            }
+        }
+        return set;
+    }
+
+    private static int firstContained(InputLine line, long low, long high) {
+        for (int i = 0; i < line.length(); i++) {
+            int c = line.charAt(i);
+            long set = c < 64 ? low : high;
+            if (c < 128 && (set & 1L << c) != 0) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private static int firstCommonNested(InputLine first, InputLine second, InputLine third) {
+        for (int i = 0; i < first.length(); i++) {
+            char c = first.charAt(i);
+            if (second.indexOf(c) != -1 && third.indexOf(c) != -1) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void exceedsMax(byte[] row, int offset, byte[] max, boolean[] exceeds, int length) {
+        for (int i = 0; i < length; i++) {
+            byte value = row[offset + i];
+            exceeds[i] = value > max[i];
+            if (value > max[i]) {
+                max[i] = value;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package ch.nostromo.adventofcode2022.simd;
+
+import ch.nostromo.adventofcode2022.io.InputLine;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Kernels on the preferred vector shape of the CPU, 32 lanes with AVX2. Tails shorter than one vector are left to the
+ * scalar loops.
+ */
+class VectorByteKernels extends ScalarByteKernels {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public int count(ByteBuffer buffer, int from, int to, byte value) {
+        int count = 0;
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            count += ByteVector.fromByteBuffer(SPECIES, buffer, i, ByteOrder.nativeOrder()).eq(value).trueCount();
+        }
+        return count + super.count(buffer, i, to, value);
+    }
+
+    // Lines fitting into one vector are compared against every char of the first line in one step. Like
+    // InputLine.indexOf, chars above 127 never match.
+    @Override
+    public int firstCommon(InputLine first, InputLine second) {
+        if (second.length() > SPECIES.length()) {
+            return super.firstCommon(first, second);
+        }
+
+        VectorMask<Byte> inSecond = SPECIES.indexInRange(0, second.length());
+        ByteVector secondChars = load(second, inSecond);
+        for (int i = 0; i < first.length(); i++) {
+            byte c = first.byteAt(i);
+            if (c >= 0 && secondChars.compare(VectorOperators.EQ, c, inSecond).anyTrue()) {
+                return c & 0xFF;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int firstCommon(InputLine first, InputLine second, InputLine third) {
+        if (second.length() > SPECIES.length() || third.length() > SPECIES.length()) {
+            return super.firstCommon(first, second, third);
+        }
+
+        VectorMask<Byte> inSecond = SPECIES.indexInRange(0, second.length());
+        VectorMask<Byte> inThird = SPECIES.indexInRange(0, third.length());
+        ByteVector secondChars = load(second, inSecond);
+        ByteVector thirdChars = load(third, inThird);
+        for (int i = 0; i < first.length(); i++) {
+            byte c = first.byteAt(i);
+            if (c >= 0 && secondChars.compare(VectorOperators.EQ, c, inSecond).anyTrue()
+                    && thirdChars.compare(VectorOperators.EQ, c, inThird).anyTrue()) {
+                return c & 0xFF;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteVector load(InputLine line, VectorMask<Byte> mask) {
+        return ByteVector.fromByteBuffer(SPECIES, line.getBuffer(), line.getOffset(), ByteOrder.nativeOrder(), mask);
+    }
+
+    @Override
+    public void exceedsMax(byte[] row, int offset, byte[] max, boolean[] exceeds, int length) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(length); i < bound; i += SPECIES.length()) {
+            ByteVector values = ByteVector.fromArray(SPECIES, row, offset + i);
+            ByteVector maxima = ByteVector.fromArray(SPECIES, max, i);
+            values.compare(VectorOperators.GT, maxima).intoArray(exceeds, i);
+            values.max(maxima).intoArray(max, i);
+        }
+        for (; i < length; i++) {
+            byte value = row[offset + i];
+            exceeds[i] = value > max[i];
+            if (value > max[i]) {
+                max[i] = value;
+            }
+        }
+    }
+
+}
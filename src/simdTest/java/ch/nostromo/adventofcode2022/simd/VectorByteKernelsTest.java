@@ -0,0 +1,132 @@
+package ch.nostromo.adventofcode2022.simd;
+
+import ch.nostromo.adventofcode2022.io.InputLine;
+import jdk.incubator.vector.ByteVector;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The vector kernels against the scalar ones, on lengths around the vector length of this CPU and on random lengths.
+ * Buffers end right after the scanned bytes, so loads past the last byte would fail.
+ * <p>
+ * Skipped on JVMs without the vector module, e.g. when a build without the simd profile finds the compiled test.
+ */
+public class VectorByteKernelsTest {
+
+    private final int lanes = ByteVector.SPECIES_PREFERRED.length();
+    private final ByteKernels vector = new VectorByteKernels();
+    private final ByteKernels scalar = new ScalarByteKernels();
+    private final Random random = new Random(2022);
+
+    @BeforeClass
+    public static void vectorModule() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+    }
+
+    @Test
+    public void countMatchesScalar() {
+        for (int length : lengths()) {
+            for (int from = 0; from < 3; from++) {
+                // Few distinct values, so the counted one is frequent, also negative bytes
+                ByteBuffer buffer = bytes(from + length, 4, (byte) -2);
+                for (byte value = -2; value < 2; value++) {
+                    assertEquals("Length " + length + " from " + from + " value " + value,
+                            scalar.count(buffer, from, from + length, value), vector.count(buffer, from, from + length, value));
+                }
+
+                ByteBuffer direct = ByteBuffer.allocateDirect(buffer.capacity()).put(buffer.duplicate().clear());
+                assertEquals("Direct, length " + length + " from " + from,
+                        scalar.count(direct, from, from + length, (byte) 0), vector.count(direct, from, from + length, (byte) 0));
+            }
+        }
+    }
+
+    @Test
+    public void firstCommonOfTwoMatchesScalar() {
+        for (int firstLength : lengths()) {
+            for (int secondLength : lengths()) {
+                for (int distinct : new int[]{8, 52}) {
+                    InputLine first = line(firstLength, distinct);
+                    InputLine second = line(secondLength, distinct);
+                    assertEquals("Lengths " + firstLength + ", " + secondLength,
+                            scalar.firstCommon(first, second), vector.firstCommon(first, second));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void firstCommonOfThreeMatchesScalar() {
+        for (int firstLength : lengths()) {
+            for (int otherLength : lengths()) {
+                for (int distinct : new int[]{8, 52}) {
+                    InputLine first = line(firstLength, distinct);
+                    InputLine second = line(otherLength, distinct);
+                    InputLine third = line(Math.max(0, otherLength - 1), distinct);
+                    assertEquals("Lengths " + firstLength + ", " + otherLength,
+                            scalar.firstCommon(first, second, third), vector.firstCommon(first, second, third));
+                    assertEquals("Lengths " + firstLength + ", " + otherLength + ", swapped",
+                            scalar.firstCommon(first, third, second), vector.firstCommon(first, third, second));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void exceedsMaxMatchesScalar() {
+        for (int length : lengths()) {
+            for (int offset = 0; offset < 3; offset++) {
+                byte[] row = new byte[offset + length];
+                random.nextBytes(row);
+                byte[] max = new byte[length];
+                random.nextBytes(max);
+
+                byte[] scalarMax = max.clone();
+                boolean[] scalarExceeds = new boolean[length];
+                scalar.exceedsMax(row, offset, scalarMax, scalarExceeds, length);
+                byte[] vectorMax = max.clone();
+                boolean[] vectorExceeds = new boolean[length];
+                vector.exceedsMax(row, offset, vectorMax, vectorExceeds, length);
+
+                assertArrayEquals("Max, length " + length + " offset " + offset, scalarMax, vectorMax);
+                assertArrayEquals("Exceeds, length " + length + " offset " + offset, scalarExceeds, vectorExceeds);
+            }
+        }
+    }
+
+    // Empty, single byte, one vector and one byte either side, two vectors either side, and a few random lengths
+    private int[] lengths() {
+        int[] lengths = {0, 1, lanes - 1, lanes, lanes + 1, 2 * lanes - 1, 2 * lanes + 1, 0, 0, 0};
+        for (int i = lengths.length - 3; i < lengths.length; i++) {
+            lengths[i] = random.nextInt(4 * lanes);
+        }
+        return lengths;
+    }
+
+    private ByteBuffer bytes(int length, int distinct, byte lowest) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (lowest + random.nextInt(distinct));
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    // ASCII chars from A on and a few chars above 127, which never match, at the end of a buffer with a short prefix
+    private InputLine line(int length, int distinct) {
+        int prefix = random.nextInt(3);
+        byte[] bytes = new byte[prefix + length];
+        for (int i = prefix; i < bytes.length; i++) {
+            int c = random.nextInt(distinct + 2);
+            bytes[i] = c < distinct ? (byte) ('A' + c) : (byte) (0x80 + c);
+        }
+        return new InputLine(ByteBuffer.wrap(bytes), prefix, length);
+    }
+
+}
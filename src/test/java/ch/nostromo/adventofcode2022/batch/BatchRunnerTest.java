@@ -0,0 +1,68 @@
+package ch.nostromo.adventofcode2022.batch;
+
+import ch.nostromo.adventofcode2022.runner.AdventRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class BatchRunnerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void resultsInInputOrderWithFailuresReported() throws IOException {
+        Path inputs = folder.newFolder("inputs").toPath();
+        write(inputs.resolve("a.txt"), "1000\n2000\n\n4000\n");
+        // Beyond the initial scratch buffer, read on the same worker as the small inputs
+        write(inputs.resolve("b.txt"), "1\n\n".repeat(40_000));
+        write(inputs.resolve("c.txt"), "12ab\n");
+        write(inputs.resolve("d.txt"), "5\n");
+
+        ForkJoinPool pool = new ForkJoinPool(1);
+        List<BatchResult> results = new BatchRunner(pool).run(AdventRunner.loadPuzzles(Collections.singletonList(1)).get(0),
+                BatchRunner.listInputs(inputs));
+        pool.shutdown();
+
+        assertEquals(4, results.size());
+        assertResult(results.get(0), "a.txt", "4000", "7000");
+        assertResult(results.get(1), "b.txt", "1", "3");
+        assertEquals("c.txt", results.get(2).getName());
+        assertNotNull(results.get(2).getError());
+        assertResult(results.get(3), "d.txt", "5", "5");
+    }
+
+    @Test
+    public void scratchBufferLimitedToRequestedSize() {
+        ScratchBuffer scratch = new ScratchBuffer();
+
+        assertEquals(10, scratch.get(10).remaining());
+        assertEquals(1 << 20, scratch.get(1 << 20).remaining());
+        assertEquals(0, scratch.get(10).position());
+        assertEquals(10, scratch.get(10).limit());
+    }
+
+    private static void assertResult(BatchResult result, String name, String part1, String part2) {
+        assertEquals(name, result.getName());
+        assertNull(result.getError());
+        assertEquals(part1, String.valueOf(result.getPart1()));
+        assertEquals(part2, String.valueOf(result.getPart2()));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+}
@@ -0,0 +1,195 @@
+package ch.nostromo.adventofcode2022.batch;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Archives built block by block in memory, then read back from a temporary file.
+ */
+public class TarArchiveTest {
+
+    private static final int BLOCK_SIZE = 512;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void entriesPaddedToBlocks() throws IOException {
+        Tar tar = new Tar()
+                .file("one.txt", repeat('a', 1))
+                .file("block.txt", repeat('b', BLOCK_SIZE))
+                .file("more.txt", repeat('c', BLOCK_SIZE + 1))
+                .file("empty.txt", "")
+                .end();
+
+        List<BatchInput> inputs = read(tar);
+
+        assertEquals(Arrays.asList("one.txt", "block.txt", "more.txt", "empty.txt"), names(inputs));
+        assertEquals(repeat('a', 1), content(inputs.get(0)));
+        assertEquals(repeat('b', BLOCK_SIZE), content(inputs.get(1)));
+        assertEquals(repeat('c', BLOCK_SIZE + 1), content(inputs.get(2)));
+        assertEquals("", content(inputs.get(3)));
+    }
+
+    @Test
+    public void readUpToZeroBlock() throws IOException {
+        Tar tar = new Tar().file("first.txt", "1\n").end().file("after.txt", "2\n");
+
+        assertEquals(Arrays.asList("first.txt"), names(read(tar)));
+    }
+
+    @Test
+    public void readUpToEndWithoutZeroBlock() throws IOException {
+        Tar tar = new Tar().file("first.txt", "1\n").file("second.txt", "2\n");
+
+        assertEquals(Arrays.asList("first.txt", "second.txt"), names(read(tar)));
+    }
+
+    @Test
+    public void onlyRegularFiles() throws IOException {
+        Tar tar = new Tar()
+                .entry("inputs/", (byte) '5', "")
+                .entry("inputs/link.txt", (byte) '2', "")
+                .entry("inputs/fifo", (byte) '6', "")
+                .entry("inputs/old.txt", (byte) 0, "old\n")
+                .file("inputs/new.txt", "new\n")
+                .end();
+
+        List<BatchInput> inputs = read(tar);
+
+        assertEquals(Arrays.asList("inputs/old.txt", "inputs/new.txt"), names(inputs));
+        assertEquals("old\n", content(inputs.get(0)));
+    }
+
+    @Test
+    public void octalSizeFields() throws IOException {
+        String content = repeat('x', 1000);
+        Tar tar = new Tar()
+                .entry("zero-padded.txt", (byte) '0', content, "00000001750\0")
+                .entry("space-padded.txt", (byte) '0', content, "      1750 \0")
+                .entry("space-terminated.txt", (byte) '0', content, "00000001750 ")
+                .end();
+
+        for (BatchInput input : read(tar)) {
+            assertEquals(input.getName(), content, content(input));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidOctalSize() throws IOException {
+        read(new Tar().entry("bad.txt", (byte) '0', "1", "0000000000x\0").end());
+    }
+
+    @Test
+    public void prefixAndLongNames() throws IOException {
+        String longName = "inputs/" + repeat('n', 150) + ".txt";
+        Tar tar = new Tar()
+                .entry("././@LongLink", (byte) 'L', longName + "\0")
+                .file(repeat('t', 100), "long\n")
+                .file("short.txt", "short\n").prefix("users/42")
+                .end();
+
+        List<BatchInput> inputs = read(tar);
+
+        assertEquals(Arrays.asList(longName, "users/42/short.txt"), names(inputs));
+        assertEquals("long\n", content(inputs.get(0)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedEntry() throws IOException {
+        Tar tar = new Tar().file("cut.txt", repeat('z', 2 * BLOCK_SIZE));
+        tar.blocks.truncate(2 * BLOCK_SIZE);
+
+        read(tar);
+    }
+
+    private List<BatchInput> read(Tar tar) throws IOException {
+        Path archive = folder.newFile("inputs.tar").toPath();
+        Files.write(archive, tar.blocks.toByteArray());
+        return TarArchive.read(archive);
+    }
+
+    private static List<String> names(List<BatchInput> inputs) {
+        return Arrays.asList(inputs.stream().map(BatchInput::getName).toArray(String[]::new));
+    }
+
+    private static String content(BatchInput input) throws IOException {
+        ByteBuffer content = input.read(new ScratchBuffer());
+        byte[] bytes = new byte[content.remaining()];
+        content.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static String repeat(char c, int count) {
+        return String.valueOf(c).repeat(count);
+    }
+
+    private static class Tar {
+
+        private final Blocks blocks = new Blocks();
+        private int header;
+
+        Tar file(String name, String content) {
+            return entry(name, (byte) '0', content);
+        }
+
+        Tar entry(String name, byte type, String content) {
+            return entry(name, type, content, String.format("%011o", content.length()) + "\0");
+        }
+
+        Tar entry(String name, byte type, String content, String sizeField) {
+            header = blocks.size();
+            blocks.pad(BLOCK_SIZE);
+            blocks.set(header, name);
+            blocks.set(header + 124, sizeField);
+            blocks.set(header + 156, String.valueOf((char) type));
+            blocks.set(header + 257, "ustar\0");
+
+            blocks.write(content.getBytes(StandardCharsets.US_ASCII), 0, content.length());
+            blocks.pad((BLOCK_SIZE - content.length() % BLOCK_SIZE) % BLOCK_SIZE);
+            return this;
+        }
+
+        // Sets the ustar prefix of the last entry
+        Tar prefix(String prefix) {
+            blocks.set(header + 345, prefix);
+            return this;
+        }
+
+        Tar end() {
+            blocks.pad(2 * BLOCK_SIZE);
+            return this;
+        }
+
+    }
+
+    private static class Blocks extends ByteArrayOutputStream {
+
+        void pad(int count) {
+            write(new byte[count], 0, count);
+        }
+
+        void set(int offset, String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(bytes, 0, buf, offset, bytes.length);
+        }
+
+        void truncate(int size) {
+            count = size;
+        }
+
+    }
+
+}
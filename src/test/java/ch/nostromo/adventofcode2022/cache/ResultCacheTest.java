@@ -0,0 +1,209 @@
+package ch.nostromo.adventofcode2022.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResultCacheTest {
+
+    // Header, then per record day, part, digest, length and text
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_OVERHEAD = 3 * Integer.BYTES + 32;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void evictsLeastRecentlyUsed() throws IOException {
+        ResultCache cache = new ResultCache(2, null);
+        cache.put(1, 1, digest(1), 100);
+        cache.put(1, 2, digest(1), 200);
+
+        assertEquals("100", cache.get(1, 1, digest(1)));
+        cache.put(2, 1, digest(2), 300);
+
+        assertEquals("100", cache.get(1, 1, digest(1)));
+        assertNull(cache.get(1, 2, digest(1)));
+        assertEquals("300", cache.get(2, 1, digest(2)));
+    }
+
+    @Test
+    public void keyedByDayPartAndDigest() throws IOException {
+        ResultCache cache = new ResultCache(10, null);
+        cache.put(3, 1, digest(7), "abc");
+
+        assertEquals("abc", cache.get(3, 1, digest(7)));
+        assertNull(cache.get(3, 2, digest(7)));
+        assertNull(cache.get(4, 1, digest(7)));
+        assertNull(cache.get(3, 1, digest(8)));
+    }
+
+    @Test
+    public void answersReplayedAfterRestart() throws IOException {
+        Path log = folder.getRoot().toPath().resolve("results.log");
+
+        ResultCache cache = new ResultCache(10, log);
+        cache.put(1, 1, digest(1), 24000);
+        cache.put(10, 2, digest(2), "##..\n..##");
+        cache.put(1, 1, digest(1), 45000);
+        cache.close();
+
+        ResultCache reopened = new ResultCache(10, log);
+        assertEquals("45000", reopened.get(1, 1, digest(1)));
+        assertEquals("##..\n..##", reopened.get(10, 2, digest(2)));
+        reopened.close();
+    }
+
+    @Test
+    public void logCompactedOnOpen() throws IOException {
+        Path log = folder.getRoot().toPath().resolve("results.log");
+
+        ResultCache cache = new ResultCache(2, log);
+        for (int i = 0; i < 10; i++) {
+            cache.put(5, 1, digest(i), "answer" + i);
+        }
+        cache.close();
+        assertEquals(HEADER_SIZE + 10 * (RECORD_OVERHEAD + 7), Files.size(log));
+
+        ResultCache reopened = new ResultCache(2, log);
+        reopened.close();
+        assertEquals(HEADER_SIZE + 2 * (RECORD_OVERHEAD + 7), Files.size(log));
+
+        // The most recent answers are kept, in their order of use
+        ResultCache compacted = new ResultCache(2, log);
+        assertNull(compacted.get(5, 1, digest(7)));
+        assertEquals("answer8", compacted.get(5, 1, digest(8)));
+        assertEquals("answer9", compacted.get(5, 1, digest(9)));
+        compacted.close();
+    }
+
+    @Test
+    public void appendsAfterCompactionByAnotherCacheKept() throws IOException {
+        Path log = folder.getRoot().toPath().resolve("results.log");
+
+        ResultCache first = new ResultCache(10, log);
+        for (int i = 0; i < 3; i++) {
+            first.put(4, 1, digest(i), "answer" + i);
+        }
+
+        // Replaces the log by its compacted copy while the first cache still appends
+        ResultCache second = new ResultCache(1, log);
+        second.close();
+        first.put(4, 2, digest(9), "after");
+        first.close();
+
+        ResultCache reopened = new ResultCache(10, log);
+        assertEquals("answer2", reopened.get(4, 1, digest(2)));
+        assertEquals("after", reopened.get(4, 2, digest(9)));
+        reopened.close();
+        assertTrue(Files.exists(ResultCache.lockFile(log)));
+    }
+
+    @Test
+    public void answersReturnedAsText() throws IOException {
+        ResultCache cache = new ResultCache(10, null);
+        cache.put(1, 1, digest(1), 24000L);
+
+        assertEquals("24000", cache.get(1, 1, digest(1)));
+    }
+
+    @Test
+    public void tornLastRecordDropped() throws IOException {
+        Path log = folder.getRoot().toPath().resolve("results.log");
+
+        ResultCache cache = new ResultCache(10, log);
+        cache.put(2, 1, digest(1), "first");
+        cache.put(2, 1, digest(2), "second");
+        cache.put(2, 1, digest(3), "third");
+        cache.close();
+
+        long valid = HEADER_SIZE + 2 * (RECORD_OVERHEAD + 5) + RECORD_OVERHEAD + 6;
+        for (long torn = valid - 1; torn > valid - 6 - RECORD_OVERHEAD; torn -= 7) {
+            try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                channel.truncate(torn);
+            }
+
+            ResultCache reopened = new ResultCache(10, log);
+            assertEquals("first", reopened.get(2, 1, digest(1)));
+            assertEquals("second", reopened.get(2, 1, digest(2)));
+            assertNull(reopened.get(2, 1, digest(3)));
+
+            // Appends after the repaired end stay readable
+            reopened.put(2, 1, digest(3), "third");
+            reopened.close();
+            assertEquals(valid, Files.size(log));
+            ResultCache repaired = new ResultCache(10, log);
+            assertEquals("third", repaired.get(2, 1, digest(3)));
+            repaired.close();
+        }
+    }
+
+    @Test
+    public void foreignFileReplaced() throws IOException {
+        Path log = folder.getRoot().toPath().resolve("results.log");
+        Files.write(log, "not a result log".getBytes(StandardCharsets.US_ASCII));
+
+        ResultCache cache = new ResultCache(10, log);
+        cache.put(6, 1, digest(1), 7);
+        cache.close();
+
+        ResultCache reopened = new ResultCache(10, log);
+        assertEquals("7", reopened.get(6, 1, digest(1)));
+        reopened.close();
+        assertEquals(HEADER_SIZE + RECORD_OVERHEAD + 1, Files.size(log));
+    }
+
+    @Test
+    public void zeroCapacityLeavesLogUntouched() throws IOException {
+        Path log = folder.getRoot().toPath().resolve("results.log");
+        ResultCache cache = new ResultCache(1, log);
+        for (int i = 0; i < 5; i++) {
+            cache.put(7, 1, digest(i), "answer" + i);
+        }
+        cache.close();
+        byte[] logged = Files.readAllBytes(log);
+
+        // Not replayed, not compacted although beyond twice the capacity, and not appended to
+        ResultCache disabled = new ResultCache(0, log);
+        assertNull(disabled.get(7, 1, digest(4)));
+        disabled.put(7, 1, digest(5), "answer5");
+        assertNull(disabled.get(7, 1, digest(5)));
+        disabled.close();
+        assertArrayEquals(logged, Files.readAllBytes(log));
+
+        Path missing = folder.getRoot().toPath().resolve("missing/results.log");
+        new ResultCache(0, missing).close();
+        assertFalse(Files.exists(missing.getParent()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeCapacity() throws IOException {
+        new ResultCache(-1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDigest() throws IOException {
+        new ResultCache(10, null).put(1, 1, new byte[16], 1);
+    }
+
+    private static byte[] digest(int seed) {
+        byte[] digest = new byte[32];
+        Arrays.fill(digest, (byte) seed);
+        return digest;
+    }
+
+}
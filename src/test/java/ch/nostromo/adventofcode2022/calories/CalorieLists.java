@@ -0,0 +1,78 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import ch.nostromo.adventofcode2022.generator.InputGenerators;
+import ch.nostromo.adventofcode2022.puzzle0102.TopK;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Generated calorie lists and their elf totals, summed line by line as the original day 1 did.
+ */
+class CalorieLists {
+
+    private CalorieLists() {
+    }
+
+    static byte[] generate(long size, long seed) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            InputGenerators.generate(1, size, seed, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] withCrlf(byte[] input) {
+        return new String(input, StandardCharsets.US_ASCII).replace("\n", "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Total per elf in input order, every blank line ends an elf.
+     */
+    static long[] totals(byte[] input) {
+        String text = new String(input, StandardCharsets.US_ASCII).replaceFirst("\r?\n$", "");
+
+        long[] totals = new long[16];
+        int elves = 0;
+        long total = 0;
+        for (String line : text.split("\r?\n", -1)) {
+            if (line.isEmpty()) {
+                if (elves == totals.length) {
+                    totals = Arrays.copyOf(totals, elves * 2);
+                }
+                totals[elves++] = total;
+                total = 0;
+            } else {
+                total += Long.parseLong(line);
+            }
+        }
+
+        totals = Arrays.copyOf(totals, elves + 1);
+        totals[elves] = total;
+        return totals;
+    }
+
+    /**
+     * The k highest totals, ties to the earlier elf.
+     */
+    static List<TopK.RankedElf> ranked(long[] totals, int k) {
+        List<TopK.RankedElf> elves = new ArrayList<>();
+        for (int i = 0; i < totals.length; i++) {
+            elves.add(new TopK.RankedElf(i + 1, totals[i]));
+        }
+        return elves.stream()
+                .sorted(Comparator.comparingLong(TopK.RankedElf::getCalories).reversed().thenComparingLong(TopK.RankedElf::getElf))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+}
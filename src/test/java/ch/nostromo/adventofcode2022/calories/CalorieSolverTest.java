@@ -0,0 +1,114 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Chunked sums against the totals of a sequential pass. Cuts are requested at every byte offset and moved to the next
+ * line start like the chunk splitter does, so they land after blank lines, in the middle of elves and between the \r
+ * and \n of CRLF input.
+ */
+public class CalorieSolverTest {
+
+    private static final int K = 3;
+
+    private static final List<byte[]> INPUTS = new ArrayList<>();
+
+    static {
+        byte[] generated = CalorieLists.generate(300, 1);
+        INPUTS.add(generated);
+        INPUTS.add(CalorieLists.withCrlf(generated));
+        for (String text : new String[]{
+                "1000\n2000\n3000\n\n4000\n\n5000\n6000\n\n7000\n8000\n9000\n\n10000\n",
+                "\n5\n\n\n7\n8\n\n3",
+                "12\r\n\r\n\r\n40\r\n2\r\n\r\n",
+                "42"}) {
+            INPUTS.add(text.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void twoChunksCutAtEveryOffset() {
+        CalorieSolver solver = new CalorieSolver(K, true);
+
+        for (byte[] bytes : INPUTS) {
+            PuzzleInput input = PuzzleInput.of(bytes);
+            long[] totals = CalorieLists.totals(bytes);
+
+            for (long offset = 0; offset <= input.size(); offset++) {
+                long cut = input.nextLineStart(offset);
+                CalorieSolver.Chunk combined = solver.combine(
+                        chunk(solver, input, 0, cut),
+                        chunk(solver, input, cut, input.size()));
+
+                assertSolved("cut at " + cut, totals, solver, combined);
+            }
+        }
+    }
+
+    @Test
+    public void threeChunksCombinedInBothOrders() {
+        CalorieSolver solver = new CalorieSolver(K, true);
+
+        for (byte[] bytes : INPUTS) {
+            PuzzleInput input = PuzzleInput.of(bytes);
+            long[] totals = CalorieLists.totals(bytes);
+
+            for (long first = 0; first <= input.size(); first++) {
+                for (long second = first; second <= input.size(); second++) {
+                    long left = input.nextLineStart(first);
+                    long right = input.nextLineStart(second);
+                    String message = "cuts at " + left + " and " + right;
+
+                    assertSolved(message, totals, solver, solver.combine(
+                            solver.combine(chunk(solver, input, 0, left), chunk(solver, input, left, right)),
+                            chunk(solver, input, right, input.size())));
+                    assertSolved(message, totals, solver, solver.combine(
+                            chunk(solver, input, 0, left),
+                            solver.combine(chunk(solver, input, left, right), chunk(solver, input, right, input.size()))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void everyChunkCount() {
+        byte[] generated = CalorieLists.generate(32 << 10, 2);
+
+        for (byte[] bytes : new byte[][]{generated, CalorieLists.withCrlf(generated)}) {
+            PuzzleInput input = PuzzleInput.of(bytes);
+            long[] totals = CalorieLists.totals(bytes);
+
+            for (int chunks = 1; chunks <= 100; chunks++) {
+                CalorieSolver solver = new CalorieSolver(K, true);
+                CalorieSolver.Chunk partial = ChunkedSolver.reduce(input, ForkJoinPool.commonPool(), solver, chunks);
+
+                assertSolved(chunks + " chunks", totals, solver, partial);
+            }
+        }
+    }
+
+    private static CalorieSolver.Chunk chunk(CalorieSolver solver, PuzzleInput input, long start, long end) {
+        CalorieSolver.Chunk chunk = solver.newPartial();
+        solver.acceptChunk(chunk, input, start, end);
+        return chunk;
+    }
+
+    private static void assertSolved(String message, long[] totals, CalorieSolver solver, CalorieSolver.Chunk partial) {
+        assertEquals(message, CalorieLists.ranked(totals, K), solver.rank(partial).ranked());
+
+        CalorieStats stats = solver.statistics(partial);
+        assertEquals(message + " elves", totals.length, stats.getCount());
+        assertEquals(message + " calories", LongStream.of(totals).sum(), stats.getSum());
+    }
+
+}
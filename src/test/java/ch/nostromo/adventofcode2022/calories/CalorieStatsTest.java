@@ -0,0 +1,92 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CalorieStatsTest {
+
+    private static final double MAX_RANK_ERROR = 0.025;
+
+    @Test
+    public void exactTotalsForEveryChunkCount() {
+        byte[] input = CalorieLists.generate(256 << 10, 1);
+        long[] totals = CalorieLists.totals(input);
+
+        for (int chunks : new int[]{1, 2, 3, 7, 16, 64}) {
+            CalorieSolver solver = new CalorieSolver(3, true);
+            CalorieStats stats = solver.statistics(
+                    ChunkedSolver.reduce(PuzzleInput.of(input), ForkJoinPool.commonPool(), solver, chunks));
+
+            assertExact(chunks + " chunks", totals, stats);
+            assertPercentiles(chunks + " chunks", totals, stats);
+        }
+    }
+
+    @Test
+    public void mergedAcrossFiles() {
+        byte[] first = CalorieLists.generate(128 << 10, 2);
+        byte[] second = CalorieLists.withCrlf(CalorieLists.generate(64 << 10, 3));
+        long[] totals = LongStream.concat(
+                Arrays.stream(CalorieLists.totals(first)), Arrays.stream(CalorieLists.totals(second))).toArray();
+
+        List<PuzzleInput> inputs = Arrays.asList(PuzzleInput.of(first), PuzzleInput.of(second));
+        CalorieStats stats = CalorieStats.of(ForkJoinPool.commonPool(), inputs);
+
+        assertExact("two files", totals, stats);
+        assertPercentiles("two files", totals, stats);
+    }
+
+    @Test
+    public void histogramCoversAllElves() {
+        long[] totals = CalorieLists.totals(CalorieLists.generate(64 << 10, 4));
+        CalorieStats stats = new CalorieStats();
+        for (long total : totals) {
+            stats.add(total);
+        }
+
+        List<CalorieStats.Bucket> histogram = stats.histogram(10);
+
+        assertEquals(stats.getMin(), histogram.get(0).getFrom());
+        assertEquals(totals.length, histogram.stream().mapToLong(CalorieStats.Bucket::getCount).sum());
+        for (int i = 1; i < histogram.size(); i++) {
+            assertEquals(histogram.get(i - 1).getTo(), histogram.get(i).getFrom());
+        }
+        assertTrue(histogram.get(histogram.size() - 1).getTo() > stats.getMax());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void percentileWithoutElves() {
+        new CalorieStats().percentile(50);
+    }
+
+    private static void assertExact(String message, long[] totals, CalorieStats stats) {
+        assertEquals(message + " count", totals.length, stats.getCount());
+        assertEquals(message + " sum", LongStream.of(totals).sum(), stats.getSum());
+        assertEquals(message + " min", LongStream.of(totals).min().getAsLong(), stats.getMin());
+        assertEquals(message + " max", LongStream.of(totals).max().getAsLong(), stats.getMax());
+        assertEquals(message + " p0", stats.getMin(), stats.percentile(0));
+        assertEquals(message + " p100", stats.getMax(), stats.percentile(100));
+    }
+
+    private static void assertPercentiles(String message, long[] totals, CalorieStats stats) {
+        long[] sorted = totals.clone();
+        Arrays.sort(sorted);
+
+        for (int percentile = 5; percentile < 100; percentile += 5) {
+            long estimate = stats.percentile(percentile);
+            long atOrBelow = Arrays.stream(sorted).filter(total -> total <= estimate).count();
+            assertEquals(message + " p" + percentile, percentile / 100.0, (double) atOrBelow / sorted.length,
+                    MAX_RANK_ERROR);
+        }
+    }
+
+}
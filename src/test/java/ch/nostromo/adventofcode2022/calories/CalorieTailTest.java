@@ -0,0 +1,124 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CalorieTailTest {
+
+    private static final int K = 3;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void appendsAreParsedIncrementally() throws IOException {
+        Path file = folder.newFile().toPath();
+        byte[] generated = CalorieLists.generate(64 << 10, 1);
+
+        try (CalorieTail tail = new CalorieTail(file, K)) {
+            // Appends of varying size, most of them ending inside a line
+            int written = 0;
+            for (int size = 1; written < generated.length; size = size * 3 + 1) {
+                int end = Math.min(generated.length, written + size);
+                append(file, new String(generated, written, end - written, StandardCharsets.US_ASCII));
+                written = end;
+
+                tail.poll();
+                assertLeaderboard(tail, new String(generated, 0, written, StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    public void partialLastLineWaitsForItsLineBreak() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        try (CalorieTail tail = new CalorieTail(file, K)) {
+            append(file, "100\n\n20");
+            assertTrue(tail.poll());
+            assertEquals(5, tail.getPosition());
+            assertLeaderboard(tail, "100\n\n");
+
+            append(file, "0");
+            assertFalse(tail.poll());
+
+            append(file, "\n");
+            assertTrue(tail.poll());
+            assertEquals(9, tail.getPosition());
+            assertLeaderboard(tail, "100\n\n200\n");
+        }
+    }
+
+    @Test
+    public void pollWithoutNewLinesKeepsLeaderboard() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        try (CalorieTail tail = new CalorieTail(file, K)) {
+            assertFalse(tail.poll());
+            assertEquals(Collections.emptyList(), tail.getLeaderboard());
+
+            append(file, "5\n\n7\n");
+            assertTrue(tail.poll());
+            assertFalse(tail.poll());
+            assertLeaderboard(tail, "5\n\n7\n");
+        }
+    }
+
+    @Test
+    public void truncatedFileIsReadAgain() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        try (CalorieTail tail = new CalorieTail(file, K)) {
+            append(file, "9000\n\n8000\n\n7000\n");
+            tail.poll();
+
+            Files.writeString(file, "1\n2\n\n3\n");
+            assertTrue(tail.poll());
+            assertEquals(7, tail.getPosition());
+            assertLeaderboard(tail, "1\n2\n\n3\n");
+
+            Files.writeString(file, "");
+            assertTrue(tail.poll());
+            assertEquals(Collections.emptyList(), tail.getLeaderboard());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lineLongerThanMaximum() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        try (CalorieTail tail = new CalorieTail(file, K)) {
+            append(file, "1".repeat(CalorieTail.MAX_LINE_LENGTH + 2));
+            tail.poll();
+        }
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+
+    // Leaderboard of the complete lines of the content, the last elf is ranked with what it carries so far
+    private static void assertLeaderboard(CalorieTail tail, String content) {
+        String complete = content.substring(0, content.lastIndexOf('\n') + 1);
+        assertEquals(complete.length(), tail.getPosition());
+        if (complete.isEmpty()) {
+            assertEquals(Collections.emptyList(), tail.getLeaderboard());
+        } else {
+            assertEquals(CalorieLists.ranked(CalorieLists.totals(complete.getBytes(StandardCharsets.US_ASCII)), K),
+                    tail.getLeaderboard());
+        }
+    }
+
+}
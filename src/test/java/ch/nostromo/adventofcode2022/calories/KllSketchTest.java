@@ -0,0 +1,126 @@
+package ch.nostromo.adventofcode2022.calories;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KllSketchTest {
+
+    // About three times the expected rank error of 1.7 / k for the default k
+    private static final double MAX_RANK_ERROR = 0.025;
+
+    @Test
+    public void quantilesWithinRankErrorOfExact() {
+        long[] values = randomValues(200_000, 1);
+        KllSketch sketch = new KllSketch();
+        for (long value : values) {
+            sketch.add(value);
+        }
+
+        assertQuantiles(values, sketch);
+    }
+
+    @Test
+    public void rankWithinErrorOfExact() {
+        long[] values = randomValues(200_000, 2);
+        KllSketch sketch = new KllSketch();
+        for (long value : values) {
+            sketch.add(value);
+        }
+        Arrays.sort(values);
+
+        for (int i = 1; i < 100; i++) {
+            long value = values[values.length * i / 100];
+            double exact = (double) upperBound(values, value) / values.length;
+            assertEquals("rank of " + value, exact, sketch.rank(value), MAX_RANK_ERROR);
+        }
+    }
+
+    @Test
+    public void mergedSketchesWithinRankErrorOfExact() {
+        long[] values = randomValues(200_000, 3);
+
+        // Unequal parts, as chunks and files are
+        KllSketch merged = new KllSketch();
+        int from = 0;
+        for (int part = 1; from < values.length; part++) {
+            int to = Math.min(values.length, from + part * 5_000);
+            KllSketch sketch = new KllSketch();
+            for (int i = from; i < to; i++) {
+                sketch.add(values[i]);
+            }
+            merged.merge(sketch);
+            from = to;
+        }
+
+        assertEquals(values.length, merged.getCount());
+        assertQuantiles(values, merged);
+    }
+
+    @Test
+    public void exactBelowCapacity() {
+        KllSketch sketch = new KllSketch(8);
+        for (long value : new long[]{5, 1, 4, 2, 3}) {
+            sketch.add(value);
+        }
+
+        assertEquals(1, sketch.quantile(0));
+        assertEquals(3, sketch.quantile(0.5));
+        assertEquals(5, sketch.quantile(1));
+        assertEquals(0.4, sketch.rank(2), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void quantileOfEmptySketch() {
+        new KllSketch().quantile(0.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidFraction() {
+        KllSketch sketch = new KllSketch();
+        sketch.add(1);
+        sketch.quantile(1.5);
+    }
+
+    private static void assertQuantiles(long[] values, KllSketch sketch) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (int i = 1; i < 100; i++) {
+            double fraction = i / 100.0;
+            long estimate = sketch.quantile(fraction);
+            double exactRank = (double) upperBound(sorted, estimate) / sorted.length;
+            assertTrue("p" + i + " estimated " + estimate + " at rank " + exactRank,
+                    Math.abs(exactRank - fraction) <= MAX_RANK_ERROR);
+        }
+    }
+
+    // Number of values at or below the given one
+    private static int upperBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long[] randomValues(int count, long seed) {
+        Random random = new Random(seed);
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (long) (Math.abs(random.nextGaussian()) * 50_000);
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,99 @@
+package ch.nostromo.adventofcode2022.daemon;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Round trips through a daemon on a loopback port, without result cache.
+ */
+public class SolverDaemonTest {
+
+    private SolverDaemon daemon;
+    private Thread server;
+
+    @Before
+    public void start() throws IOException {
+        daemon = new SolverDaemon(0, null, 2, Protocol.MAX_INPUT_SIZE);
+        server = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, "solver-daemon-test");
+        server.setDaemon(true);
+        server.start();
+    }
+
+    @After
+    public void stop() throws IOException, InterruptedException {
+        daemon.close();
+        server.join(5000);
+    }
+
+    @Test
+    public void answersBothParts() throws IOException {
+        Map<Integer, String> answers = new TreeMap<>();
+
+        try (SolverClient client = new SolverClient(daemon.getPort())) {
+            client.solve(1, Protocol.BOTH_PARTS, example("day01.txt"), (part, answer, nanos) -> answers.put(part, answer));
+        }
+
+        assertEquals("24000", answers.get(1));
+        assertEquals("45000", answers.get(2));
+    }
+
+    @Test
+    public void oversizedLengthAnsweredWithError() throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(1);
+            out.writeInt(Protocol.BOTH_PARTS);
+            out.writeInt(Protocol.MAX_INPUT_SIZE + 1);
+            out.flush();
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            assertEquals(Protocol.ERROR, in.readByte());
+            assertEquals("Invalid input length: " + (Protocol.MAX_INPUT_SIZE + 1), in.readUTF());
+            assertEquals("Connection closed after the error", -1, in.read());
+        }
+    }
+
+    @Test
+    public void unknownDayAnsweredWithErrorAndConnectionKept() throws IOException {
+        try (SolverClient client = new SolverClient(daemon.getPort())) {
+            try {
+                client.solve(26, Protocol.BOTH_PARTS, example("day01.txt"), (part, answer, nanos) -> fail(answer));
+                fail("Unknown day solved");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().endsWith("Unknown day: 26"));
+            }
+
+            Map<Integer, String> answers = new TreeMap<>();
+            client.solve(1, 1, example("day01.txt"), (part, answer, nanos) -> answers.put(part, answer));
+            assertEquals("24000", answers.get(1));
+        }
+    }
+
+    private static byte[] example(String name) throws IOException {
+        try (InputStream in = SolverDaemonTest.class.getClassLoader().getResourceAsStream("examples/" + name)) {
+            return in.readAllBytes();
+        }
+    }
+
+}
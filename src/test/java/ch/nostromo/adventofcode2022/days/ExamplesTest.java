@@ -0,0 +1,81 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The worked examples from the puzzle descriptions in the Javadoc of the puzzle classes, with the answers given there,
+ * day 1 lists with fewer than three elves or totals beyond the int range, and day 3 rucksacks longer than the
+ * streaming scratch buffer.
+ */
+@RunWith(Parameterized.class)
+public class ExamplesTest {
+
+    private static final String CRT = String.join("\n",
+            "##..##..##..##..##..##..##..##..##..##..",
+            "###...###...###...###...###...###...###.",
+            "####....####....####....####....####....",
+            "#####.....#####.....#####.....#####.....",
+            "######......######......######......####",
+            "#######.......#######.......#######.....");
+
+    private final int day;
+    private final String resource;
+    private final String part1;
+    private final String part2;
+
+    public ExamplesTest(int day, String resource, String part1, String part2) {
+        this.day = day;
+        this.resource = resource;
+        this.part1 = part1;
+        this.part2 = part2;
+    }
+
+    @Parameters(name = "{1}")
+    public static List<Object[]> examples() {
+        return Arrays.asList(new Object[][]{
+                {1, "day01.txt", "24000", "45000"},
+                {1, "day01-2.txt", "300", "600"},
+                {1, "day01-3.txt", "5", "5"},
+                {1, "day01-4.txt", "4294967294", "7294967295"},
+                {2, "day02.txt", "15", "12"},
+                {3, "day03.txt", "157", "70"},
+                {3, "day03-2.txt", "8", "2"},
+                {4, "day04.txt", "2", "4"},
+                {5, "day05.txt", "CMZ", "MCD"},
+                {6, "day06-1.txt", "7", "19"},
+                {6, "day06-2.txt", "5", "23"},
+                {6, "day06-3.txt", "6", "23"},
+                {6, "day06-4.txt", "10", "29"},
+                {6, "day06-5.txt", "11", "26"},
+                {7, "day07.txt", "95437", "24933642"},
+                {8, "day08.txt", "21", "8"},
+                {9, "day09-1.txt", "13", "1"},
+                {9, "day09-2.txt", "88", "36"},
+                {10, "day10.txt", "13140", CRT},
+                {11, "day11.txt", "10605", "2713310158"},
+                {12, "day12.txt", "31", "29"},
+        });
+    }
+
+    @Test
+    public void answersOfAllPaths() throws IOException {
+        byte[] input = SolverPaths.resource("examples/" + resource);
+
+        for (Map.Entry<String, Answers> answers : SolverPaths.solveAll(SolverPaths.puzzle(day), input).entrySet()) {
+            assertEquals(answers.getKey() + " part 1", part1, String.valueOf(answers.getValue().getPart1()).trim());
+            assertEquals(answers.getKey() + " part 2", part2, String.valueOf(answers.getValue().getPart2()).trim());
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package ch.nostromo.adventofcode2022.days;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Malformed inputs, rejected with an IllegalArgumentException by every path a day offers.
+ */
+@RunWith(Parameterized.class)
+public class InvalidInputsTest {
+
+    private final int day;
+    private final String input;
+    private final String message;
+
+    public InvalidInputsTest(int day, String name, String input, String message) {
+        this.day = day;
+        this.input = input;
+        this.message = message;
+    }
+
+    @Parameters(name = "{1}")
+    public static List<Object[]> inputs() {
+        return Arrays.asList(new Object[][]{
+                {2, "day 2 round without separator", "A Y\nAXY\nC Z\n", "Invalid round"},
+                {2, "day 2 round too short", "A Y\nA\nC Z\n", "Invalid round"},
+                {3, "day 3 group of one rucksack", "vJrwpWtwJgWrhcsFMMfFFhFp\njqHRNqRjqzjGDLGLrsFMfFZSrLrFZsSL\n"
+                        + "PmmdzqPrVvPwwTWBwg\nwMqvLMZHhHMvwLHjbvcjnnSBnvTQFn\n", "Incomplete group"},
+                {3, "day 3 group of two rucksacks", "vJrwpWtwJgWrhcsFMMfFFhFp\njqHRNqRjqzjGDLGLrsFMfFZSrLrFZsSL\n",
+                        "Incomplete group"},
+        });
+    }
+
+    @Test
+    public void rejectedByEveryPath() {
+        byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+
+        for (Map.Entry<String, SolverPaths.Path> path : SolverPaths.paths(SolverPaths.puzzle(day), bytes).entrySet()) {
+            IllegalArgumentException e = assertThrows(path.getKey(), IllegalArgumentException.class, path.getValue()::solve);
+            assertTrue(path.getKey() + ": " + e.getMessage(), e.getMessage().contains(message));
+        }
+    }
+
+}
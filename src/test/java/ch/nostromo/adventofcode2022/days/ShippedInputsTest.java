@@ -0,0 +1,70 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The accepted answers for the inputs bundled in src/main/resources.
+ */
+@RunWith(Parameterized.class)
+public class ShippedInputsTest {
+
+    private static final String CRT = String.join("\n",
+            "####.#....###..#....####..##..####.#....",
+            "#....#....#..#.#.......#.#..#....#.#....",
+            "###..#....#..#.#......#..#......#..#....",
+            "#....#....###..#.....#...#.##..#...#....",
+            "#....#....#....#....#....#..#.#....#....",
+            "####.####.#....####.####..###.####.####.");
+
+    private final int day;
+    private final String part1;
+    private final String part2;
+
+    public ShippedInputsTest(int day, String part1, String part2) {
+        this.day = day;
+        this.part1 = part1;
+        this.part2 = part2;
+    }
+
+    @Parameters(name = "day {0}")
+    public static List<Object[]> answers() {
+        return Arrays.asList(new Object[][]{
+                {1, "64929", "193697"},
+                {2, "11063", "10349"},
+                {3, "8349", "2681"},
+                {4, "538", "792"},
+                {5, "NTWZZWHFV", "BRZGFVBTJ"},
+                {6, "1658", "2260"},
+                {7, "1315285", "9847279"},
+                {8, "1662", "537600"},
+                {9, "6256", "2665"},
+                {10, "14780", CRT},
+                {11, "113220", "30599555965"},
+                {12, "352", "345"},
+        });
+    }
+
+    @Test
+    public void answersOfAllPaths() throws IOException {
+        Puzzle<?> puzzle = SolverPaths.puzzle(day);
+        byte[] input = SolverPaths.resource(puzzle.getResource());
+
+        for (Map.Entry<String, Answers> answers : SolverPaths.solveAll(puzzle, input).entrySet()) {
+            assertEquals(answers.getKey() + " part 1", part1, String.valueOf(answers.getValue().getPart1()).trim());
+            assertEquals(answers.getKey() + " part 2", part2, String.valueOf(answers.getValue().getPart2()).trim());
+        }
+    }
+
+}
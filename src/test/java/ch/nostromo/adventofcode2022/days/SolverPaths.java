@@ -0,0 +1,100 @@
+package ch.nostromo.adventofcode2022.days;
+
+import ch.nostromo.adventofcode2022.Answers;
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.cache.ParsedCodec;
+import ch.nostromo.adventofcode2022.io.ChunkedSolver;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.io.StreamingSolver;
+import ch.nostromo.adventofcode2022.runner.AdventRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Solves an input through every path a day offers: both parts separately, fused, from the parsed input cache codec,
+ * streaming and in parallel chunks.
+ */
+class SolverPaths {
+
+    private SolverPaths() {
+    }
+
+    static Puzzle<?> puzzle(int day) {
+        return AdventRunner.loadPuzzles(Collections.singletonList(day)).get(0);
+    }
+
+    static byte[] resource(String name) {
+        try (InputStream in = SolverPaths.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown resource: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + name, e);
+        }
+    }
+
+    /**
+     * Answers per path, keyed by path name.
+     */
+    static <T> Map<String, Answers> solveAll(Puzzle<T> puzzle, byte[] input) throws IOException {
+        Map<String, Answers> answers = new LinkedHashMap<>();
+        for (Map.Entry<String, Path> path : paths(puzzle, input).entrySet()) {
+            answers.put(path.getKey(), path.getValue().solve());
+        }
+        return answers;
+    }
+
+    /**
+     * Every path on its own, keyed by path name. Each one parses the input again, so a failing parse fails every path
+     * that depends on it.
+     */
+    static <T> Map<String, Path> paths(Puzzle<T> puzzle, byte[] input) {
+        Map<String, Path> paths = new LinkedHashMap<>();
+
+        paths.put("parts", () -> {
+            T parsed = puzzle.parse(PuzzleInput.of(input));
+            return new Answers(puzzle.solvePart1(parsed), puzzle.solvePart2(parsed));
+        });
+        paths.put("fused", () -> puzzle.solveBoth(puzzle.parse(PuzzleInput.of(input))));
+
+        ParsedCodec<T> codec = puzzle.getCodec();
+        if (codec != null) {
+            paths.put("codec", () -> {
+                T parsed = puzzle.parse(PuzzleInput.of(input));
+                ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(codec.size(parsed)));
+                codec.write(parsed, buffer);
+                buffer.flip();
+                return puzzle.solveBoth(codec.read(buffer));
+            });
+        }
+
+        StreamingSolver streamingSolver = puzzle.streamingSolver();
+        if (streamingSolver != null) {
+            paths.put("stream", () -> StreamingSolver.solve(Channels.newChannel(new ByteArrayInputStream(input)), streamingSolver));
+        }
+
+        ChunkedSolver<?> chunkedSolver = puzzle.chunkedSolver();
+        if (chunkedSolver != null) {
+            paths.put("chunked", () -> ChunkedSolver.solve(PuzzleInput.of(input), ForkJoinPool.commonPool(), chunkedSolver, 3));
+        }
+
+        return paths;
+    }
+
+    interface Path {
+
+        Answers solve() throws IOException;
+
+    }
+
+}
@@ -0,0 +1,197 @@
+package ch.nostromo.adventofcode2022.grid;
+
+import ch.nostromo.adventofcode2022.io.InputLine;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The same cell operations on every {@link GridStorage}.
+ */
+@RunWith(Parameterized.class)
+public class GridStorageTest {
+
+    private final GridStorage storage;
+
+    public GridStorageTest(GridStorage storage) {
+        this.storage = storage;
+    }
+
+    @Parameters(name = "{0}")
+    public static List<Object[]> storages() {
+        return Arrays.asList(new Object[][]{{GridStorage.HEAP}, {GridStorage.DIRECT}, {GridStorage.MAPPED}});
+    }
+
+    @Test
+    public void byteCellsUnsigned() {
+        ByteGrid grid = ByteGrid.allocate(3, 2, 0, 0, storage);
+        assertEquals(storage != GridStorage.HEAP, grid.isOffHeap());
+
+        grid.set(2, 1, 255);
+        grid.set(0, 0, 7);
+
+        assertEquals(255, grid.get(2, 1));
+        assertEquals(255, grid.getAt(5));
+        assertEquals(7, grid.get(0, 0));
+        assertEquals(0, grid.get(1, 0));
+        assertEquals(5, grid.indexOf(255));
+        assertEquals(-1, grid.indexOf(9));
+    }
+
+    @Test
+    public void bytePaddingFilled() {
+        ByteGrid grid = ByteGrid.allocate(2, 2, 1, 9, storage);
+        grid.set(1, 1, 3);
+
+        assertEquals(16, grid.capacity());
+        assertEquals(9, grid.get(-1, -1));
+        assertEquals(9, grid.get(2, 2));
+        int[] offsets = grid.getNeighbourOffsets();
+        assertEquals(3, grid.getAt(grid.index(1, 0) + offsets[1]));
+        assertEquals(9, grid.getAt(grid.index(1, 1) + offsets[3]));
+        assertEquals(9, grid.getAt(grid.index(0, 0) + offsets[0]));
+    }
+
+    @Test
+    public void byteRowsCopiedAndScanned() {
+        ByteGrid grid = ByteGrid.allocate(4, 3, 1, 0, storage);
+        grid.putRow(1, new byte[]{-1, 1, 2, 3, 4, -1}, 1);
+
+        byte[] row = new byte[6];
+        grid.copyRow(1, row, 2);
+        assertArrayEquals(new byte[]{0, 0, 1, 2, 3, 4}, row);
+
+        ByteGrid.Line line = grid.row(1);
+        assertEquals(4, line.length());
+        for (int x = 0; x < line.length(); x++) {
+            assertEquals(x + 1, line.get(x));
+        }
+        assertEquals(0, grid.get(-1, 1));
+        assertEquals(0, grid.get(4, 1));
+
+        ByteGrid.Line column = grid.column(2);
+        column.set(2, 200);
+        assertEquals(3, column.length());
+        assertEquals(3, column.get(1));
+        assertEquals(200, grid.get(2, 2));
+    }
+
+    @Test
+    public void byteGridOfLines() {
+        List<InputLine> lines = PuzzleInput.of("305\n251\n".getBytes(StandardCharsets.US_ASCII)).lines();
+        ByteGrid grid = ByteGrid.ofLines(lines, c -> c - '0', storage);
+
+        assertEquals(3, grid.getWidth());
+        assertEquals(2, grid.getHeight());
+        assertEquals(5, grid.get(2, 0));
+        assertEquals(2, grid.get(0, 1));
+
+        ByteGrid transposed = grid.transpose();
+        assertEquals(5, transposed.get(0, 2));
+        assertEquals(2, transposed.get(1, 0));
+    }
+
+    @Test
+    public void byteGridOfInput() {
+        ByteGrid grid = ByteGrid.ofInput(PuzzleInput.of("305\r\n251".getBytes(StandardCharsets.US_ASCII)), c -> c - '0', storage);
+
+        assertEquals(3, grid.getWidth());
+        assertEquals(2, grid.getHeight());
+        assertEquals(5, grid.get(2, 0));
+        assertEquals(1, grid.get(2, 1));
+        assertEquals(storage != GridStorage.HEAP, grid.isOffHeap());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void byteGridOfInputWithRaggedLines() {
+        ByteGrid.ofInput(PuzzleInput.of("305\n25\n".getBytes(StandardCharsets.US_ASCII)), c -> c - '0', storage);
+    }
+
+    @Test
+    public void intCellsAcrossSegments() {
+        assumeTrue(storage != GridStorage.HEAP);
+
+        // 35 cells in buffers of 8, the last one holds 3
+        IntGrid grid = new BufferIntGrid(5, 3, 1, storage, 3);
+        for (int i = 0; i < grid.capacity(); i++) {
+            grid.setAt(i, i * 7);
+        }
+        for (int i = 0; i < grid.capacity(); i++) {
+            assertEquals(i * 7, grid.getAt(i));
+        }
+        assertEquals(8 * 7, grid.get(0, 0));
+        assertEquals(34 * 7, grid.get(5, 3));
+
+        grid.fill(-1);
+        assertEquals(-1, grid.getAt(0));
+        assertEquals(-1, grid.getAt(7));
+        assertEquals(-1, grid.getAt(8));
+        assertEquals(-1, grid.getAt(34));
+    }
+
+    @Test
+    public void intCells() {
+        IntGrid grid = IntGrid.allocate(3, 2, 1, Integer.MAX_VALUE, storage);
+        grid.set(0, 0, -5);
+        grid.column(2).set(1, 1 << 20);
+
+        assertEquals(-5, grid.get(0, 0));
+        assertEquals(1 << 20, grid.get(2, 1));
+        assertEquals(Integer.MAX_VALUE, grid.get(1, 1));
+        assertEquals(Integer.MAX_VALUE, grid.get(-1, 2));
+
+        IntGrid.Line row = grid.row(1);
+        assertEquals(3, row.length());
+        assertEquals(1 << 20, row.get(2));
+
+        grid.fill(0);
+        assertEquals(0, grid.get(3, -1));
+        assertEquals(0, grid.get(0, 0));
+
+        IntGrid transposed = grid.transpose();
+        assertEquals(2, transposed.getWidth());
+        assertEquals(3, transposed.getHeight());
+    }
+
+    @Test
+    public void shortCells() {
+        // Short grids only live on the heap
+        ShortGrid grid = ShortGrid.padded(2, 3, 1, -1);
+        grid.set(1, 2, Short.MAX_VALUE);
+        grid.row(0).set(0, Short.MIN_VALUE);
+
+        assertEquals(Short.MAX_VALUE, grid.get(1, 2));
+        assertEquals(Short.MIN_VALUE, grid.getAt(grid.index(0, 0)));
+        assertEquals(-1, grid.get(2, 3));
+        assertEquals(Short.MAX_VALUE, grid.column(1).get(2));
+        assertEquals(Short.MAX_VALUE, grid.transpose().get(2, 1));
+    }
+
+    @Test
+    public void wrappedBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{9, 1, 2, 3, 4, 5, 6});
+        buffer.position(1);
+
+        ByteGrid grid = ByteGrid.wrap(buffer, 3, 2);
+        assertEquals(1, grid.get(0, 0));
+        assertEquals(6, grid.get(2, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrappedSizeOverflowingInt() {
+        // 65536 * 65536 wraps to 0 in int arithmetic
+        ByteGrid.wrap(ByteBuffer.allocate(0), 1 << 16, 1 << 16);
+    }
+
+}
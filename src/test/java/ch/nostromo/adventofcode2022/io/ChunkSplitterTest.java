@@ -0,0 +1,142 @@
+package ch.nostromo.adventofcode2022.io;
+
+import ch.nostromo.adventofcode2022.days.Day01;
+import ch.nostromo.adventofcode2022.days.Day03;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Inputs cut into two chunks, padded so that the cut is asked for exactly on a separator or one byte either side.
+ */
+public class ChunkSplitterTest {
+
+    // Calories of three elves, the blank line separating the third one from the rest is at offset 15
+    private static final String ELVES = "1000\n2000\n3000\n\n";
+    private static final int BLANK_LINE = 15;
+
+    // First group of the day 3 example, the second group starts at offset 77
+    private static final String GROUP = "vJrwpWtwJgWrhcsFMMfFFhFp\njqHRNqRjqzjGDLGLrsFMfFZSrLrFZsSL\nPmmdzqPrVvPwwTWBwg\n";
+    private static final int NEXT_GROUP = 77;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+
+    @AfterClass
+    public static void shutdown() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void blankLineBoundaryAroundSeparator() {
+        for (int cut = BLANK_LINE - 1; cut <= BLANK_LINE + 1; cut++) {
+            PuzzleInput input = calories(2 * cut);
+            assertArrayEquals("Cut at " + cut, new long[]{0, BLANK_LINE + 1, input.size()},
+                    ChunkSplitter.split(input, POOL, ChunkBoundary.BLANK_LINE, 2));
+        }
+    }
+
+    @Test
+    public void blankLineBoundaryMovedToNextBlankLine() {
+        // Inside the first line after the blank one, the padding starts with the next blank line
+        PuzzleInput input = calories(2 * (BLANK_LINE + 2));
+
+        assertArrayEquals(new long[]{0, ELVES.length() + "4000\n\n".length(), input.size()},
+                ChunkSplitter.split(input, POOL, ChunkBoundary.BLANK_LINE, 2));
+    }
+
+    @Test
+    public void blankLineBoundaryAroundCrLfSeparator() {
+        // The blank line is \r\n at offsets 18 and 19
+        int blankLineEnd = BLANK_LINE + 5;
+        for (int cut = blankLineEnd - 3; cut <= blankLineEnd; cut++) {
+            PuzzleInput input = calories("\r\n", 2 * cut);
+            assertArrayEquals("Cut at " + cut, new long[]{0, blankLineEnd, input.size()},
+                    ChunkSplitter.split(input, POOL, ChunkBoundary.BLANK_LINE, 2));
+        }
+    }
+
+    @Test
+    public void dayOneChunksCutAroundBlankLine() {
+        Day01 day = new Day01();
+        for (int cut = BLANK_LINE - 1; cut <= BLANK_LINE + 1; cut++) {
+            PuzzleInput input = calories(2 * cut);
+            assertEquals("Cut at " + cut, ChunkedSolver.solve(input, POOL, day.chunkedSolver(), 1),
+                    ChunkedSolver.solve(input, POOL, day.chunkedSolver(), 2));
+        }
+    }
+
+    @Test
+    public void lineGroupBoundaryAroundSeparator() {
+        ChunkBoundary groups = ChunkBoundary.lineGroups(3);
+        // On the line break ending the group and on the start of the next group
+        for (int cut = NEXT_GROUP - 1; cut <= NEXT_GROUP; cut++) {
+            PuzzleInput input = rucksacks(2 * cut);
+            assertArrayEquals("Cut at " + cut, new long[]{0, NEXT_GROUP, input.size()},
+                    ChunkSplitter.split(input, POOL, groups, 2));
+        }
+
+        // Inside the first line of the next group, the next group start is the end of the input
+        PuzzleInput input = rucksacks(2 * (NEXT_GROUP + 1));
+        assertArrayEquals(new long[]{0, input.size()}, ChunkSplitter.split(input, POOL, groups, 2));
+    }
+
+    @Test
+    public void dayThreeChunksCutAroundGroupSeparator() {
+        Day03 day = new Day03();
+        for (int cut = NEXT_GROUP - 1; cut <= NEXT_GROUP + 1; cut++) {
+            PuzzleInput input = rucksacks(2 * cut);
+            assertEquals("Cut at " + cut, ChunkedSolver.solve(input, POOL, day.chunkedSolver(), 1),
+                    ChunkedSolver.solve(input, POOL, day.chunkedSolver(), 2));
+        }
+    }
+
+    @Test
+    public void dayThreeChunksRejectIncompleteLastGroup() {
+        Day03 day = new Day03();
+        // The second group without its last rucksack, cut on the group separator
+        PuzzleInput input = PuzzleInput.of(ascii(GROUP + "b".repeat(NEXT_GROUP - 4) + "\nbb\n"));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ChunkedSolver.solve(input, POOL, day.chunkedSolver(), 2));
+        assertTrue(e.getMessage(), e.getMessage().contains("Incomplete group"));
+    }
+
+    private static PuzzleInput calories(int size) {
+        return calories("\n", size);
+    }
+
+    // The elves followed by one more elf, a blank line and short calorie lines up to the given size
+    private static PuzzleInput calories(String lineBreak, int size) {
+        StringBuilder builder = new StringBuilder((ELVES + "4000\n\n").replace("\n", lineBreak));
+        int padding = size - builder.length();
+        while (padding % (1 + lineBreak.length()) != 0) {
+            builder.append("11").append(lineBreak);
+            padding -= 2 + lineBreak.length();
+        }
+        builder.append(("1" + lineBreak).repeat(padding / (1 + lineBreak.length())));
+        return of(builder, size);
+    }
+
+    // The group followed by a second one, its first rucksack padded up to the given size, which must be even
+    private static PuzzleInput rucksacks(int size) {
+        int padding = size - GROUP.length();
+        return of(GROUP + "b".repeat(padding - 7) + "\nbb\nbb\n", size);
+    }
+
+    private static PuzzleInput of(CharSequence content, int size) {
+        assertEquals(size, content.length());
+        return PuzzleInput.of(ascii(content.toString()));
+    }
+
+    private static byte[] ascii(String content) {
+        return content.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
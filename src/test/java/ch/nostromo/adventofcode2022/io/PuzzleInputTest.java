@@ -0,0 +1,87 @@
+package ch.nostromo.adventofcode2022.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Channels read into heap segments, with a small segment size so the input is cut several times.
+ */
+public class PuzzleInputTest {
+
+    private static final int SEGMENT_SIZE = 1 << 20;
+
+    @Test
+    public void segmentsEndOnLineBreaks() throws IOException {
+        byte[] bytes = lines(3 * SEGMENT_SIZE + 12345);
+        PuzzleInput input = PuzzleInput.read(Channels.newChannel(new ByteArrayInputStream(bytes)), SEGMENT_SIZE);
+
+        assertEquals(bytes.length, input.size());
+        assertArrayEquals(bytes, copy(input));
+
+        List<ByteBuffer> segments = segments(input);
+        assertTrue(segments.size() > 3);
+        for (ByteBuffer segment : segments) {
+            assertEquals('\n', segment.get(segment.limit() - 1));
+        }
+    }
+
+    @Test
+    public void lastSegmentSizedToItsContent() throws IOException {
+        byte[] bytes = lines(SEGMENT_SIZE + 100);
+        PuzzleInput input = PuzzleInput.read(Channels.newChannel(new ByteArrayInputStream(bytes)), SEGMENT_SIZE);
+
+        List<ByteBuffer> segments = segments(input);
+        assertEquals(2, segments.size());
+        assertTrue(segments.get(1).capacity() < SEGMENT_SIZE / 4);
+        assertArrayEquals(bytes, copy(input));
+    }
+
+    @Test
+    public void emptyChannel() throws IOException {
+        PuzzleInput input = PuzzleInput.read(Channels.newChannel(new ByteArrayInputStream(new byte[0])), SEGMENT_SIZE);
+
+        assertEquals(0, input.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lineLongerThanSegment() throws IOException {
+        byte[] bytes = new byte[SEGMENT_SIZE + 1];
+        PuzzleInput.read(Channels.newChannel(new ByteArrayInputStream(bytes)), SEGMENT_SIZE);
+    }
+
+    // Numbered lines of varying length up to at least the given size
+    private static byte[] lines(int size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; out.size() < size; i++) {
+            out.writeBytes(("x".repeat(i % 97) + i + "\n").getBytes(StandardCharsets.US_ASCII));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] copy(PuzzleInput input) {
+        byte[] bytes = new byte[(int) input.size()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = input.byteAt(i);
+        }
+        return bytes;
+    }
+
+    private static List<ByteBuffer> segments(PuzzleInput input) {
+        List<ByteBuffer> segments = new ArrayList<>();
+        input.forEachSegment(0, input.size(), (segment, from, to) -> segments.add(segment));
+        return segments;
+    }
+
+}
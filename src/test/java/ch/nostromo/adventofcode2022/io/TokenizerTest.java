@@ -0,0 +1,96 @@
+package ch.nostromo.adventofcode2022.io;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TokenizerTest {
+
+    @Test
+    public void symbolOfAsciiShared() {
+        assertSame("A", Tokenizer.symbol((byte) 'A'));
+        assertSame("*", Tokenizer.symbol((byte) '*'));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void symbolAboveAscii() {
+        // 0xC1 would be folded onto 'A'
+        Tokenizer.symbol((byte) 0xC1);
+    }
+
+    @Test
+    public void parseIntAtTheBounds() {
+        assertEquals(Integer.MAX_VALUE, Tokenizer.parseInt(line("2147483647")));
+        assertEquals(Integer.MIN_VALUE, Tokenizer.parseInt(line("-2147483648")));
+        assertEquals(0, Tokenizer.parseInt(line("0")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseIntAboveRange() {
+        Tokenizer.parseInt(line("2147483648"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseIntBelowRange() {
+        Tokenizer.parseInt(line("-2147483649"));
+    }
+
+    @Test
+    public void parseLongBeyondIntRange() {
+        assertEquals(4294967296L, Tokenizer.parseLong(line("4294967296")));
+    }
+
+    @Test
+    public void parseLongAtTheBounds() {
+        assertEquals(Long.MAX_VALUE, Tokenizer.parseLong(line("9223372036854775807")));
+        assertEquals(Long.MIN_VALUE, Tokenizer.parseLong(line("-9223372036854775808")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseLongAboveRange() {
+        Tokenizer.parseLong(line("9223372036854775808"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseLongBelowRange() {
+        Tokenizer.parseLong(line("-9223372036854775809"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseIntOfTwentyDigits() {
+        // Wraps to 1 without overflow detection
+        Tokenizer.parseInt(line("18446744073709551617"));
+    }
+
+    @Test
+    public void nextLongAtTheBounds() {
+        Tokenizer tokenizer = new Tokenizer(line("9223372036854775807 -9223372036854775808"));
+        assertEquals(Long.MAX_VALUE, tokenizer.nextLong());
+        assertEquals(Long.MIN_VALUE, tokenizer.nextLong());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextLongAboveRange() {
+        new Tokenizer(line("move 9223372036854775808 from 1")).nextLong();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextIntOfTwentyDigits() {
+        new Tokenizer(line("move 18446744073709551617 from 1")).nextInt();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextIntAboveRange() {
+        new Tokenizer(line("move 4294967296 from 1")).nextInt();
+    }
+
+    private static InputLine line(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return new InputLine(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+}
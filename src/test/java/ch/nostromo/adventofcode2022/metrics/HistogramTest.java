@@ -0,0 +1,125 @@
+package ch.nostromo.adventofcode2022.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest {
+
+    @Test
+    public void exactBelowSubBucketCount() {
+        for (long value = 0; value < 32; value++) {
+            int index = Histogram.indexOf(value);
+            assertEquals(value, index);
+            assertEquals(value, Histogram.lowestEquivalentValue(index));
+            assertEquals(value, Histogram.highestEquivalentValue(index));
+        }
+    }
+
+    @Test
+    public void subBucketEdges() {
+        // 32 - 63 still have a bucket per value, from 64 on a sub-bucket spans two values
+        assertEquals(32, Histogram.indexOf(32));
+        assertEquals(63, Histogram.indexOf(63));
+        assertEquals(63, Histogram.highestEquivalentValue(63));
+        assertEquals(64, Histogram.indexOf(64));
+        assertEquals(64, Histogram.indexOf(65));
+        assertEquals(65, Histogram.indexOf(66));
+        assertEquals(64, Histogram.lowestEquivalentValue(64));
+        assertEquals(65, Histogram.highestEquivalentValue(64));
+        assertEquals(127, Histogram.highestEquivalentValue(Histogram.indexOf(127)));
+        assertEquals(126, Histogram.lowestEquivalentValue(Histogram.indexOf(127)));
+    }
+
+    @Test
+    public void powersOfTwoStartABucket() {
+        for (int exponent = 5; exponent < 63; exponent++) {
+            long value = 1L << exponent;
+            int index = Histogram.indexOf(value);
+            assertEquals(value, Histogram.lowestEquivalentValue(index));
+            assertEquals(value - 1, Histogram.highestEquivalentValue(Histogram.indexOf(value - 1)));
+            assertEquals(index - 1, Histogram.indexOf(value - 1));
+        }
+    }
+
+    @Test
+    public void equivalentRangeContainsValueWithinRelativeError() {
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            int index = Histogram.indexOf(value);
+            long lowest = Histogram.lowestEquivalentValue(index);
+            long highest = Histogram.highestEquivalentValue(index);
+            assertTrue(value + " in [" + lowest + ", " + highest + "]", lowest <= value && value <= highest);
+            assertTrue("Relative error of " + value, (highest - lowest) / (double) lowest < 1 / 32d);
+        }
+    }
+
+    @Test
+    public void maxTrackableValue() {
+        int index = Histogram.indexOf(Long.MAX_VALUE);
+        // Last counter of the array
+        assertEquals((Long.SIZE - 5) * 32 - 1, index);
+        assertEquals(Long.MAX_VALUE, Histogram.highestEquivalentValue(index));
+        assertEquals(63L << 57, Histogram.lowestEquivalentValue(index));
+
+        Histogram histogram = new Histogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeValueRejected() {
+        new Histogram().record(-1);
+    }
+
+    @Test
+    public void emptyHistogram() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void percentilesOfExactValues() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 20; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(20, histogram.getCount());
+        assertEquals(10.5, histogram.getMean(), 1e-9);
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(1, histogram.getPercentile(5));
+        assertEquals(2, histogram.getPercentile(5.1));
+        assertEquals(10, histogram.getPercentile(50));
+        assertEquals(19, histogram.getPercentile(95));
+        assertEquals(20, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void percentileCappedAtMax() {
+        Histogram histogram = new Histogram();
+        histogram.record(1000);
+
+        // 1000 shares its sub-bucket with values up to 1007
+        assertEquals(1007, Histogram.highestEquivalentValue(Histogram.indexOf(1000)));
+        assertEquals(1000, histogram.getPercentile(50));
+        assertEquals(1000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void percentileReportsHighestEquivalentValue() {
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(5000);
+
+        assertEquals(1007, histogram.getPercentile(50));
+        assertEquals(1007, histogram.getPercentile(99));
+        assertEquals(5000, histogram.getPercentile(99.5));
+    }
+
+}
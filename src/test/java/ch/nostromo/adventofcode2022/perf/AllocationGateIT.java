@@ -0,0 +1,111 @@
+package ch.nostromo.adventofcode2022.perf;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.runner.AdventRunner;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Allocation regression gate, run by failsafe in every mvn verify. Every day parses and solves a generated input in an
+ * interpreted JVM (-Xint) on the scalar kernels, where no allocation is scalarized and bytes per op are the same on
+ * every run. Bytes per op may grow by perf.allocGateTolerance (a fraction of the baseline). Days missing in the
+ * baseline are reported but do not fail.
+ * <p>
+ * Exact counts differ between Java versions, so there is one baseline per java.specification.version,
+ * perf/allocations-java17.json for Java 17. On a version without baseline the gate only reports.
+ * <p>
+ * With -Dperf.updateBaseline=true the measurements are written to the baseline of the running version in
+ * perf.allocations.dir instead of being compared.
+ */
+public class AllocationGateIT {
+
+    private static final String BASELINE_RESOURCE = "perf/allocations-java" + System.getProperty("java.specification.version") + ".json";
+
+    private static final int OPS = 2;
+
+    @Test
+    public void noAllocationRegressionAgainstBaseline() throws IOException {
+        Map<String, PerfResult> measured = new TreeMap<>();
+        for (Puzzle<?> puzzle : AdventRunner.loadPuzzles(Collections.emptyList())) {
+            long size = inputSize(puzzle.getDay());
+            long bytesPerOp = PerfHarness.bytesPerOp(puzzle, PerfHarness.generate(puzzle.getDay(), size), OPS);
+            measured.put(PerfBaseline.key(puzzle.getDay()), new PerfResult(size, Double.NaN, bytesPerOp));
+        }
+
+        PerfBaseline.write(Paths.get("target", "perf", "allocations.json"), measured);
+
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            Path file = Paths.get(System.getProperty("perf.allocations.dir", "src/test/resources/perf"))
+                    .resolve(Paths.get(BASELINE_RESOURCE).getFileName());
+            PerfBaseline.write(file, measured);
+            System.out.println("Allocation baseline written to " + file);
+            return;
+        }
+
+        Map<String, PerfResult> baseline = readBaseline();
+        if (baseline == null) {
+            System.out.println("No " + BASELINE_RESOURCE + ", create it with -Dperf.updateBaseline=true");
+            return;
+        }
+
+        List<String> regressions = compare(baseline, measured,
+                Double.parseDouble(System.getProperty("perf.allocGateTolerance", "0.02")));
+
+        assertTrue("Allocation regressions:" + System.lineSeparator() + String.join(System.lineSeparator(), regressions),
+                regressions.isEmpty());
+    }
+
+    /**
+     * Generated input size per day, a quarter of the perf gate size as the interpreter is slow. Day 11 gets less, its
+     * rounds dominate even then.
+     */
+    static long inputSize(int day) {
+        return day == 11 ? 1 << 10 : PerfGateIT.inputSize(day) / 4;
+    }
+
+    static List<String> compare(Map<String, PerfResult> baseline, Map<String, PerfResult> measured, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+
+        for (Map.Entry<String, PerfResult> entry : measured.entrySet()) {
+            String day = entry.getKey();
+            PerfResult current = entry.getValue();
+            PerfResult expected = baseline.get(day);
+
+            String line = String.format("%s  %12d B/op", day, current.getBytesPerOp());
+            if (expected == null) {
+                System.out.println(line + "  (no baseline)");
+                continue;
+            }
+            System.out.println(line + String.format("  baseline %12d B/op", expected.getBytesPerOp()));
+
+            if (expected.getSize() != current.getSize()) {
+                regressions.add(day + ": baseline measured with input size " + expected.getSize() + ", now " + current.getSize());
+                continue;
+            }
+            if (current.getBytesPerOp() > expected.getBytesPerOp() * (1 + tolerance)) {
+                regressions.add(String.format("%s: %d B/op, baseline %d B/op", day, current.getBytesPerOp(), expected.getBytesPerOp()));
+            }
+        }
+
+        return regressions;
+    }
+
+    // Null if there is none for the running Java version
+    private static Map<String, PerfResult> readBaseline() throws IOException {
+        try (InputStream in = AllocationGateIT.class.getClassLoader().getResourceAsStream(BASELINE_RESOURCE)) {
+            return in != null ? PerfBaseline.read(in) : null;
+        }
+    }
+
+}
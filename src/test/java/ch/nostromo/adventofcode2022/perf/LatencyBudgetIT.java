@@ -0,0 +1,75 @@
+package ch.nostromo.adventofcode2022.perf;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+import ch.nostromo.adventofcode2022.runner.AdventRunner;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Timed tier, run by failsafe in the perf-gate profile. Every day parses and solves one generated input of
+ * {@link #SCALE} times the perf gate size, including class loading and JIT warmup, and has to finish within its
+ * budget. Budgets are about five times a cold run on a developer machine and can be scaled with
+ * -Dlatency.budgetFactor.
+ */
+public class LatencyBudgetIT {
+
+    static final int SCALE = 4;
+
+    @Test
+    public void everyDayWithinBudget() throws IOException {
+        double factor = Double.parseDouble(System.getProperty("latency.budgetFactor", "1"));
+
+        List<String> overBudget = new ArrayList<>();
+        for (Puzzle<?> puzzle : AdventRunner.loadPuzzles(Collections.emptyList())) {
+            long budget = Math.round(budgetMillis(puzzle.getDay()) * factor);
+            double millis = run(puzzle, PerfHarness.generate(puzzle.getDay(), PerfGateIT.inputSize(puzzle.getDay()) * SCALE));
+
+            System.out.println(String.format("day%02d  %9.1f ms  budget %6d ms", puzzle.getDay(), millis, budget));
+            if (millis > budget) {
+                overBudget.add(String.format("day%02d: %.1f ms, budget %d ms", puzzle.getDay(), millis, budget));
+            }
+        }
+
+        assertTrue("Over latency budget:" + System.lineSeparator() + String.join(System.lineSeparator(), overBudget),
+                overBudget.isEmpty());
+    }
+
+    private static <T> double run(Puzzle<T> puzzle, byte[] input) {
+        long start = System.nanoTime();
+        puzzle.solveBoth(puzzle.parse(PuzzleInput.of(input)));
+        return (System.nanoTime() - start) / 1_000_000d;
+    }
+
+    static long budgetMillis(int day) {
+        switch (day) {
+            case 6:
+                return 250;
+            case 1:
+            case 3:
+            case 4:
+            case 8:
+            case 10:
+                return 500;
+            case 2:
+            case 5:
+            case 7:
+                return 1000;
+            case 12:
+                return 1500;
+            case 9:
+                return 2000;
+            case 11:
+                return 5000;
+            default:
+                throw new IllegalArgumentException("Unknown day: " + day);
+        }
+    }
+
+}
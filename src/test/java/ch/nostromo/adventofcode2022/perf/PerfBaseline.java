@@ -0,0 +1,85 @@
+package ch.nostromo.adventofcode2022.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads and writes the baseline JSON, one object per day:
+ * <pre>
+ * {
+ *   "day01": {"size": 1048576, "opsPerSec": 812.4, "bytesPerOp": 4718920}
+ * }
+ * </pre>
+ * Baselines of allocations only leave out opsPerSec, which reads as NaN.
+ */
+public class PerfBaseline {
+
+    private static final Pattern DAY = Pattern.compile("\"(day\\d+)\"\\s*:\\s*\\{([^}]*)}");
+    private static final Pattern FIELD = Pattern.compile("\"(\\w+)\"\\s*:\\s*([-+0-9.eE]+)");
+
+    public static String key(int day) {
+        return String.format("day%02d", day);
+    }
+
+    public static Map<String, PerfResult> read(InputStream in) throws IOException {
+        Map<String, PerfResult> results = new TreeMap<>();
+
+        Matcher day = DAY.matcher(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        while (day.find()) {
+            Map<String, String> fields = new TreeMap<>();
+            Matcher field = FIELD.matcher(day.group(2));
+            while (field.find()) {
+                fields.put(field.group(1), field.group(2));
+            }
+
+            results.put(day.group(1), new PerfResult(
+                    Long.parseLong(required(fields, day.group(1), "size")),
+                    fields.containsKey("opsPerSec") ? Double.parseDouble(fields.get("opsPerSec")) : Double.NaN,
+                    Long.parseLong(required(fields, day.group(1), "bytesPerOp"))));
+        }
+
+        return results;
+    }
+
+    private static String required(Map<String, String> fields, String day, String name) {
+        String value = fields.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name + " for " + day);
+        }
+        return value;
+    }
+
+    public static String toJson(Map<String, PerfResult> results) {
+        StringBuilder json = new StringBuilder("{\n");
+
+        String separator = "";
+        for (Map.Entry<String, PerfResult> entry : results.entrySet()) {
+            PerfResult result = entry.getValue();
+            json.append(separator)
+                    .append("  \"").append(entry.getKey()).append("\": {")
+                    .append("\"size\": ").append(result.getSize());
+            if (!Double.isNaN(result.getOpsPerSec())) {
+                json.append(", \"opsPerSec\": ").append(String.format(Locale.ROOT, "%.1f", result.getOpsPerSec()));
+            }
+            json.append(", \"bytesPerOp\": ").append(result.getBytesPerOp())
+                    .append('}');
+            separator = ",\n";
+        }
+
+        return json.append("\n}\n").toString();
+    }
+
+    public static void write(Path file, Map<String, PerfResult> results) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, toJson(results));
+    }
+
+}
@@ -0,0 +1,117 @@
+package ch.nostromo.adventofcode2022.perf;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.runner.AdventRunner;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Performance regression gate, run by failsafe in the perf-gate profile. Every day is measured on a generated input
+ * and compared against perf/baseline.json: throughput may drop by perf.tolerance, allocations per op may grow by
+ * perf.allocTolerance (fractions of the baseline). Days missing in the baseline are reported but do not fail.
+ * <p>
+ * With -Dperf.updateBaseline=true the measurements are written to perf.baseline.file instead of being compared.
+ */
+public class PerfGateIT {
+
+    private static final String BASELINE_RESOURCE = "perf/baseline.json";
+
+    @Test
+    public void noRegressionAgainstBaseline() throws IOException {
+        PerfHarness harness = new PerfHarness(
+                Long.getLong("perf.warmupMillis", 2000),
+                Long.getLong("perf.roundMillis", 500),
+                Integer.getInteger("perf.rounds", 6));
+
+        Map<String, PerfResult> measured = new TreeMap<>();
+        for (Puzzle<?> puzzle : AdventRunner.loadPuzzles(Collections.emptyList())) {
+            PerfResult result = harness.measure(puzzle, inputSize(puzzle.getDay()));
+            measured.put(PerfBaseline.key(puzzle.getDay()), result);
+        }
+
+        PerfBaseline.write(Paths.get("target", "perf", "results.json"), measured);
+
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            Path file = Paths.get(System.getProperty("perf.baseline.file", "src/test/resources/" + BASELINE_RESOURCE));
+            PerfBaseline.write(file, measured);
+            System.out.println("Baseline written to " + file);
+            return;
+        }
+
+        List<String> regressions = compare(readBaseline(), measured,
+                Double.parseDouble(System.getProperty("perf.tolerance", "0.3")),
+                Double.parseDouble(System.getProperty("perf.allocTolerance", "0.1")));
+
+        assertTrue("Performance regressions:" + System.lineSeparator() + String.join(System.lineSeparator(), regressions),
+                regressions.isEmpty());
+    }
+
+    /**
+     * Generated input size per day, chosen so one op takes a few milliseconds.
+     */
+    static long inputSize(int day) {
+        switch (day) {
+            case 8:
+            case 9:
+                return 32 << 10;
+            case 11:
+                return 16 << 10;
+            case 12:
+                return 4 << 10;
+            default:
+                return 256 << 10;
+        }
+    }
+
+    static List<String> compare(Map<String, PerfResult> baseline, Map<String, PerfResult> measured,
+                                double tolerance, double allocTolerance) {
+        List<String> regressions = new ArrayList<>();
+
+        for (Map.Entry<String, PerfResult> entry : measured.entrySet()) {
+            String day = entry.getKey();
+            PerfResult current = entry.getValue();
+            PerfResult expected = baseline.get(day);
+
+            String line = String.format("%s  %10.1f ops/s  %12d B/op", day, current.getOpsPerSec(), current.getBytesPerOp());
+            if (expected == null) {
+                System.out.println(line + "  (no baseline)");
+                continue;
+            }
+            System.out.println(line + String.format("  baseline %10.1f ops/s  %12d B/op", expected.getOpsPerSec(), expected.getBytesPerOp()));
+
+            if (expected.getSize() != current.getSize()) {
+                regressions.add(day + ": baseline measured with input size " + expected.getSize() + ", now " + current.getSize());
+                continue;
+            }
+            if (current.getOpsPerSec() < expected.getOpsPerSec() * (1 - tolerance)) {
+                regressions.add(String.format("%s: %.1f ops/s, baseline %.1f ops/s", day, current.getOpsPerSec(), expected.getOpsPerSec()));
+            }
+            if (current.getBytesPerOp() > expected.getBytesPerOp() * (1 + allocTolerance)) {
+                regressions.add(String.format("%s: %d B/op, baseline %d B/op", day, current.getBytesPerOp(), expected.getBytesPerOp()));
+            }
+        }
+
+        return regressions;
+    }
+
+    private static Map<String, PerfResult> readBaseline() throws IOException {
+        try (InputStream in = PerfGateIT.class.getClassLoader().getResourceAsStream(BASELINE_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + BASELINE_RESOURCE + ", create it with -Dperf.updateBaseline=true");
+            }
+            return PerfBaseline.read(in);
+        }
+    }
+
+}
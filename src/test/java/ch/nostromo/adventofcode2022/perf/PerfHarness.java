@@ -0,0 +1,97 @@
+package ch.nostromo.adventofcode2022.perf;
+
+import ch.nostromo.adventofcode2022.Puzzle;
+import ch.nostromo.adventofcode2022.generator.InputGenerators;
+import ch.nostromo.adventofcode2022.io.PuzzleInput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures parse plus {@link Puzzle#solveBoth(Object)} on a generated input in the calling thread. Allocated bytes are
+ * taken from the thread allocation counter of the HotSpot ThreadMXBean. Throughput is the best of several rounds, which
+ * is far less sensitive to noise from other processes than a single long measurement.
+ * <p>
+ * Bytes per op of a JIT compiled run depend on which allocations escape analysis removed, {@link #bytesPerOp} is exact
+ * when run interpreted (-Xint).
+ */
+public class PerfHarness {
+
+    static final long SEED = 2022;
+
+    private final long warmupMillis;
+    private final long roundMillis;
+    private final int rounds;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Keeps the answers reachable, so the solve cannot be optimized away
+    private static volatile Object sink;
+
+    public PerfHarness(long warmupMillis, long roundMillis, int rounds) {
+        this.warmupMillis = warmupMillis;
+        this.roundMillis = roundMillis;
+        this.rounds = rounds;
+    }
+
+    public static byte[] generate(int day, long size) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputGenerators.generate(day, size, SEED, out);
+        return out.toByteArray();
+    }
+
+    public <T> PerfResult measure(Puzzle<T> puzzle, long size) throws IOException {
+        byte[] input = generate(puzzle.getDay(), size);
+
+        long warmupEnd = System.nanoTime() + warmupMillis * 1_000_000;
+        while (System.nanoTime() < warmupEnd) {
+            run(puzzle, input);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        double bestOpsPerSec = 0;
+        long totalOps = 0;
+        long allocatedStart = THREADS.getThreadAllocatedBytes(threadId);
+
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            long roundEnd = start + roundMillis * 1_000_000;
+
+            long ops = 0;
+            long now;
+            do {
+                run(puzzle, input);
+                ops++;
+                now = System.nanoTime();
+            } while (now < roundEnd);
+
+            bestOpsPerSec = Math.max(bestOpsPerSec, ops / ((now - start) / 1e9));
+            totalOps += ops;
+        }
+
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedStart;
+
+        return new PerfResult(size, bestOpsPerSec, allocated / totalOps);
+    }
+
+    /**
+     * Bytes allocated per op over the given number of ops, after one op loading the classes and filling lazy caches.
+     */
+    public static <T> long bytesPerOp(Puzzle<T> puzzle, byte[] input, int ops) {
+        run(puzzle, input);
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedStart = THREADS.getThreadAllocatedBytes(threadId);
+        for (int op = 0; op < ops; op++) {
+            run(puzzle, input);
+        }
+        return (THREADS.getThreadAllocatedBytes(threadId) - allocatedStart) / ops;
+    }
+
+    private static <T> void run(Puzzle<T> puzzle, byte[] input) {
+        sink = puzzle.solveBoth(puzzle.parse(PuzzleInput.of(input)));
+    }
+
+}
@@ -0,0 +1,17 @@
+package ch.nostromo.adventofcode2022.perf;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Throughput and allocation of one day, measured on a generated input of the given size.
+ */
+@Data
+@AllArgsConstructor
+public class PerfResult {
+
+    long size;
+    double opsPerSec;
+    long bytesPerOp;
+
+}
@@ -0,0 +1,100 @@
+package ch.nostromo.adventofcode2022.puzzle0102;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TopKTest {
+
+    @Test
+    public void fewerElvesThanK() {
+        TopK top = offered(5, 300, 100, 200);
+
+        assertEquals(3, top.size());
+        assertEquals(Arrays.asList(elf(1, 300), elf(3, 200), elf(2, 100)), top.ranked());
+        assertEquals(600, top.sum());
+    }
+
+    @Test
+    public void noElves() {
+        TopK top = new TopK(3);
+
+        assertEquals(Collections.emptyList(), top.ranked());
+        assertEquals(0, top.sum());
+    }
+
+    @Test
+    public void equalTotalsRankedByElf() {
+        TopK top = offered(3, 50, 70, 50, 70, 50, 70);
+
+        assertEquals(Arrays.asList(elf(2, 70), elf(4, 70), elf(6, 70)), top.ranked());
+    }
+
+    @Test
+    public void tieAtTheCutKeepsTheEarlierElf() {
+        TopK top = offered(2, 10, 90, 40, 40, 40);
+
+        assertEquals(Arrays.asList(elf(2, 90), elf(3, 40)), top.ranked());
+        assertEquals(130, top.sum());
+    }
+
+    @Test
+    public void singleHighest() {
+        TopK top = offered(1, 4, 9, 2, 9, 7);
+
+        assertEquals(Collections.singletonList(elf(2, 9)), top.ranked());
+        assertEquals(9, top.sum());
+    }
+
+    @Test
+    public void highestOfManyInAnyOrder() {
+        long[] totals = new long[1000];
+        for (int i = 0; i < totals.length; i++) {
+            totals[i] = (i * 7919L) % 1000;
+        }
+
+        TopK top = offered(4, totals);
+
+        // 7919 is prime, so every total from 0 to 999 occurs once
+        List<TopK.RankedElf> ranked = top.ranked();
+        assertEquals(Arrays.asList(999L, 998L, 997L, 996L), Arrays.asList(ranked.get(0).getCalories(),
+                ranked.get(1).getCalories(), ranked.get(2).getCalories(), ranked.get(3).getCalories()));
+        for (TopK.RankedElf elf : ranked) {
+            assertEquals(totals[(int) elf.getElf() - 1], elf.getCalories());
+        }
+    }
+
+    @Test
+    public void mergeShiftsElfNumbers() {
+        TopK left = offered(3, 5, 80, 20);
+        TopK right = offered(3, 80, 60, 1);
+
+        left.merge(right, 3);
+
+        assertEquals(Arrays.asList(elf(2, 80), elf(4, 80), elf(5, 60)), left.ranked());
+        assertEquals(Arrays.asList(elf(1, 80), elf(2, 60), elf(3, 1)), right.ranked());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidK() {
+        new TopK(0);
+    }
+
+    // Elves numbered from 1 in the order of the totals
+    private static TopK offered(int k, long... totals) {
+        TopK top = new TopK(k);
+        for (int i = 0; i < totals.length; i++) {
+            top.offer(i + 1, totals[i]);
+        }
+        return top;
+    }
+
+    private static TopK.RankedElf elf(long elf, long calories) {
+        return new TopK.RankedElf(elf, calories);
+    }
+
+}